@@ -0,0 +1,154 @@
+package banc;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mesures JMH des chemins critiques du moteur, sur le corpus de positions de milieu de partie de ChargesBanc
+ * (le même que BancPerformance).
+ *
+ * Le moteur est dans le paquetage par défaut, que JMH refuse pour les mesures et qu'aucun paquetage ne peut
+ * importer : ChargesBanc est retrouvée par réflexion à la préparation, puis ses opérations sont appelées
+ * directement. Chaque appel traite la position suivante du corpus.
+ *
+ * Exemple :
+ * java -jar banc/target/benchmarks.jar -prof gc -rf json -rff banc.json
+ * java -jar banc/target/benchmarks.jar recherche -p corpus=parties.gmk -p profondeurAlphaBeta=3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CheminsCritiques {
+    /** Nombre de positions du corpus */
+    @Param("64")
+    public int positions;
+
+    /** Graine du corpus généré */
+    @Param("1")
+    public long graine;
+
+    /** Fichier de parties (.gmk) d'où extraire le corpus, vide pour le générer */
+    @Param("")
+    public String corpus;
+
+    /** Profondeur de la recherche Alpha-Beta complète, 0 pour celle du niveau 3 */
+    @Param("0")
+    public int profondeurAlphaBeta;
+
+    /** Profondeur de la recherche Min-Max basique complète, 0 pour celle du niveau 2 */
+    @Param("0")
+    public int profondeurBasique;
+
+    private IntToLongFunction verifierVictoire;
+    private IntToLongFunction verifierVictoireDernierCoup;
+    private IntToLongFunction estPlateauPlein;
+    private IntToLongFunction evaluerPosition;
+    private IntToLongFunction getOrderedMoves;
+    private IntToLongFunction simulateImprovedPlayout;
+    private IntToLongFunction heuristiqueSimple;
+    private IntToLongFunction rechercheAlphaBeta;
+    private IntToLongFunction rechercheBasique;
+    private int nombrePositions;
+    private int index;
+
+    /**
+     * Construit le corpus et récupère les opérations de ChargesBanc
+     * @throws ReflectiveOperationException Si le moteur est absent du chemin de classes
+     */
+    @Setup
+    public void preparer() throws ReflectiveOperationException {
+        Class<?> classe = Class.forName("ChargesBanc");
+        Object charges = corpus.isEmpty()
+                ? classe.getMethod("generer", int.class, long.class, int.class, int.class)
+                        .invoke(null, positions, graine, profondeurAlphaBeta, profondeurBasique)
+                : classe.getMethod("lire", Path.class, int.class, int.class, int.class)
+                        .invoke(null, Paths.get(corpus), positions, profondeurAlphaBeta, profondeurBasique);
+        nombrePositions = (int) classe.getMethod("getNombrePositions").invoke(charges);
+
+        verifierVictoire = operation(charges, "LancerJeu.verifierVictoire");
+        verifierVictoireDernierCoup = operation(charges, "LancerJeu.verifierVictoire.dernierCoup");
+        estPlateauPlein = operation(charges, "LancerJeu.estPlateauPlein");
+        evaluerPosition = operation(charges, "MinMaxAlphaBeta.evaluerPosition");
+        getOrderedMoves = operation(charges, "MinMaxAlphaBeta.getOrderedMoves");
+        simulateImprovedPlayout = operation(charges, "MCTS.simulateImprovedPlayout");
+        heuristiqueSimple = operation(charges, "IAHeuristiqueSimple.trouverMeilleurCoup");
+        rechercheAlphaBeta = operation(charges, "MinMaxAlphaBeta.recherche");
+        rechercheBasique = operation(charges, "MinMaxBasique.recherche");
+        index = 0;
+    }
+
+    private static IntToLongFunction operation(Object charges, String nom) throws ReflectiveOperationException {
+        return (IntToLongFunction) charges.getClass().getMethod("getOperation", String.class).invoke(charges, nom);
+    }
+
+    // indice de la position suivante du corpus, parcouru en boucle
+    private int suivante() {
+        int i = index;
+        index = i + 1 == nombrePositions ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public long verifierVictoire() {
+        return verifierVictoire.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long verifierVictoireDernierCoup() {
+        return verifierVictoireDernierCoup.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long estPlateauPlein() {
+        return estPlateauPlein.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long evaluerPosition() {
+        return evaluerPosition.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long getOrderedMoves() {
+        return getOrderedMoves.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long simulateImprovedPlayout() {
+        return simulateImprovedPlayout.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    public long heuristiqueSimple() {
+        return heuristiqueSimple.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long rechercheAlphaBeta() {
+        return rechercheAlphaBeta.applyAsLong(suivante());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long rechercheBasique() {
+        return rechercheBasique.applyAsLong(suivante());
+    }
+}
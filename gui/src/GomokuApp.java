@@ -1,4 +1,5 @@
 
+import javafx.animation.AnimationTimer;
 import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
@@ -6,6 +7,7 @@ import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
@@ -21,6 +23,11 @@ import javafx.scene.paint.Color;
 import javafx.stage.Stage;
 import javafx.util.Duration;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
 /**
  * Application principale de Gomoku avec interface graphique.
  * 
@@ -36,6 +43,7 @@ import javafx.util.Duration;
  * - Options de configuration du jeu
  * - Affichage des statistiques
  * - Gestion des événements utilisateur
+ * - Réflexion des IA en arrière-plan, sans bloquer l'interface
  * 
  * Cette classe est le point d'entrée principal de l'application
  * et gère toute l'interface utilisateur.
@@ -56,12 +64,34 @@ public class GomokuApp extends Application {
     private int niveauIA2 = 0;
     private boolean tournoiEnCours = false;
     private PauseTransition iaTimer;
+    // Moteurs d'IA, conservés pendant toute la partie
+    private Joueur ia;
+    private Joueur ia1;
+    private Joueur ia2;
+    
+    // Exécuteur dédié aux recherches des IA, hors du fil JavaFX ; un seul thread exécute les tâches dans l'ordre
+    private final ExecutorService executeurIA = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "ia-gomoku");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private CompletableFuture<int[]> coupEnCours;
+    private Joueur moteurEnReflexion;
+    private long debutReflexion;
+    // Numéro de la partie affichée, pour ignorer les résultats d'une partie abandonnée
+    private int numeroPartie = 0;
+    private Label lblReflexion;
+    private AnimationTimer indicateurReflexion;
     
     private int currentRound = 0;
     private int totalRounds = 1;
     private int ia1Victories = 0;
     private int ia2Victories = 0;
     private int draws = 0;
+    // test SPRT sur les résultats d'IA 1 contre IA 2, toujours affiché ; il n'arrête la série
+    // dès qu'il conclut que si l'arrêt anticipé a été choisi
+    private final Sprt sprt = Sprt.parDefaut();
+    private boolean arretSprt = false;
     private TextArea infoTextArea;
 
     /**
@@ -82,6 +112,36 @@ public class GomokuApp extends Application {
         primaryStage.setScene(creerSceneMenu());
         primaryStage.setTitle("Menu Gomoku");
         primaryStage.show();
+        
+        // indicateur "réflexion en cours", rafraîchi au plus toutes les 200 ms
+        indicateurReflexion = new AnimationTimer() {
+            private long dernierRafraichissement = 0;
+            
+            @Override
+            public void handle(long now) {
+                if (lblReflexion == null || now - dernierRafraichissement < 200_000_000L) return;
+                dernierRafraichissement = now;
+                Joueur moteur = moteurEnReflexion;
+                if (moteur == null) {
+                    lblReflexion.setText("");
+                    return;
+                }
+                long noeuds = moteur.getNoeudsRecherche();
+                double secondes = Math.max(1e-3, (now - debutReflexion) / 1e9);
+                lblReflexion.setText(String.format("%s réfléchit… %d nœuds (%.0f nœuds/s)",
+                        moteur.getNom(), noeuds, noeuds / secondes));
+            }
+        };
+        indicateurReflexion.start();
+    }
+    
+    /**
+     * Arrête les recherches en cours à la fermeture de l'application
+     */
+    @Override
+    public void stop() {
+        annulerCoupIA();
+        executeurIA.shutdownNow();
     }
     /**
      * Créer l'interface graphique du menu
@@ -162,6 +222,8 @@ public class GomokuApp extends Application {
                 lblRoundValue.setText(String.valueOf(newVal.intValue()));
             });
             
+            CheckBox cbSprt = new CheckBox("Arrêter dès que le test SPRT conclut");
+            
             Button btnStart = new Button("Commencer la partie");
             btnStart.setStyle("-fx-background-color:#4CAF50; -fx-text-fill:white;");
             btnStart.setPrefWidth(200);
@@ -172,6 +234,7 @@ public class GomokuApp extends Application {
                 niveauIA1 = cbIA1.getSelectionModel().getSelectedIndex() + 1;
                 niveauIA2 = cbIA2.getSelectionModel().getSelectedIndex() + 1;
                 totalRounds = (int) sliderRounds.getValue();
+                arretSprt = cbSprt.isSelected();
                 currentRound = 0;
                 ia1Victories = 0;
                 ia2Victories = 0;
@@ -189,7 +252,8 @@ public class GomokuApp extends Application {
             roundsBox.setAlignment(Pos.CENTER_LEFT);
             choix.add(roundsBox, 1, 2);
             
-            choix.add(btnStart, 0, 3, 2, 1);
+            choix.add(cbSprt, 1, 3);
+            choix.add(btnStart, 0, 4, 2, 1);
             
             primaryStage.setScene(new Scene(choix, 530, 400));
         });
@@ -205,6 +269,7 @@ public class GomokuApp extends Application {
         canvas = new Canvas(size, size);
         drawBoard();
         tournoiEnCours = false;
+        creerMoteursIA();
         
         // créer la zone d'affichage des informations
         infoTextArea = new TextArea();
@@ -230,6 +295,7 @@ public class GomokuApp extends Application {
 
             int[] res = LancerJeu.jouerCoup(etat, row, col);
             drawStone(row, col);
+            if (ia != null) ia.coupAdversaire(row, col);
             if (res[0] == 1) {
                 showAlert("Victoire ! Joueur " + etat.getJoueurActuelCouleur(etat.getJoueurActuel()));
                 return;
@@ -239,19 +305,13 @@ public class GomokuApp extends Application {
             }
 
             if (modeIA && etat.getJoueurActuel()=='O') {
-                PauseTransition pause = new PauseTransition(Duration.seconds(0.5));
-                pause.setOnFinished(evt -> {
-                    // Coup de l'IA
-                    int[] m = LancerJeu.jouerCoupIA(etat, niveauIA);
+                // Coup de l'IA, calculé en arrière-plan
+                lancerCoupIA(ia, niveauIA, m -> {
                     int[] res2 = LancerJeu.jouerCoup(etat, m[0], m[1]);
                     drawStone(m[0], m[1]);
-                    // On reporte la boîte de dialogue sur la file d'attente JavaFX
-                    Platform.runLater(() -> {
-                        if (res2[0] == 1) showAlert("Victoire IA !");
-                        else if (res2[0] == 0) showAlert("Match nul !");
-                    });
+                    if (res2[0] == 1) showAlert("Victoire IA !");
+                    else if (res2[0] == 0) showAlert("Match nul !");
                 });
-                pause.play();
             }
         });
 
@@ -270,8 +330,10 @@ public class GomokuApp extends Application {
                 iaTimer.stop();
                 tournoiEnCours = false;
             }
+            annulerCoupIA();
             etat = new EtatDuJeu(TAILLE_PLATEAU);
             etat.setJoueurActuel('X');
+            nouvellePartieMoteurs();
             drawBoard();
             updateInfoPanel();
         });
@@ -281,6 +343,8 @@ public class GomokuApp extends Application {
                 iaTimer.stop();
                 tournoiEnCours = false;
             }
+            annulerCoupIA();
+            lblReflexion = null;
             primaryStage.setScene(creerSceneMenu());
         });
         
@@ -298,6 +362,7 @@ public class GomokuApp extends Application {
                     if (iaTimer != null) {
                         iaTimer.stop();
                     }
+                    annulerCoupIA();
                 }
             });
             h = new HBox(10, btnR, btnM, finalBtnS);
@@ -315,13 +380,65 @@ public class GomokuApp extends Application {
             borderPane.setRight(infoTextArea);
         }
         
-        VBox root = new VBox(10, borderPane, h);
+        lblReflexion = new Label("");
+        VBox root = new VBox(10, borderPane, h, lblReflexion);
         root.setStyle("-fx-alignment:center; -fx-padding:10; -fx-background-color:beige;");
 
         primaryStage.setTitle("Gomoku");
         primaryStage.setScene(new Scene(root, 850, root.getPrefHeight()));
     }
     
+    // lancer la recherche d'un moteur en arrière-plan, puis jouer son coup sur le fil JavaFX
+    private void lancerCoupIA(Joueur moteur, int niveau, Consumer<int[]> jouerCoup) {
+        annulerCoupIA();
+        int partie = numeroPartie;
+        moteurEnReflexion = moteur;
+        debutReflexion = System.nanoTime();
+        CompletableFuture<int[]> coup = moteur.choisirCoup(etat, LancerJeu.limitesParDefaut(niveau), executeurIA);
+        coupEnCours = coup;
+        coup.whenComplete((m, erreur) -> Platform.runLater(() -> {
+            // ignorer un résultat annulé ou appartenant à une partie abandonnée
+            if (coup != coupEnCours || partie != numeroPartie) return;
+            coupEnCours = null;
+            moteurEnReflexion = null;
+            if (erreur != null || m == null) {
+                showAlert("Erreur de l'IA : " + (erreur != null ? erreur.getMessage() : "aucun coup"));
+                return;
+            }
+            jouerCoup.accept(m);
+            updateInfoPanel();
+        }));
+    }
+    
+    // annuler la recherche en cours ; son résultat éventuel sera ignoré
+    private void annulerCoupIA() {
+        numeroPartie++;
+        if (coupEnCours != null) {
+            coupEnCours.cancel(true);
+            coupEnCours = null;
+        }
+        moteurEnReflexion = null;
+    }
+    
+    // créer les moteurs d'IA du mode choisi
+    private void creerMoteursIA() {
+        ia = modeIA ? LancerJeu.creerIA(niveauIA, 'O') : null;
+        ia1 = modeIAvsIA ? LancerJeu.creerIA(niveauIA1, 'X') : null;
+        ia2 = modeIAvsIA ? LancerJeu.creerIA(niveauIA2, 'O') : null;
+        nouvellePartieMoteurs();
+    }
+    
+    // prévenir les moteurs d'IA du début d'une nouvelle partie ; passer par l'exécuteur des recherches
+    // garantit qu'une recherche annulée est terminée avant que ses caches et son arbre soient vidés
+    private void nouvellePartieMoteurs() {
+        Joueur[] moteurs = {ia, ia1, ia2};
+        executeurIA.execute(() -> {
+            for (Joueur moteur : moteurs) {
+                if (moteur != null) moteur.nouvellePartie(TAILLE_PLATEAU);
+            }
+        });
+    }
+    
     // mettre à jour le panneau d'informations
     private void updateInfoPanel() {
         if (infoTextArea == null) return;
@@ -347,7 +464,20 @@ public class GomokuApp extends Application {
             
             sb.append(String.format("Taux de victoire IA 1: %.1f%%\n", ia1Rate));
             sb.append(String.format("Taux de victoire IA 2: %.1f%%\n", ia2Rate));
-            sb.append(String.format("Taux de matchs nuls: %.1f%%\n", drawRate));
+            sb.append(String.format("Taux de matchs nuls: %.1f%%\n\n", drawRate));
+            
+            sb.append("IA 1 contre IA 2:\n");
+            sb.append(sprt.resume(ia1Victories, draws, ia2Victories)).append("\n");
+        }
+        
+        // statistiques de la dernière recherche de chaque IA
+        for (Joueur moteur : new Joueur[]{ia, ia1, ia2}) {
+            StatistiquesRecherche statistiques = moteur != null ? moteur.getStatistiques() : null;
+            if (statistiques == null) continue;
+            sb.append("\nDERNIÈRE RECHERCHE ").append(moteur.getNom()).append(" (").append(moteur.getSymbole()).append("):\n");
+            for (String ligne : statistiques.lignes()) {
+                sb.append(ligne).append("\n");
+            }
         }
         
         infoTextArea.setText(sb.toString());
@@ -358,14 +488,17 @@ public class GomokuApp extends Application {
         if (!tournoiEnCours) return;
         
         currentRound++;
-        if (currentRound > totalRounds) {
+        boolean testConclu = arretSprt && sprt.decision(ia1Victories, draws, ia2Victories) != Sprt.Decision.EN_COURS;
+        if (currentRound > totalRounds || testConclu) {
             showFinalResults();
             return;
         }
         
         // réinitialiser le plateau
+        annulerCoupIA();
         etat = new EtatDuJeu(TAILLE_PLATEAU);
         etat.setJoueurActuel('X');
+        nouvellePartieMoteurs();
         drawBoard();
         updateInfoPanel();
         
@@ -395,13 +528,16 @@ public class GomokuApp extends Application {
         results.append("===== RÉSULTATS FINAUX =====\n\n");
         results.append("IA 1 (X): ").append(LancerJeu.getNomIA(niveauIA1)).append("\n");
         results.append("IA 2 (O): ").append(LancerJeu.getNomIA(niveauIA2)).append("\n\n");
-        results.append("Nombre de parties: ").append(totalRounds).append("\n\n");
+        int partiesJouees = Math.max(1, ia1Victories + ia2Victories + draws);
+        results.append("Nombre de parties: ").append(ia1Victories + ia2Victories + draws)
+                .append("/").append(totalRounds).append("\n\n");
         results.append("Victoires IA 1 (X): ").append(ia1Victories).append(" (")
-                .append(String.format("%.1f%%", (double) ia1Victories / totalRounds * 100)).append(")\n");
+                .append(String.format("%.1f%%", (double) ia1Victories / partiesJouees * 100)).append(")\n");
         results.append("Victoires IA 2 (O): ").append(ia2Victories).append(" (")
-                .append(String.format("%.1f%%", (double) ia2Victories / totalRounds * 100)).append(")\n");
+                .append(String.format("%.1f%%", (double) ia2Victories / partiesJouees * 100)).append(")\n");
         results.append("Matchs nuls: ").append(draws).append(" (")
-                .append(String.format("%.1f%%", (double) draws / totalRounds * 100)).append(")\n\n");
+                .append(String.format("%.1f%%", (double) draws / partiesJouees * 100)).append(")\n\n");
+        results.append(sprt.resume(ia1Victories, draws, ia2Victories)).append("\n\n");
         
         // déterminer le gagnant
         String winner;
@@ -429,15 +565,17 @@ public class GomokuApp extends Application {
         
         // déterminer lequel des deux IA doit jouer
         int niveauIAActuel = etat.getJoueurActuel() == 'X' ? niveauIA1 : niveauIA2;
+        Joueur moteurActuel = etat.getJoueurActuel() == 'X' ? ia1 : ia2;
+        Joueur moteurAdversaire = etat.getJoueurActuel() == 'X' ? ia2 : ia1;
         
-        // créer un délai, permettre à l'UI de mettre à jour
+        // créer un délai d'affichage entre deux coups ; la recherche elle-même tourne en arrière-plan
         iaTimer = new PauseTransition(Duration.seconds(0.5));
-        iaTimer.setOnFinished(evt -> {
+        iaTimer.setOnFinished(evt -> lancerCoupIA(moteurActuel, niveauIAActuel, m -> {
             // AI
-            int[] m = LancerJeu.jouerCoupIA(etat, niveauIAActuel);
             char currentPlayer = etat.getJoueurActuel();
             int[] res = LancerJeu.jouerCoup(etat, m[0], m[1]);
             drawStone(m[0], m[1]);
+            moteurAdversaire.coupAdversaire(m[0], m[1]);
             
             // vérifier si la partie est terminée
             final boolean gameOver = res[0] >= 0;
@@ -487,7 +625,7 @@ public class GomokuApp extends Application {
             
             // si la partie n'est pas terminée, continuer à la prochaine partie
             jouerPartieIAvsIA();
-        });
+        }));
         
         iaTimer.play();
     }
@@ -0,0 +1,111 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Arbitre d'une partie entre deux moteurs, sans interface graphique.
+ *
+ * Cette classe :
+ * - Demande tour à tour un coup à chaque moteur, dans le thread appelant
+ * - Vérifie la légalité des coups (un coup illégal ou une erreur fait perdre par forfait)
+ * - Prévient chaque moteur du coup de son adversaire
+ * - Note le temps, les nœuds, le score et les statistiques de la recherche de chaque coup
+ * - Renvoie le résultat complet de la partie
+ *
+ * Elle ne dépend pas de JavaFX et peut donc être utilisée par les tournois et traitements en lot.
+ */
+public class Arbitre {
+
+    /**
+     * Joue une partie complète
+     * @param joueurX Le moteur qui joue 'X' (premier joueur)
+     * @param joueurO Le moteur qui joue 'O'
+     * @param limitesX Les limites de recherche de 'X'
+     * @param limitesO Les limites de recherche de 'O'
+     * @param taille La taille du plateau
+     * @return Le résultat de la partie
+     */
+    public static ResultatPartie jouerPartie(Joueur joueurX, Joueur joueurO,
+                                             LimitesRecherche limitesX, LimitesRecherche limitesO, int taille) {
+        return jouerPartie(joueurX, joueurO, limitesX, limitesO, taille, Collections.emptyList());
+    }
+
+    /**
+     * Joue une partie complète à partir d'une ouverture imposée
+     * @param joueurX Le moteur qui joue 'X' (premier joueur)
+     * @param joueurO Le moteur qui joue 'O'
+     * @param limitesX Les limites de recherche de 'X'
+     * @param limitesO Les limites de recherche de 'O'
+     * @param taille La taille du plateau
+     * @param ouverture Les premiers coups [ligne, colonne], joués sans consulter les moteurs ; ils ne doivent pas finir la partie
+     * @return Le résultat de la partie, ouverture comprise
+     */
+    public static ResultatPartie jouerPartie(Joueur joueurX, Joueur joueurO, LimitesRecherche limitesX,
+                                             LimitesRecherche limitesO, int taille, List<int[]> ouverture) {
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        etat.setJoueurActuel('X');
+        joueurX.nouvellePartie(taille);
+        joueurO.nouvellePartie(taille);
+
+        List<int[]> coups = new ArrayList<>();
+        List<ResultatPartie.InfosCoup> infos = new ArrayList<>();
+        for (int[] coup : ouverture) {
+            if (!estLegal(etat, coup)) {
+                throw new IllegalArgumentException("Ouverture illégale : " + coup[0] + "," + coup[1]);
+            }
+            Joueur adversaire = etat.getJoueurActuel() == 'X' ? joueurO : joueurX;
+            coups.add(new int[]{coup[0], coup[1]});
+            infos.add(new ResultatPartie.InfosCoup(0, 0, Float.NaN));
+            if (LancerJeu.jouerCoup(etat, coup[0], coup[1])[0] >= 0) {
+                throw new IllegalArgumentException("L'ouverture termine la partie");
+            }
+            adversaire.coupAdversaire(coup[0], coup[1]);
+        }
+        long debut = System.currentTimeMillis();
+        while (true) {
+            char symbole = etat.getJoueurActuel();
+            Joueur moteur = symbole == 'X' ? joueurX : joueurO;
+            Joueur adversaire = symbole == 'X' ? joueurO : joueurX;
+            char symboleAdversaire = symbole == 'X' ? 'O' : 'X';
+
+            int[] coup;
+            long debutCoup = System.currentTimeMillis();
+            try {
+                // exécution directe dans le thread appelant
+                coup = moteur.choisirCoup(etat, symbole == 'X' ? limitesX : limitesO, Runnable::run).join();
+            } catch (RuntimeException e) {
+                return new ResultatPartie(symboleAdversaire, coups, infos, System.currentTimeMillis() - debut,
+                        moteur.getNom() + " : " + e);
+            }
+            if (!estLegal(etat, coup)) {
+                return new ResultatPartie(symboleAdversaire, coups, infos, System.currentTimeMillis() - debut,
+                        moteur.getNom() + " : coup illégal " + (coup == null ? "null" : coup[0] + "," + coup[1]));
+            }
+
+            coups.add(new int[]{coup[0], coup[1]});
+            infos.add(new ResultatPartie.InfosCoup((int) (System.currentTimeMillis() - debutCoup),
+                    moteur.getNoeudsRecherche(), (float) moteur.getScoreRecherche(), moteur.getStatistiques()));
+            int[] res = LancerJeu.jouerCoup(etat, coup[0], coup[1]);
+            if (res[0] == 1) {
+                return new ResultatPartie(symbole, coups, infos, System.currentTimeMillis() - debut, null);
+            }
+            if (res[0] == 0) {
+                return new ResultatPartie('T', coups, infos, System.currentTimeMillis() - debut, null);
+            }
+            adversaire.coupAdversaire(coup[0], coup[1]);
+        }
+    }
+
+    /**
+     * Vérifie qu'un coup est sur le plateau et sur une case vide
+     * @param etat L'état du jeu
+     * @param coup Le coup [ligne, colonne]
+     * @return true si le coup est légal
+     */
+    public static boolean estLegal(EtatDuJeu etat, int[] coup) {
+        int n = etat.getTaillePlateau();
+        return coup != null && coup.length >= 2
+                && coup[0] >= 0 && coup[0] < n && coup[1] >= 0 && coup[1] < n
+                && etat.getPlateau()[coup[0]][coup[1]] == '.';
+    }
+}
@@ -0,0 +1,353 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génération de données d'apprentissage par parties de l'IA contre elle-même.
+ *
+ * Fonctionnement :
+ * - Des threads de travail jouent en parallèle des parties d'un niveau contre lui-même,
+ *   après une ouverture aléatoire de quelques coups autour du centre
+ * - Chaque position jouée par un moteur devient un échantillon : plateau, joueur au trait,
+ *   score de la recherche, meilleur coup et résultat final de la partie
+ * - Les échantillons passent par une file bornée : les threads de travail attendent quand
+ *   l'écriture ne suit pas
+ * - Un unique écrivain vide la file par lots, élimine les positions déjà vues (hachage canonique,
+ *   symétries comprises) et écrit des fragments binaires, un jeu de fragments par niveau
+ * - Les parties complètes sont aussi ajoutées au fichier parties.gmk du dossier (voir EcrivainParties) :
+ *   contrairement aux fragments, elles gardent chaque occurrence d'une position et servent à construire
+ *   le livre d'ouvertures
+ *
+ * Exemple :
+ * java -cp bin AutoJeu --niveaux 3,4 --parties 1000 --threads 8 --ouverture 4 --temps 4=300 --sortie donnees
+ * java -cp bin AutoJeu --niveaux 4 --parties 1000 --valeur reseau.bin,1 --lot 32
+ */
+public class AutoJeu {
+    private static final int TAILLE_PLATEAU = 15;
+    private static final int RAYON_OUVERTURE = 3;
+    private static final int COUPS_OUVERTURE_MAX = 8;
+    private static final int TAILLE_LOT = 512;
+    private static final long INTERVALLE_AFFICHAGE_MS = 5000;
+    static final String FICHIER_PARTIES = "parties.gmk";
+
+    private final int[] niveaux;
+    private final int parties;
+    private final int threads;
+    private final int coupsOuverture;
+    private final long graine;
+    private final Map<Integer, LimitesRecherche> limites;
+    private final Path dossier;
+    private final int echantillonsParFragment;
+    private final int capaciteFile;
+
+    // Évaluation des feuilles des moteurs MCTS
+    private EvaluationFeuilles evaluationFeuilles = new EvaluationFeuilles();
+
+    // Poids d'évaluation par niveau ; les niveaux absents utilisent les poids courants
+    private Map<Integer, PoidsEvaluation> poids = new HashMap<>();
+
+    /**
+     * Position jouée par un moteur, prête à être écrite
+     */
+    private static class Echantillon {
+        final int niveau;
+        final long cle;
+        final byte[] plateau;
+        final char joueur;
+        final float score;
+        final int coup;
+        final int resultat;
+
+        Echantillon(int niveau, long cle, byte[] plateau, char joueur, float score, int coup, int resultat) {
+            this.niveau = niveau;
+            this.cle = cle;
+            this.plateau = plateau;
+            this.joueur = joueur;
+            this.score = score;
+            this.coup = coup;
+            this.resultat = resultat;
+        }
+    }
+
+    // marque déposée par chaque thread de travail quand il a terminé
+    private static final Echantillon FIN = new Echantillon(0, 0, null, '.', 0, 0, 0);
+
+    /**
+     * Constructeur du générateur
+     * @param niveaux Les niveaux d'IA ; la partie i est jouée par le niveau niveaux[i % niveaux.length]
+     * @param parties Le nombre total de parties
+     * @param threads Le nombre de parties jouées simultanément
+     * @param coupsOuverture Le nombre de coups aléatoires de l'ouverture (8 au plus)
+     * @param graine La graine des ouvertures et des moteurs ; la partie i utilise graine + i
+     * @param limites Les limites de recherche par niveau
+     * @param dossier Le dossier des fragments
+     * @param echantillonsParFragment Le nombre maximal d'échantillons par fragment
+     * @param capaciteFile La capacité de la file entre les threads de travail et l'écrivain
+     */
+    public AutoJeu(int[] niveaux, int parties, int threads, int coupsOuverture, long graine,
+                   Map<Integer, LimitesRecherche> limites, Path dossier, int echantillonsParFragment, int capaciteFile) {
+        if (coupsOuverture < 0 || coupsOuverture > COUPS_OUVERTURE_MAX) {
+            throw new IllegalArgumentException("Nombre de coups d'ouverture entre 0 et " + COUPS_OUVERTURE_MAX);
+        }
+        this.niveaux = niveaux.clone();
+        this.parties = parties;
+        this.threads = threads;
+        this.coupsOuverture = coupsOuverture;
+        this.graine = graine;
+        this.limites = new HashMap<>(limites);
+        this.dossier = dossier;
+        this.echantillonsParFragment = echantillonsParFragment;
+        this.capaciteFile = capaciteFile;
+    }
+
+    /**
+     * Définit l'évaluation des feuilles appliquée à chaque moteur MCTS
+     * @param evaluationFeuilles Le réglage (fonction de valeur, poids et taille des lots)
+     */
+    public void setEvaluationFeuilles(EvaluationFeuilles evaluationFeuilles) {
+        this.evaluationFeuilles = evaluationFeuilles;
+    }
+
+    /**
+     * Définit les poids d'évaluation des moteurs de chaque niveau
+     * @param poids Les poids par niveau ; les niveaux absents utilisent les poids courants
+     */
+    public void setPoids(Map<Integer, PoidsEvaluation> poids) {
+        this.poids = new HashMap<>(poids);
+    }
+
+    /**
+     * Point d'entrée en ligne de commande
+     * @param args --niveaux 3,4 --parties 1000 --threads N --ouverture 4 --graine 1 --temps niveau=ms
+     *             --profondeur niveau=p --noeuds niveau=n --sortie dossier --fragment n --file n
+     *             --valeur lineaire|fichier[,poids] --lot n --poids niveau=fichier
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int[] niveaux = {3, 4};
+        int parties = 100;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ouverture = 4;
+        long graine = 1;
+        Path dossier = Paths.get("autojeu");
+        int fragment = 1_000_000;
+        int file = 4096;
+        Map<Integer, int[]> reglages = new HashMap<>();
+        EvaluationFeuilles evaluationFeuilles = new EvaluationFeuilles();
+        Map<Integer, PoidsEvaluation> poids = new HashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--niveaux": niveaux = Tournoi.lireNiveaux(valeur); break;
+                case "--parties": parties = Integer.parseInt(valeur); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--ouverture": ouverture = Integer.parseInt(valeur); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--temps": Tournoi.lireReglage(reglages, valeur, 0); break;
+                case "--profondeur": Tournoi.lireReglage(reglages, valeur, 1); break;
+                case "--noeuds": Tournoi.lireReglage(reglages, valeur, 2); break;
+                case "--sortie": dossier = Paths.get(valeur); break;
+                case "--fragment": fragment = Integer.parseInt(valeur); break;
+                case "--file": file = Integer.parseInt(valeur); break;
+                case "--valeur": evaluationFeuilles.lireValeur(valeur); break;
+                case "--lot": evaluationFeuilles.lireLot(valeur); break;
+                case "--poids": Tournoi.lirePoids(poids, valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        AutoJeu autoJeu = new AutoJeu(niveaux, parties, threads, ouverture, graine,
+                Tournoi.construireLimites(niveaux, reglages), dossier, fragment, file);
+        autoJeu.setEvaluationFeuilles(evaluationFeuilles);
+        autoJeu.setPoids(poids);
+        autoJeu.lancer();
+    }
+
+    /**
+     * Joue toutes les parties et écrit les échantillons ; l'écrivain tourne dans le thread appelant
+     */
+    public void lancer() throws InterruptedException, IOException {
+        System.out.printf("Auto-jeu : %d parties, %d threads, %d coups d'ouverture, sortie %s%n",
+                parties, threads, coupsOuverture, dossier);
+        for (int niveau : niveaux) {
+            if (niveau == 4) {
+                System.out.println("Feuilles MCTS : " + evaluationFeuilles.decrire());
+                break;
+            }
+        }
+
+        BlockingQueue<Echantillon> file = new ArrayBlockingQueue<>(capaciteFile);
+        AtomicInteger prochainePartie = new AtomicInteger();
+        AtomicInteger partiesTerminees = new AtomicInteger();
+        EcrivainParties ecrivainParties = new EcrivainParties(Files.createDirectories(dossier).resolve(FICHIER_PARTIES));
+        ExecutorService executeur = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executeur.execute(() -> {
+                try {
+                    travailler(file, prochainePartie, partiesTerminees, ecrivainParties);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    System.out.println("Thread d'auto-jeu en erreur : " + e);
+                } finally {
+                    try {
+                        file.put(FIN);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        Map<Integer, EcrivainEchantillons> ecrivains = new HashMap<>();
+        Map<Integer, Set<Long>> dejaVues = new HashMap<>();
+        long ecrits = 0, doublons = 0;
+        long debut = System.currentTimeMillis();
+        long dernierAffichage = debut;
+        List<Echantillon> lot = new ArrayList<>(TAILLE_LOT);
+        int finsRecues = 0;
+        try {
+            while (finsRecues < threads) {
+                Echantillon premier = file.poll(1, TimeUnit.SECONDS);
+                if (premier != null) {
+                    lot.add(premier);
+                    file.drainTo(lot, TAILLE_LOT - 1);
+                }
+                for (Echantillon e : lot) {
+                    if (e == FIN) {
+                        finsRecues++;
+                    } else if (!dejaVues.computeIfAbsent(e.niveau, k -> new HashSet<>()).add(e.cle)) {
+                        doublons++;
+                    } else {
+                        ecrivain(ecrivains, e.niveau).ecrire(e.plateau, e.joueur, e.score, e.coup, e.resultat);
+                        ecrits++;
+                    }
+                }
+                lot.clear();
+
+                long maintenant = System.currentTimeMillis();
+                if (maintenant - dernierAffichage >= INTERVALLE_AFFICHAGE_MS || finsRecues == threads) {
+                    dernierAffichage = maintenant;
+                    double secondes = Math.max(1, maintenant - debut) / 1000.0;
+                    System.out.printf(Locale.ROOT, "[%d/%d] %d échantillons écrits, %d doublons, %.0f échantillons/s, file %d/%d%n",
+                            partiesTerminees.get(), parties, ecrits, doublons, ecrits / secondes, file.size(), capaciteFile);
+                }
+            }
+        } finally {
+            executeur.shutdownNow();
+            for (EcrivainEchantillons ecrivain : ecrivains.values()) {
+                ecrivain.close();
+            }
+            ecrivainParties.close();
+        }
+    }
+
+    private EcrivainEchantillons ecrivain(Map<Integer, EcrivainEchantillons> ecrivains, int niveau) throws IOException {
+        EcrivainEchantillons ecrivain = ecrivains.get(niveau);
+        if (ecrivain == null) {
+            ecrivain = new EcrivainEchantillons(dossier, "autojeu-niveau" + niveau, TAILLE_PLATEAU,
+                    LancerJeu.getNomIA(niveau), echantillonsParFragment);
+            ecrivains.put(niveau, ecrivain);
+        }
+        return ecrivain;
+    }
+
+    /**
+     * Boucle d'un thread de travail : joue des parties tant qu'il en reste
+     */
+    private void travailler(BlockingQueue<Echantillon> file, AtomicInteger prochainePartie,
+                            AtomicInteger partiesTerminees, EcrivainParties ecrivainParties) throws InterruptedException {
+        int index;
+        while ((index = prochainePartie.getAndIncrement()) < parties) {
+            int niveau = niveaux[index % niveaux.length];
+            Random random = new Random(graine + index);
+            List<int[]> ouverture = ouvertureAleatoire(random, coupsOuverture);
+            Joueur joueurX = LancerJeu.creerIA(niveau, 'X');
+            Joueur joueurO = LancerJeu.creerIA(niveau, 'O');
+            joueurX.setGraine(random.nextLong());
+            joueurO.setGraine(random.nextLong());
+            joueurX.setVerbeux(false);
+            joueurO.setVerbeux(false);
+            evaluationFeuilles.appliquer(joueurX);
+            evaluationFeuilles.appliquer(joueurO);
+            if (poids.containsKey(niveau)) {
+                joueurX.setPoids(poids.get(niveau));
+                joueurO.setPoids(poids.get(niveau));
+            }
+            LimitesRecherche limitesNiveau = limites.get(niveau);
+            ResultatPartie resultat = Arbitre.jouerPartie(joueurX, joueurO, limitesNiveau, limitesNiveau,
+                    TAILLE_PLATEAU, ouverture);
+            if (resultat.getForfait() == null) {
+                emettre(file, niveau, resultat, ouverture.size());
+                try {
+                    String nom = LancerJeu.getNomIA(niveau);
+                    ecrivainParties.ecrire(PartieEnregistree.depuisResultat(resultat, TAILLE_PLATEAU, nom, nom,
+                            limitesNiveau + ", ouverture aléatoire de " + ouverture.size() + " coups"));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            partiesTerminees.incrementAndGet();
+        }
+    }
+
+    /**
+     * Tire une ouverture aléatoire autour du centre
+     * @param random Le générateur
+     * @param coupsOuverture Le nombre de coups de l'ouverture
+     * @return Les coups [ligne, colonne]
+     */
+    static List<int[]> ouvertureAleatoire(Random random, int coupsOuverture) {
+        int centre = TAILLE_PLATEAU / 2;
+        boolean[][] occupe = new boolean[TAILLE_PLATEAU][TAILLE_PLATEAU];
+        List<int[]> coups = new ArrayList<>();
+        while (coups.size() < coupsOuverture) {
+            int ligne = centre + random.nextInt(2 * RAYON_OUVERTURE + 1) - RAYON_OUVERTURE;
+            int colonne = centre + random.nextInt(2 * RAYON_OUVERTURE + 1) - RAYON_OUVERTURE;
+            if (!occupe[ligne][colonne]) {
+                occupe[ligne][colonne] = true;
+                coups.add(new int[]{ligne, colonne});
+            }
+        }
+        return coups;
+    }
+
+    /**
+     * Rejoue une partie et envoie un échantillon par coup choisi par un moteur
+     */
+    private void emettre(BlockingQueue<Echantillon> file, int niveau, ResultatPartie resultat,
+                         int coupsOuvertureJoues) throws InterruptedException {
+        List<int[]> coups = resultat.getCoups();
+        List<ResultatPartie.InfosCoup> infos = resultat.getInfosCoups();
+        char gagnant = resultat.getGagnant();
+        EtatDuJeu etat = new EtatDuJeu(TAILLE_PLATEAU);
+        etat.setJoueurActuel('X');
+        for (int k = 0; k < coups.size(); k++) {
+            int[] coup = coups.get(k);
+            if (k >= coupsOuvertureJoues) {
+                char joueur = etat.getJoueurActuel();
+                int issue = gagnant == 'T' ? 1 : gagnant == joueur ? 2 : 0;
+                file.put(new Echantillon(niveau, HachageZobrist.hachageCanonique(etat), EcrivainEchantillons.compacter(etat),
+                        joueur, infos.get(k).getScore(), coup[0] * TAILLE_PLATEAU + coup[1], issue));
+            }
+            LancerJeu.jouerCoup(etat, coup[0], coup[1]);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mesures de performance des chemins critiques des moteurs, sans dépendance externe.
+ *
+ * Les mesures de référence sont celles du module JMH (banc/, construit par Maven) ; ce lanceur n'en est
+ * qu'une version d'appoint, exécutable avec le seul moteur compilé, sur les mêmes opérations (ChargesBanc).
+ *
+ * Fonctionnement, sur le modèle de JMH :
+ * - Un corpus de positions de milieu de partie : généré de façon reproductible à partir d'une graine,
+ *   ou extrait de parties enregistrées (fichier .gmk)
+ * - Chaque mesure parcourt le corpus en boucle ; des itérations de chauffe, limitées en durée,
+ *   laissent le JIT compiler le code et fixent le nombre d'opérations des itérations mesurées
+ * - Le score est le temps moyen par opération, avec son erreur à 99,9 % sur les itérations mesurées
+ * - Comme le profileur gc de JMH, chaque mesure relève aussi les octets alloués par opération et les
+ *   collections du ramasse-miettes pendant les itérations mesurées (voir MesureMemoire), pour qu'une
+ *   hausse des allocations se voie aussitôt
+ * - Les résultats d'opérations sont cumulés dans un puits pour que le JIT ne les élimine pas
+ * - Les résultats sont écrits en JSON au format de JMH (benchmark, mode, params, primaryMetric),
+ *   pour comparer deux versions avec les outils habituels
+ *
+ * Exemple :
+ * java -cp bin BancPerformance --positions 64 --graine 1 --iterations 5 --duree 500 --json banc.json
+ * java -cp bin BancPerformance --corpus parties.gmk --filtre recherche --profondeur 3=3 --profondeur 2=1
+ */
+public class BancPerformance {
+    private static final double Z_999 = 3.29;
+
+    private final ChargesBanc charges;
+    private int echauffement = 3;
+    private int iterations = 5;
+    private long dureeIterationMS = 500;
+    private String filtre = "";
+    private final List<String> resultatsJson = new ArrayList<>();
+    private long puits;
+
+    /**
+     * Constructeur du banc
+     * @param charges Le corpus et les opérations mesurées
+     */
+    private BancPerformance(ChargesBanc charges) {
+        this.charges = charges;
+    }
+
+    /**
+     * Lancement en ligne de commande
+     * @param args --positions n --graine g --corpus fichier.gmk --iterations n --echauffement n
+     *             --duree ms --profondeur niveau=p --filtre texte --json fichier
+     *             (profondeurs des recherches complètes : niveau 2 pour Min-Max basique, 3 pour Alpha-Beta)
+     */
+    public static void main(String[] args) throws IOException {
+        int positions = 64;
+        long graine = 1;
+        Path fichierCorpus = null;
+        Path fichierJson = null;
+        int iterations = 5;
+        int echauffement = 3;
+        long duree = 500;
+        Map<Integer, int[]> reglages = new HashMap<>();
+        String filtre = "";
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--positions": positions = Integer.parseInt(valeur); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--corpus": fichierCorpus = Paths.get(valeur); break;
+                case "--iterations": iterations = Integer.parseInt(valeur); break;
+                case "--echauffement": echauffement = Integer.parseInt(valeur); break;
+                case "--duree": duree = Long.parseLong(valeur); break;
+                case "--profondeur": Tournoi.lireReglage(reglages, valeur, 1); break;
+                case "--filtre": filtre = valeur; break;
+                case "--json": fichierJson = Paths.get(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        int profondeurAlphaBeta = profondeur(reglages, 3);
+        int profondeurBasique = profondeur(reglages, 2);
+        ChargesBanc charges = fichierCorpus != null
+                ? ChargesBanc.lire(fichierCorpus, positions, profondeurAlphaBeta, profondeurBasique)
+                : ChargesBanc.generer(positions, graine, profondeurAlphaBeta, profondeurBasique);
+        System.out.println("Corpus : " + charges.getNombrePositions() + " positions"
+                + (fichierCorpus != null ? " (" + fichierCorpus + ")" : " (graine " + graine + ")"));
+
+        BancPerformance banc = new BancPerformance(charges);
+        banc.iterations = Math.max(1, iterations);
+        banc.echauffement = Math.max(1, echauffement);
+        banc.dureeIterationMS = Math.max(1, duree);
+        banc.filtre = filtre;
+        banc.lancer();
+
+        if (fichierJson != null) {
+            banc.ecrireJson(fichierJson);
+            System.out.println("Résultats écrits dans " + fichierJson);
+        }
+    }
+
+    /**
+     * Lance toutes les mesures dont le nom contient le filtre
+     */
+    private void lancer() {
+        String profondeurAlphaBeta = String.valueOf(charges.getProfondeurAlphaBeta());
+        String profondeurBasique = String.valueOf(charges.getProfondeurBasique());
+        mesurer("LancerJeu.verifierVictoire", null, null, "us/op");
+        mesurer("LancerJeu.verifierVictoire.dernierCoup", null, null, "us/op");
+        mesurer("LancerJeu.estPlateauPlein", null, null, "us/op");
+        mesurer("MinMaxAlphaBeta.evaluerPosition", null, null, "us/op");
+        mesurer("MinMaxAlphaBeta.getOrderedMoves", null, null, "us/op");
+        mesurer("MCTS.simulateImprovedPlayout", null, null, "us/op");
+        mesurer("IAHeuristiqueSimple.trouverMeilleurCoup", null, null, "us/op");
+        mesurer("MinMaxAlphaBeta.recherche", "profondeur", profondeurAlphaBeta, "ms/op");
+        mesurer("MinMaxBasique.recherche", "profondeur", profondeurBasique, "ms/op");
+
+        // le puits n'a pas de sens, l'afficher empêche seulement l'élimination des opérations
+        System.out.println("(puits " + Long.toHexString(puits) + ")");
+    }
+
+    // profondeur de recherche d'un niveau donnée en ligne de commande, 0 pour celle du niveau par défaut
+    private static int profondeur(Map<Integer, int[]> reglages, int niveau) {
+        int[] r = reglages.get(niveau);
+        return r != null ? Math.max(0, r[1]) : 0;
+    }
+
+    /**
+     * Mesure une opération sur le corpus et enregistre le résultat
+     * @param nom Nom de la mesure
+     * @param parametre Nom du paramètre de la mesure, ou null
+     * @param valeurParametre Valeur du paramètre
+     * @param unite Unité du score : "us/op" ou "ms/op"
+     */
+    private void mesurer(String nom, String parametre, String valeurParametre, String unite) {
+        if (!nom.contains(filtre)) return;
+        IntToLongFunction operation = charges.getOperation(nom);
+        int positions = charges.getNombrePositions();
+        double diviseur = unite.equals("ms/op") ? 1e6 : 1e3;
+
+        // chauffe : itérations limitées en durée, qui fixent le nombre d'opérations par itération mesurée
+        long operationsParIteration = 1;
+        int index = 0;
+        for (int i = 0; i < echauffement; i++) {
+            long debut = System.nanoTime();
+            long fin = debut + dureeIterationMS * 1_000_000L;
+            long operations = 0;
+            do {
+                puits += operation.applyAsLong(index);
+                index = (index + 1) % positions;
+                operations++;
+            } while (System.nanoTime() < fin);
+            operationsParIteration = operations;
+        }
+
+        double[] scores = new double[iterations];
+        MesureMemoire memoire = MesureMemoire.demarrer();
+        for (int i = 0; i < iterations; i++) {
+            long debut = System.nanoTime();
+            for (long k = 0; k < operationsParIteration; k++) {
+                puits += operation.applyAsLong(index);
+                index = (index + 1) % positions;
+            }
+            scores[i] = (System.nanoTime() - debut) / diviseur / operationsParIteration;
+        }
+        long octets = memoire.getOctetsAlloues();
+        double octetsParOperation = octets >= 0 ? (double) octets / (operationsParIteration * iterations) : Double.NaN;
+        long collections = memoire.getCollections();
+        long pauseMS = memoire.getPauseMS();
+
+        double moyenne = 0;
+        for (double s : scores) moyenne += s;
+        moyenne /= scores.length;
+        double variance = 0;
+        for (double s : scores) variance += (s - moyenne) * (s - moyenne);
+        double erreur = scores.length > 1
+                ? Z_999 * Math.sqrt(variance / (scores.length - 1)) / Math.sqrt(scores.length)
+                : Double.NaN;
+
+        String libelle = parametre != null ? nom + " (" + parametre + "=" + valeurParametre + ")" : nom;
+        System.out.println(String.format(Locale.ROOT, "%-52s %12.3f ± %9.3f %s %12.0f B/op %4d GC (%d ms)",
+                libelle, moyenne, erreur, unite, octetsParOperation, collections, pauseMS));
+        resultatsJson.add(versJson(nom, parametre, valeurParametre, unite, moyenne, erreur, scores,
+                octetsParOperation, collections, pauseMS));
+    }
+
+    private String versJson(String nom, String parametre, String valeurParametre, String unite,
+                            double moyenne, double erreur, double[] scores,
+                            double octetsParOperation, long collections, long pauseMS) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("  {\n");
+        sb.append("    \"benchmark\": \"").append(nom).append("\",\n");
+        sb.append("    \"mode\": \"avgt\",\n");
+        sb.append("    \"warmupIterations\": ").append(echauffement).append(",\n");
+        sb.append("    \"measurementIterations\": ").append(iterations).append(",\n");
+        sb.append("    \"params\": {");
+        sb.append("\"positions\": \"").append(charges.getNombrePositions()).append("\"");
+        if (parametre != null) {
+            sb.append(", \"").append(parametre).append("\": \"").append(valeurParametre).append("\"");
+        }
+        sb.append("},\n");
+        sb.append("    \"primaryMetric\": {\n");
+        sb.append(String.format(Locale.ROOT, "      \"score\": %s,%n", nombreJson(moyenne)));
+        sb.append(String.format(Locale.ROOT, "      \"scoreError\": %s,%n", nombreJson(erreur)));
+        sb.append("      \"scoreUnit\": \"").append(unite).append("\",\n");
+        sb.append("      \"rawData\": [[");
+        for (int i = 0; i < scores.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(nombreJson(scores[i]));
+        }
+        sb.append("]]\n");
+        sb.append("    },\n");
+        // métriques secondaires sous les noms du profileur gc de JMH
+        sb.append("    \"secondaryMetrics\": {\n");
+        sb.append(metriqueJson("\u00b7gc.alloc.rate.norm", octetsParOperation, "B/op")).append(",\n");
+        sb.append(metriqueJson("\u00b7gc.count", collections, "counts")).append(",\n");
+        sb.append(metriqueJson("\u00b7gc.time", pauseMS, "ms")).append("\n");
+        sb.append("    }\n");
+        sb.append("  }");
+        return sb.toString();
+    }
+
+    private static String metriqueJson(String nom, double valeur, String unite) {
+        return "      \"" + nom + "\": {\"score\": " + nombreJson(valeur) + ", \"scoreError\": \"NaN\", \"scoreUnit\": \"" + unite + "\"}";
+    }
+
+    // JSON n'a pas de NaN : une erreur inconnue est écrite "NaN" comme le fait JMH
+    private static String nombreJson(double valeur) {
+        return Double.isNaN(valeur) ? "\"NaN\"" : String.format(Locale.ROOT, "%.6f", valeur);
+    }
+
+    private void ecrireJson(Path fichier) throws IOException {
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            ecrivain.write("[\n");
+            ecrivain.write(String.join(",\n", resultatsJson));
+            ecrivain.write("\n]\n");
+        }
+    }
+}
@@ -0,0 +1,278 @@
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Table de transposition persistante, projetée en mémoire depuis un fichier.
+ *
+ * Chaque entrée associe au hachage d'une position le résultat d'une recherche :
+ * profondeur, type de borne, score et meilleur coup. Le fichier peut être partagé :
+ * - Entre les threads d'un tournoi, qui utilisent la même projection
+ * - Entre plusieurs JVM, qui projettent le même fichier
+ *
+ * Les mises à jour se font sans verrou : une entrée est formée de deux mots de 64 bits,
+ * les données et la clé combinée aux données par XOR. Une lecture vérifie la clé en recombinant
+ * les deux mots ; une entrée à moitié écrite (écritures concurrentes ou arrêt brutal du processus)
+ * ne correspond alors à aucune clé et est simplement ignorée. Le fichier reste donc toujours utilisable.
+ *
+ * Les entrées sont regroupées par 4 (64 octets). Une génération, avancée une fois par exécution quand
+ * les moteurs ouvrent le cache (un tournoi, un serveur, une session de jeu) et partagée par tous les
+ * processus, vieillit les entrées : on remplace en priorité une entrée vide, puis celle dont la profondeur
+ * diminuée de son âge est la plus faible. Chaque entrée garde 12 bits de génération : l'âge n'est ambigu
+ * qu'après 4096 exécutions, et il est plafonné pour qu'une entrée très ancienne reste toujours remplaçable.
+ *
+ * Format du fichier (big-endian) : les octets "GMKC", la version (octet), le nombre d'entrées (int, à
+ * l'octet 8), la génération courante (int, à l'octet 12), puis les entrées à partir de l'octet 64.
+ * Données d'une entrée : score (32 bits), case du coup + 1 (10 bits), profondeur (8 bits), borne (2 bits),
+ * génération (12 bits).
+ *
+ * Le cache n'est utilisé que si la propriété système gomoku.cache indique un fichier, créé s'il n'existe pas
+ * avec la taille donnée en Mo par gomoku.cache.taille (64 par défaut).
+ */
+public class CacheRecherche {
+    public static final String PROPRIETE_FICHIER = "gomoku.cache";
+    public static final String PROPRIETE_TAILLE = "gomoku.cache.taille";
+    public static final int TAILLE_DEFAUT_MO = 64;
+
+    // Types de borne du score ; 0 marque une entrée vide
+    public static final int EXACT = 1;
+    public static final int BORNE_INF = 2;
+    public static final int BORNE_SUP = 3;
+
+    private static final byte[] MAGIQUE = {'G', 'M', 'K', 'C'};
+    private static final int VERSION = 2;
+    private static final int EN_TETE = 64;
+    private static final int TAILLE_ENTREE = 16;
+    private static final int ENTREES_PAR_GROUPE = 4;
+    private static final int MASQUE_GENERATION = 4095;
+    // âge au-delà duquel une entrée est considérée comme périmée, quelle que soit sa profondeur
+    private static final int AGE_MAX = 64;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static volatile CacheRecherche courant;
+    private static volatile boolean courantCharge = false;
+
+    private final MappedByteBuffer tampon;
+    private final int nombre;
+    private final int masqueGroupes;
+
+    private CacheRecherche(MappedByteBuffer tampon, int nombre) {
+        this.tampon = tampon;
+        this.nombre = nombre;
+        this.masqueGroupes = nombre / ENTREES_PAR_GROUPE - 1;
+    }
+
+    /**
+     * Ouvre un cache existant, ou le crée s'il n'existe pas
+     * @param fichier Chemin du cache
+     * @param tailleMo Taille en Mo d'un nouveau cache (arrondie à la puissance de 2 inférieure) ;
+     *                 un cache existant garde sa taille
+     * @return Le cache
+     * @throws IOException En cas d'erreur d'accès ou de format invalide
+     */
+    public static CacheRecherche ouvrir(Path fichier, int tailleMo) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            // verrouiller le fichier le temps de l'initialiser, si un autre processus le crée en même temps
+            FileLock verrou = canal.lock();
+            try {
+                if (canal.size() == 0) {
+                    initialiser(canal, tailleMo);
+                }
+            } finally {
+                verrou.release();
+            }
+            long tailleFichier = canal.size();
+            if (tailleFichier < EN_TETE || tailleFichier > Integer.MAX_VALUE) {
+                throw new IOException("Cache de recherche invalide : " + fichier);
+            }
+            // la projection reste valide après la fermeture du canal
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_WRITE, 0, tailleFichier);
+            byte[] magique = new byte[MAGIQUE.length];
+            tampon.get(0, magique);
+            if (!Arrays.equals(magique, MAGIQUE) || tampon.get(4) != VERSION) {
+                throw new IOException("Cache de recherche invalide ou version non supportée : " + fichier);
+            }
+            int nombre = tampon.getInt(8);
+            if (nombre < ENTREES_PAR_GROUPE || Integer.bitCount(nombre) != 1
+                    || EN_TETE + (long) nombre * TAILLE_ENTREE > tailleFichier) {
+                throw new IOException("Cache de recherche tronqué : " + fichier);
+            }
+            return new CacheRecherche(tampon, nombre);
+        }
+    }
+
+    // écrit l'en-tête et étend le fichier ; les entrées nulles sont vides
+    private static void initialiser(FileChannel canal, int tailleMo) throws IOException {
+        long octets = Math.max(1, Math.min(tailleMo, 1024)) * 1024L * 1024L;
+        int nombre = Integer.highestOneBit((int) ((octets - EN_TETE) / TAILLE_ENTREE));
+        ByteBuffer enTete = ByteBuffer.allocate(EN_TETE);
+        enTete.put(MAGIQUE).put((byte) VERSION);
+        enTete.putInt(8, nombre);
+        enTete.putInt(12, 0);
+        enTete.rewind();
+        canal.write(enTete, 0);
+        canal.write(ByteBuffer.allocate(1), EN_TETE + (long) nombre * TAILLE_ENTREE - 1);
+        canal.force(true);
+    }
+
+    /**
+     * Cache utilisé par les moteurs au démarrage, ouvert une seule fois par exécution ; son ouverture
+     * fait vieillir d'un cran les entrées laissées par les exécutions précédentes
+     * @return Le cache, ou null si la propriété gomoku.cache n'est pas définie
+     */
+    public static CacheRecherche courant() {
+        if (!courantCharge) {
+            synchronized (CacheRecherche.class) {
+                if (!courantCharge) {
+                    courant = ouvrirAuDemarrage();
+                    courantCharge = true;
+                }
+            }
+        }
+        return courant;
+    }
+
+    private static CacheRecherche ouvrirAuDemarrage() {
+        String chemin = System.getProperty(PROPRIETE_FICHIER);
+        if (chemin == null) {
+            return null;
+        }
+        try {
+            CacheRecherche cache = ouvrir(Paths.get(chemin), Integer.getInteger(PROPRIETE_TAILLE, TAILLE_DEFAUT_MO));
+            cache.nouvelleGeneration();
+            return cache;
+        } catch (IOException e) {
+            System.out.println("Cache de recherche inutilisable (" + chemin + ") : " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int getNombreEntrees() {
+        return nombre;
+    }
+
+    /**
+     * Génération courante, partagée par tous les processus qui utilisent le fichier
+     */
+    public int getGeneration() {
+        return (int) INTS.getVolatile(tampon, 12) & MASQUE_GENERATION;
+    }
+
+    /**
+     * Passe à la génération suivante : les entrées déjà présentes vieillissent d'un cran ;
+     * à appeler une fois par exécution, pas à chaque partie
+     */
+    public void nouvelleGeneration() {
+        INTS.getAndAdd(tampon, 12, 1);
+    }
+
+    /**
+     * Cherche une position dans le cache
+     * @param cle Le hachage de la position
+     * @return L'entrée (à décoder avec score, profondeur, borne et coup), ou 0 si la position est absente
+     */
+    public long chercher(long cle) {
+        int base = groupe(cle);
+        for (int e = 0; e < ENTREES_PAR_GROUPE; e++) {
+            int position = base + e * TAILLE_ENTREE;
+            long donnees = (long) LONGS.getVolatile(tampon, position + 8);
+            long verification = (long) LONGS.getVolatile(tampon, position);
+            if (borne(donnees) != 0 && (verification ^ donnees) == cle) {
+                return donnees;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Enregistre le résultat d'une recherche
+     * @param cle Le hachage de la position
+     * @param profondeur Profondeur restante de la recherche (0 à 255)
+     * @param borne EXACT, BORNE_INF ou BORNE_SUP
+     * @param score Le score
+     * @param coup Index de la case du meilleur coup, ou -1 (plateaux de 31 × 31 au plus)
+     */
+    public void enregistrer(long cle, int profondeur, int borne, int score, int coup) {
+        int generation = getGeneration();
+        int base = groupe(cle);
+        int victime = 0;
+        int pireValeur = Integer.MAX_VALUE;
+        for (int e = 0; e < ENTREES_PAR_GROUPE; e++) {
+            int position = base + e * TAILLE_ENTREE;
+            long donnees = (long) LONGS.getVolatile(tampon, position + 8);
+            long verification = (long) LONGS.getVolatile(tampon, position);
+            if (borne(donnees) == 0) {
+                if (pireValeur > Integer.MIN_VALUE) {
+                    victime = e;
+                    pireValeur = Integer.MIN_VALUE;
+                }
+                continue;
+            }
+            if ((verification ^ donnees) == cle) {
+                // même position : ne pas écraser une recherche plus profonde de la même génération
+                if (profondeur < profondeur(donnees) && generation(donnees) == generation && borne != EXACT) {
+                    return;
+                }
+                if (coup < 0) {
+                    coup = coup(donnees);
+                }
+                victime = e;
+                break;
+            }
+            int age = Math.min((generation - generation(donnees)) & MASQUE_GENERATION, AGE_MAX);
+            int valeur = profondeur(donnees) - 4 * age;
+            if (valeur < pireValeur) {
+                victime = e;
+                pireValeur = valeur;
+            }
+        }
+        long donnees = (score & 0xFFFFFFFFL)
+                | (long) ((coup + 1) & 0x3FF) << 32
+                | (long) (Math.min(profondeur, 255) & 0xFF) << 42
+                | (long) (borne & 3) << 50
+                | (long) generation << 52;
+        int position = base + victime * TAILLE_ENTREE;
+        LONGS.setVolatile(tampon, position, cle ^ donnees);
+        LONGS.setVolatile(tampon, position + 8, donnees);
+    }
+
+    private int groupe(long cle) {
+        int index = (int) (cle ^ (cle >>> 32)) & masqueGroupes;
+        return EN_TETE + index * ENTREES_PAR_GROUPE * TAILLE_ENTREE;
+    }
+
+    public static int score(long entree) {
+        return (int) entree;
+    }
+
+    /**
+     * Index de la case du meilleur coup, ou -1
+     */
+    public static int coup(long entree) {
+        return (int) (entree >>> 32 & 0x3FF) - 1;
+    }
+
+    public static int profondeur(long entree) {
+        return (int) (entree >>> 42 & 0xFF);
+    }
+
+    public static int borne(long entree) {
+        return (int) (entree >>> 50 & 3);
+    }
+
+    private static int generation(long entree) {
+        return (int) (entree >>> 52 & MASQUE_GENERATION);
+    }
+}
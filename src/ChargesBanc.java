@@ -0,0 +1,211 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Corpus et opérations communs aux mesures de performance : BancPerformance et les mesures JMH
+ * du module banc (banc/src).
+ *
+ * Chaque opération reçoit l'indice d'une position du corpus et renvoie une valeur à cumuler dans un puits,
+ * pour que le JIT ne l'élimine pas. La classe et ses méthodes sont publiques : le module JMH, dont les
+ * mesures ne peuvent pas être dans le paquetage par défaut, les retrouve par réflexion une fois au départ,
+ * puis appelle les opérations directement.
+ */
+public class ChargesBanc {
+    static final int TAILLE_PLATEAU = 15;
+    private static final int COUPS_MIN = 10;
+    private static final int COUPS_MAX = 30;
+
+    /**
+     * Position du corpus, avec une copie où les couleurs sont échangées pour que 'O' soit au trait
+     * (point de vue des moteurs)
+     */
+    private static class Position {
+        final EtatDuJeu etat;
+        final EtatDuJeu etatO;
+        final int[] dernierCoup;
+
+        Position(EtatDuJeu etat, int[] dernierCoup) {
+            this.etat = etat;
+            this.etatO = new EtatDuJeu(etat);
+            if (etatO.getJoueurActuel() == 'X') {
+                etatO.echangerCouleurs();
+            }
+            this.dernierCoup = dernierCoup;
+        }
+    }
+
+    private final List<Position> corpus;
+    private final int profondeurAlphaBeta;
+    private final int profondeurBasique;
+    private final Map<String, IntToLongFunction> operations = new LinkedHashMap<>();
+
+    /**
+     * Constructeur des opérations sur un corpus
+     * @param corpus Les positions mesurées
+     * @param profondeurAlphaBeta Profondeur de la recherche Alpha-Beta complète, celle du niveau 3 si 0
+     * @param profondeurBasique Profondeur de la recherche Min-Max basique complète, celle du niveau 2 si 0
+     */
+    private ChargesBanc(List<Position> corpus, int profondeurAlphaBeta, int profondeurBasique) {
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("Corpus de positions vide");
+        }
+        this.corpus = corpus;
+        this.profondeurAlphaBeta = profondeurAlphaBeta > 0 ? profondeurAlphaBeta
+                : LancerJeu.limitesParDefaut(3).getProfondeur(1);
+        this.profondeurBasique = profondeurBasique > 0 ? profondeurBasique
+                : LancerJeu.limitesParDefaut(2).getProfondeur(1);
+        creerOperations();
+    }
+
+    /**
+     * Génère un corpus reproductible de positions de milieu de partie : chaque partie commence
+     * près du centre, puis chaque camp joue au hasard l'un des 3 meilleurs coups selon le tri
+     * de l'IA Alpha-Beta, pendant 10 à 30 coups ; les parties terminées sont écartées
+     * @param nombre Nombre de positions
+     * @param graine Graine du générateur aléatoire
+     * @param profondeurAlphaBeta Profondeur de la recherche Alpha-Beta complète, 0 pour celle du niveau 3
+     * @param profondeurBasique Profondeur de la recherche Min-Max basique complète, 0 pour celle du niveau 2
+     * @return Les opérations sur ce corpus
+     */
+    public static ChargesBanc generer(int nombre, long graine, int profondeurAlphaBeta, int profondeurBasique) {
+        Random random = new Random(graine);
+        MinMaxAlphaBeta ordonnateur = new MinMaxAlphaBeta("Corpus", 'O');
+        ordonnateur.setVerbeux(false);
+        List<Position> corpus = new ArrayList<>();
+        while (corpus.size() < nombre) {
+            EtatDuJeu etat = new EtatDuJeu(TAILLE_PLATEAU);
+            int centre = TAILLE_PLATEAU / 2;
+            int[] coup = {centre + random.nextInt(3) - 1, centre + random.nextInt(3) - 1};
+            LancerJeu.jouerCoup(etat, coup[0], coup[1]);
+            int coups = COUPS_MIN + random.nextInt(COUPS_MAX - COUPS_MIN + 1);
+            boolean terminee = false;
+            for (int k = 1; k < coups && !terminee; k++) {
+                EtatDuJeu vue = new EtatDuJeu(etat);
+                if (vue.getJoueurActuel() == 'X') {
+                    vue.echangerCouleurs();
+                }
+                List<int[]> candidats = ordonnateur.ordonnerCoupsSansCache(vue);
+                coup = candidats.get(random.nextInt(Math.min(3, candidats.size())));
+                terminee = LancerJeu.jouerCoup(etat, coup[0], coup[1])[0] >= 0;
+            }
+            if (!terminee) {
+                corpus.add(new Position(etat, coup));
+            }
+        }
+        return new ChargesBanc(corpus, profondeurAlphaBeta, profondeurBasique);
+    }
+
+    /**
+     * Extrait un corpus de parties enregistrées : une position tous les 5 coups à partir du 10e,
+     * hors positions finales
+     * @param fichier Le fichier de parties (.gmk)
+     * @param nombre Nombre maximal de positions
+     * @param profondeurAlphaBeta Profondeur de la recherche Alpha-Beta complète, 0 pour celle du niveau 3
+     * @param profondeurBasique Profondeur de la recherche Min-Max basique complète, 0 pour celle du niveau 2
+     * @return Les opérations sur ce corpus
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static ChargesBanc lire(Path fichier, int nombre, int profondeurAlphaBeta, int profondeurBasique)
+            throws IOException {
+        List<Position> corpus = new ArrayList<>();
+        try (LecteurParties lecteur = new LecteurParties(fichier)) {
+            for (int p = 0; p < lecteur.getNombreParties() && corpus.size() < nombre; p++) {
+                if (lecteur.getTaille(p) != TAILLE_PLATEAU) continue;
+                for (int n = COUPS_MIN; n < lecteur.getNombreCoups(p) && corpus.size() < nombre; n += 5) {
+                    int c = lecteur.getCase(p, n - 1);
+                    corpus.add(new Position(lecteur.rejouer(p, n), new int[]{c / TAILLE_PLATEAU, c % TAILLE_PLATEAU}));
+                }
+            }
+        }
+        return new ChargesBanc(corpus, profondeurAlphaBeta, profondeurBasique);
+    }
+
+    private void creerOperations() {
+        MinMaxAlphaBeta alphaBeta = new MinMaxAlphaBeta("IA Alpha-Beta", 'O');
+        alphaBeta.setVerbeux(false);
+        alphaBeta.setLivre(null);
+        alphaBeta.setCache(null);
+        MinMaxBasique basique = new MinMaxBasique("IA Minimax", 'O');
+        basique.setVerbeux(false);
+        MCTS mcts = new MCTS("IA MCTS", 'O');
+        mcts.setVerbeux(false);
+        IAHeuristiqueSimple heuristique = new IAHeuristiqueSimple("IA Simple", 'O');
+        heuristique.setVerbeux(false);
+
+        operations.put("LancerJeu.verifierVictoire",
+                i -> LancerJeu.verifierVictoire(corpus.get(i).etat, -1, -1) ? 1 : 0);
+        operations.put("LancerJeu.verifierVictoire.dernierCoup", i -> {
+            // vérifier le dernier coup du point de vue du joueur qui l'a joué
+            Position pos = corpus.get(i);
+            char joueur = pos.etat.getJoueurActuel();
+            pos.etat.setJoueurActuel(joueur == 'X' ? 'O' : 'X');
+            boolean victoire = LancerJeu.verifierVictoire(pos.etat, pos.dernierCoup[0], pos.dernierCoup[1]);
+            pos.etat.setJoueurActuel(joueur);
+            return victoire ? 1 : 0;
+        });
+        operations.put("LancerJeu.estPlateauPlein",
+                i -> LancerJeu.estPlateauPlein(corpus.get(i).etat) ? 1 : 0);
+        operations.put("MinMaxAlphaBeta.evaluerPosition",
+                i -> alphaBeta.evaluerSansCache(corpus.get(i).etatO));
+        operations.put("MinMaxAlphaBeta.getOrderedMoves",
+                i -> alphaBeta.ordonnerCoupsSansCache(corpus.get(i).etatO).get(0)[0]);
+        operations.put("MCTS.simulateImprovedPlayout",
+                i -> mcts.simulerPartie(corpus.get(i).etatO));
+        operations.put("IAHeuristiqueSimple.trouverMeilleurCoup",
+                i -> heuristique.trouverMeilleurCoup(new EtatDuJeu(corpus.get(i).etatO))[0]);
+        operations.put("MinMaxAlphaBeta.recherche", i -> {
+            alphaBeta.nouvellePartie(TAILLE_PLATEAU);
+            return alphaBeta.trouverMeilleurCoup(new EtatDuJeu(corpus.get(i).etatO), profondeurAlphaBeta)[0];
+        });
+        operations.put("MinMaxBasique.recherche",
+                i -> basique.trouverMeilleurCoup(new EtatDuJeu(corpus.get(i).etatO), profondeurBasique)[0]);
+    }
+
+    /**
+     * @return Le nombre de positions du corpus
+     */
+    public int getNombrePositions() {
+        return corpus.size();
+    }
+
+    /**
+     * @return Les noms des opérations, dans l'ordre des mesures
+     */
+    public Set<String> getNoms() {
+        return operations.keySet();
+    }
+
+    /**
+     * Opération mesurée, par son nom
+     * @param nom Nom de l'opération, par exemple "LancerJeu.verifierVictoire"
+     * @return L'opération, qui reçoit l'indice d'une position du corpus
+     */
+    public IntToLongFunction getOperation(String nom) {
+        IntToLongFunction operation = operations.get(nom);
+        if (operation == null) {
+            throw new IllegalArgumentException("Opération inconnue : " + nom);
+        }
+        return operation;
+    }
+
+    /**
+     * @return Profondeur de la recherche Alpha-Beta complète
+     */
+    public int getProfondeurAlphaBeta() {
+        return profondeurAlphaBeta;
+    }
+
+    /**
+     * @return Profondeur de la recherche Min-Max basique complète
+     */
+    public int getProfondeurBasique() {
+        return profondeurBasique;
+    }
+}
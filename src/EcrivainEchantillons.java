@@ -0,0 +1,149 @@
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Écriture des échantillons d'apprentissage en fragments binaires de taille bornée.
+ *
+ * Format d'un fragment (big-endian) :
+ * - En-tête : les octets "GMKS", la version (octet), la taille du plateau (octet),
+ *   puis le nom du moteur (chaîne UTF-8 précédée de sa longueur sur un short)
+ * - Puis des échantillons de taille fixe :
+ *   plateau sur 2 bits par case en ordre ligne par ligne (0 vide, 1 'X', 2 'O'),
+ *   joueur au trait (octet ASCII), score de la recherche (float, unité propre au moteur),
+ *   meilleur coup (octet, index de case), résultat final pour le joueur au trait (octet : 0 défaite, 1 nul, 2 victoire)
+ *
+ * Sur un plateau 15x15, un échantillon occupe 64 octets. Un nouveau fragment est ouvert
+ * dès que le fragment courant atteint le nombre d'échantillons maximal.
+ */
+public class EcrivainEchantillons implements Closeable {
+    static final byte[] MAGIQUE = {'G', 'M', 'K', 'S'};
+    static final int VERSION = 1;
+    static final String EXTENSION = ".gmks";
+
+    private final Path dossier;
+    private final String prefixe;
+    private final int taille;
+    private final String moteur;
+    private final int echantillonsParFragment;
+
+    private DataOutputStream sortie;
+    private int numeroFragment = 0;
+    private int echantillonsFragment = 0;
+    private long echantillonsEcrits = 0;
+
+    /**
+     * Constructeur de l'écrivain
+     * @param dossier Le dossier des fragments (créé si besoin)
+     * @param prefixe Le préfixe du nom des fragments
+     * @param taille La taille du plateau
+     * @param moteur Le nom du moteur ayant produit les scores
+     * @param echantillonsParFragment Le nombre maximal d'échantillons par fragment
+     * @throws IOException En cas d'erreur de création du dossier
+     */
+    public EcrivainEchantillons(Path dossier, String prefixe, int taille, String moteur,
+                                int echantillonsParFragment) throws IOException {
+        if (taille * taille > 256) {
+            throw new IllegalArgumentException("Taille de plateau non supportée : " + taille);
+        }
+        this.dossier = Files.createDirectories(dossier);
+        this.prefixe = prefixe;
+        this.taille = taille;
+        this.moteur = moteur;
+        this.echantillonsParFragment = echantillonsParFragment;
+    }
+
+    /**
+     * Taille en octets d'un échantillon pour une taille de plateau
+     * @param taille La taille du plateau
+     * @return Le nombre d'octets par échantillon
+     */
+    public static int tailleEchantillon(int taille) {
+        return octetsPlateau(taille) + 7;
+    }
+
+    /**
+     * Nombre d'octets du plateau compacté à 2 bits par case
+     * @param taille La taille du plateau
+     * @return Le nombre d'octets
+     */
+    public static int octetsPlateau(int taille) {
+        return (taille * taille + 3) / 4;
+    }
+
+    /**
+     * Compacte un plateau à 2 bits par case
+     * @param etat La position
+     * @return Le plateau compacté
+     */
+    public static byte[] compacter(EtatDuJeu etat) {
+        int n = etat.getTaillePlateau();
+        char[][] plateau = etat.getPlateau();
+        byte[] octets = new byte[octetsPlateau(n)];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int valeur = plateau[i][j] == 'X' ? 1 : plateau[i][j] == 'O' ? 2 : 0;
+                int index = i * n + j;
+                octets[index >> 2] |= (byte) (valeur << ((index & 3) * 2));
+            }
+        }
+        return octets;
+    }
+
+    /**
+     * Ajoute un échantillon au fragment courant
+     * @param plateau Le plateau compacté (voir compacter)
+     * @param joueur Le joueur au trait
+     * @param score Le score de la recherche
+     * @param coup L'index de la case du meilleur coup
+     * @param resultat Le résultat final pour le joueur au trait (0, 1 ou 2)
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void ecrire(byte[] plateau, char joueur, float score, int coup, int resultat) throws IOException {
+        if (sortie == null || echantillonsFragment >= echantillonsParFragment) {
+            ouvrirFragment();
+        }
+        sortie.write(plateau);
+        sortie.writeByte(joueur);
+        sortie.writeFloat(score);
+        sortie.writeByte(coup);
+        sortie.writeByte(resultat);
+        echantillonsFragment++;
+        echantillonsEcrits++;
+    }
+
+    private void ouvrirFragment() throws IOException {
+        if (sortie != null) {
+            sortie.close();
+        }
+        Path fichier = dossier.resolve(String.format("%s-%05d%s", prefixe, numeroFragment++, EXTENSION));
+        sortie = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fichier), 1 << 16));
+        sortie.write(MAGIQUE);
+        sortie.writeByte(VERSION);
+        sortie.writeByte(taille);
+        byte[] nom = moteur.getBytes(StandardCharsets.UTF_8);
+        sortie.writeShort(nom.length);
+        sortie.write(nom);
+        echantillonsFragment = 0;
+    }
+
+    public long getEchantillonsEcrits() {
+        return echantillonsEcrits;
+    }
+
+    public int getNombreFragments() {
+        return numeroFragment;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sortie != null) {
+            sortie.close();
+            sortie = null;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Écriture en flux de parties au format binaire compact.
+ *
+ * Format du fichier (big-endian) :
+ * - En-tête : les octets "GMKR" puis la version (un octet)
+ * - Puis les parties à la suite, chacune précédée de sa longueur en octets (int) :
+ *   taille (octet), gagnant (octet ASCII), drapeaux (octet, bit 0 : métadonnées présentes),
+ *   durée en ms (int), nombre de coups (short),
+ *   moteur X, moteur O, réglages, forfait (chaînes UTF-8 précédées de leur longueur sur un short),
+ *   index des cases jouées (un octet par coup),
+ *   puis, si présentes, les métadonnées de chaque coup : temps en ms (int), nœuds (long), score (float)
+ *
+ * Les parties sont ajoutées à la fin d'un fichier existant, ce qui permet d'en accumuler des millions.
+ * À l'ouverture, l'en-tête d'un fichier existant est vérifié et ses parties sont indexées ; une dernière
+ * partie incomplète (programme interrompu pendant l'écriture) est retirée avant d'ajouter les nouvelles.
+ */
+public class EcrivainParties implements Closeable {
+    static final byte[] MAGIQUE = {'G', 'M', 'K', 'R'};
+    static final int VERSION = 1;
+    static final int DRAPEAU_INFOS = 1;
+    static final int TAILLE_TAMPON = 1 << 16;
+
+    private final DataOutputStream sortie;
+    // tampon réutilisé pour construire chaque partie avant d'écrire sa longueur
+    private final ByteArrayOutputStream tamponPartie = new ByteArrayOutputStream(256);
+    private final DataOutputStream partie = new DataOutputStream(tamponPartie);
+    private long partiesEcrites = 0;
+    private final long partiesExistantes;
+
+    /**
+     * Ouvre un fichier de parties en ajout, en le créant si besoin
+     * @param fichier Chemin du fichier
+     * @throws IOException En cas d'erreur d'écriture, ou si le fichier existant n'est pas un fichier de parties
+     *                     de cette version
+     */
+    public EcrivainParties(Path fichier) throws IOException {
+        boolean nouveau = !Files.exists(fichier) || Files.size(fichier) == 0;
+        long fin = MAGIQUE.length + 1;
+        long parties = 0;
+        if (!nouveau) {
+            long[] index = indexer(fichier);
+            fin = index[0];
+            parties = index[1];
+        }
+        this.partiesExistantes = parties;
+
+        FileChannel canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (!nouveau && canal.size() > fin) {
+                System.err.printf("Fichier de parties %s : %d octets d'une partie incomplète retirés%n",
+                        fichier, canal.size() - fin);
+                canal.truncate(fin);
+            }
+            canal.position(nouveau ? 0 : fin);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        this.sortie = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(canal), TAILLE_TAMPON));
+        if (nouveau) {
+            sortie.write(MAGIQUE);
+            sortie.writeByte(VERSION);
+        }
+    }
+
+    /**
+     * Vérifie l'en-tête d'un fichier existant et parcourt ses parties, comme LecteurParties
+     * @return {fin de la dernière partie complète, nombre de parties complètes}
+     */
+    private static long[] indexer(Path fichier) throws IOException {
+        long taille = Files.size(fichier);
+        try (InputStream in = Files.newInputStream(fichier);
+             DataInputStream entree = new DataInputStream(new BufferedInputStream(in, TAILLE_TAMPON))) {
+            byte[] magique = new byte[MAGIQUE.length];
+            if (taille < MAGIQUE.length + 1) {
+                throw new IOException("Fichier de parties invalide : " + fichier);
+            }
+            entree.readFully(magique);
+            if (!Arrays.equals(magique, MAGIQUE) || entree.readByte() != VERSION) {
+                throw new IOException("Fichier de parties invalide ou version non supportée : " + fichier);
+            }
+            long position = MAGIQUE.length + 1;
+            long parties = 0;
+            while (position + 4 <= taille) {
+                int longueur = entree.readInt();
+                if (longueur < 9 || position + 4 + longueur > taille) break;
+                entree.skipNBytes(longueur);
+                position += 4 + longueur;
+                parties++;
+            }
+            return new long[]{position, parties};
+        }
+    }
+
+    /**
+     * Ajoute une partie au fichier
+     * @param p La partie à écrire
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public synchronized void ecrire(PartieEnregistree p) throws IOException {
+        tamponPartie.reset();
+        int n = p.getNombreCoups();
+        partie.writeByte(p.getTaille());
+        partie.writeByte(p.getGagnant());
+        partie.writeByte(p.aDesInfos() ? DRAPEAU_INFOS : 0);
+        partie.writeInt(p.getDureeMS());
+        partie.writeShort(n);
+        ecrireChaine(p.getMoteurX());
+        ecrireChaine(p.getMoteurO());
+        ecrireChaine(p.getReglages());
+        ecrireChaine(p.getForfait());
+        for (int k = 0; k < n; k++) {
+            partie.writeByte(p.getCase(k));
+        }
+        if (p.aDesInfos()) {
+            for (int k = 0; k < n; k++) {
+                partie.writeInt(p.getTempsMS(k));
+                partie.writeLong(p.getNoeuds(k));
+                partie.writeFloat(p.getScore(k));
+            }
+        }
+
+        sortie.writeInt(tamponPartie.size());
+        tamponPartie.writeTo(sortie);
+        partiesEcrites++;
+    }
+
+    private void ecrireChaine(String valeur) throws IOException {
+        byte[] octets = (valeur == null ? "" : valeur).getBytes(StandardCharsets.UTF_8);
+        int longueur = Math.min(octets.length, 0xFFFF);
+        partie.writeShort(longueur);
+        partie.write(octets, 0, longueur);
+    }
+
+    /**
+     * Nombre de parties complètes que contenait le fichier à l'ouverture
+     */
+    public long getPartiesExistantes() {
+        return partiesExistantes;
+    }
+
+    /**
+     * Nombre de parties écrites depuis l'ouverture
+     */
+    public synchronized long getPartiesEcrites() {
+        return partiesEcrites;
+    }
+
+    /**
+     * Force l'écriture des parties en attente dans le tampon
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public synchronized void vider() throws IOException {
+        sortie.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        sortie.close();
+    }
+}
@@ -0,0 +1,463 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test d'endurance : latence de chaque coup sur des milliers de parties enchaînées.
+ *
+ * En production, c'est la queue de la distribution qui gêne (un coup qui atteint la limite de temps,
+ * une pause du ramasse-miettes au milieu d'une recherche), pas la moyenne. Ce test :
+ * - Joue des parties à la suite entre les niveaux donnés (un seul niveau : contre lui-même), après
+ *   une ouverture aléatoire, sur plusieurs threads ; chaque thread garde ses moteurs d'une partie à
+ *   l'autre, comme un serveur, pour que leurs caches vivent toute la durée du test
+ * - Enregistre la latence de chaque coup dans un histogramme (voir HistogrammeLatences), par moteur et
+ *   par phase de la partie (ouverture, milieu, finale), et compte les coups qui dépassent leur budget de temps
+ * - Suit le tas occupé après les collections du ramasse-miettes au fil des parties : un plancher qui
+ *   monte d'un quart à l'autre signale une fuite (par exemple un cache qui n'est jamais vidé)
+ * - Affiche p50, p90, p99, p99,9 et le maximum, et écrit un résumé JSON
+ * - Avec un objectif de latence, échoue si le p99 d'un moteur le dépasse
+ *
+ * Le tas est lu après la dernière collection, sans la provoquer ; --gc n force une collection
+ * complète toutes les n parties pour mesurer exactement les objets vivants, au prix de pauses
+ * qui apparaissent dans les latences des parties en cours.
+ *
+ * Exemple :
+ * java -cp bin EnduranceLatences --niveaux 3,4 --parties 2000 --threads 4 --temps 4=500 --sortie endurance.json
+ */
+public class EnduranceLatences {
+    private static final int TAILLE_PLATEAU = 15;
+    private static final String[] PHASES = {"ouverture", "milieu", "finale"};
+    // Nombre de coups joués avant le milieu et avant la finale
+    private static final int COUPS_MILIEU = 10;
+    private static final int COUPS_FINALE = 30;
+    // Latence maximale distinguée par les histogrammes (une heure)
+    private static final long LATENCE_MAX_MS = 3_600_000;
+    // Marge au-delà du budget de temps d'un coup avant de compter un dépassement
+    private static final double MARGE_DEPASSEMENT = 1.1;
+    // Croissance du plancher du tas jugée suspecte, relative et absolue
+    private static final double CROISSANCE_SUSPECTE = 0.10;
+    private static final long CROISSANCE_SUSPECTE_OCTETS = 8L << 20;
+
+    /**
+     * Latences d'un moteur : un histogramme par phase, et un pour toute la partie
+     */
+    private static class LatencesMoteur {
+        final HistogrammeLatences[] phases = new HistogrammeLatences[PHASES.length];
+        final HistogrammeLatences total = new HistogrammeLatences(LATENCE_MAX_MS);
+        long depassements;
+
+        LatencesMoteur() {
+            for (int i = 0; i < phases.length; i++) {
+                phases[i] = new HistogrammeLatences(LATENCE_MAX_MS);
+            }
+        }
+    }
+
+    /**
+     * Partie jouée, avec les niveaux de ses deux joueurs
+     */
+    private static class PartieJouee {
+        final int niveauX;
+        final int niveauO;
+        final int coupsOuverture;
+        final ResultatPartie resultat;
+
+        PartieJouee(int niveauX, int niveauO, int coupsOuverture, ResultatPartie resultat) {
+            this.niveauX = niveauX;
+            this.niveauO = niveauO;
+            this.coupsOuverture = coupsOuverture;
+            this.resultat = resultat;
+        }
+    }
+
+    private final int[] niveaux;
+    private final int parties;
+    private final int threads;
+    private final Map<Integer, LimitesRecherche> limites;
+    private int coupsOuverture = 2;
+    private long graine = 1;
+    private int intervalleGc = 0;
+
+    // Moteurs de chaque thread, par niveau et par couleur, conservés d'une partie à l'autre
+    private final ThreadLocal<Map<Integer, Joueur>> moteurs = ThreadLocal.withInitial(HashMap::new);
+
+    // Résultats, modifiés par le seul thread qui lance le test
+    private final Map<Integer, LatencesMoteur> latences = new LinkedHashMap<>();
+    private final List<long[]> tas = new ArrayList<>(); // {partie, octets}
+    private long forfaits;
+
+    /**
+     * Constructeur du test
+     * @param niveaux Les niveaux d'IA joués
+     * @param parties Le nombre de parties
+     * @param threads Le nombre de parties jouées simultanément
+     * @param limites Les limites de recherche par niveau
+     */
+    public EnduranceLatences(int[] niveaux, int parties, int threads, Map<Integer, LimitesRecherche> limites) {
+        this.niveaux = niveaux.clone();
+        this.parties = parties;
+        this.threads = threads;
+        this.limites = new HashMap<>(limites);
+        for (int niveau : niveaux) {
+            latences.put(niveau, new LatencesMoteur());
+        }
+    }
+
+    public void setCoupsOuverture(int coupsOuverture) {
+        this.coupsOuverture = coupsOuverture;
+    }
+
+    public void setGraine(long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * Force une collection complète régulièrement pour mesurer exactement le tas vivant
+     * @param intervalleGc Le nombre de parties entre deux collections, ou 0 pour lire le tas sans collection forcée
+     */
+    public void setIntervalleGc(int intervalleGc) {
+        this.intervalleGc = intervalleGc;
+    }
+
+    /**
+     * Point d'entrée en ligne de commande
+     * @param args --niveaux 3,4 --parties 1000 --threads N --ouverture 2 --graine g --temps niveau=ms
+     *             --profondeur niveau=p --noeuds niveau=n --gc n --objectif ms --sortie fichier.json
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int[] niveaux = {3, 4};
+        int parties = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int ouverture = 2;
+        long graine = 1;
+        int intervalleGc = 0;
+        long objectifMS = 0;
+        Path sortie = null;
+        Map<Integer, int[]> reglages = new HashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--niveaux": niveaux = Tournoi.lireNiveaux(valeur); break;
+                case "--parties": parties = Integer.parseInt(valeur); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--ouverture": ouverture = Integer.parseInt(valeur); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--temps": Tournoi.lireReglage(reglages, valeur, 0); break;
+                case "--profondeur": Tournoi.lireReglage(reglages, valeur, 1); break;
+                case "--noeuds": Tournoi.lireReglage(reglages, valeur, 2); break;
+                case "--gc": intervalleGc = Integer.parseInt(valeur); break;
+                case "--objectif": objectifMS = Long.parseLong(valeur); break;
+                case "--sortie": sortie = Paths.get(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        EnduranceLatences endurance = new EnduranceLatences(niveaux, parties, Math.max(1, threads),
+                Tournoi.construireLimites(niveaux, reglages));
+        endurance.setCoupsOuverture(ouverture);
+        endurance.setGraine(graine);
+        endurance.setIntervalleGc(intervalleGc);
+        endurance.lancer();
+
+        if (sortie != null) {
+            endurance.ecrireResume(sortie);
+            System.out.println("Résumé écrit dans " + sortie);
+        }
+        if (objectifMS > 0 && !endurance.respecteObjectif(objectifMS)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Joue toutes les parties et affiche les latences au fil de l'eau
+     */
+    public void lancer() throws InterruptedException, ExecutionException {
+        // couples de niveaux joués à tour de rôle, chaque niveau contre lui-même s'il est seul
+        List<int[]> couples = new ArrayList<>();
+        for (int a = 0; a < niveaux.length; a++) {
+            for (int b = a + 1; b < niveaux.length; b++) {
+                couples.add(new int[]{niveaux[a], niveaux[b]});
+            }
+        }
+        if (couples.isEmpty()) {
+            couples.add(new int[]{niveaux[0], niveaux[0]});
+        }
+
+        System.out.printf("Endurance : %d parties, niveaux %s, %d threads, %d coups d'ouverture%n",
+                parties, Arrays.toString(niveaux), threads, coupsOuverture);
+        ExecutorService executeur = Executors.newFixedThreadPool(threads);
+        CompletionService<PartieJouee> service = new ExecutorCompletionService<>(executeur);
+        for (int k = 0; k < parties; k++) {
+            int[] couple = couples.get(k % couples.size());
+            boolean inverse = (k / couples.size()) % 2 == 1;
+            int numero = k;
+            service.submit(() -> jouer(numero, inverse ? couple[1] : couple[0], inverse ? couple[0] : couple[1]));
+        }
+
+        long debut = System.currentTimeMillis();
+        int intervalleAffichage = Math.max(1, parties / 10);
+        try {
+            for (int k = 1; k <= parties; k++) {
+                enregistrer(service.take().get());
+                mesurerTas(k);
+                if (k % intervalleAffichage == 0 || k == parties) {
+                    afficherProgression(k, System.currentTimeMillis() - debut);
+                }
+            }
+        } finally {
+            executeur.shutdownNow();
+        }
+        afficherBilan();
+    }
+
+    /**
+     * Joue une partie avec les moteurs du thread courant
+     */
+    private PartieJouee jouer(int numero, int niveauX, int niveauO) {
+        Joueur joueurX = moteur(niveauX, 'X');
+        Joueur joueurO = moteur(niveauO, 'O');
+        joueurX.setGraine(graine + 2L * numero);
+        joueurO.setGraine(graine + 2L * numero + 1);
+        List<int[]> ouverture = AutoJeu.ouvertureAleatoire(new Random(graine + numero), coupsOuverture);
+        ResultatPartie resultat = Arbitre.jouerPartie(joueurX, joueurO, limites.get(niveauX), limites.get(niveauO),
+                TAILLE_PLATEAU, ouverture);
+        return new PartieJouee(niveauX, niveauO, ouverture.size(), resultat);
+    }
+
+    private Joueur moteur(int niveau, char symbole) {
+        return moteurs.get().computeIfAbsent(2 * niveau + (symbole == 'X' ? 0 : 1), cle -> {
+            Joueur ia = LancerJeu.creerIA(niveau, symbole);
+            ia.setVerbeux(false);
+            return ia;
+        });
+    }
+
+    /**
+     * Ajoute les latences des coups d'une partie, hors ouverture imposée
+     */
+    private void enregistrer(PartieJouee partie) {
+        if (partie.resultat.getForfait() != null) {
+            forfaits++;
+        }
+        List<ResultatPartie.InfosCoup> infos = partie.resultat.getInfosCoups();
+        for (int k = partie.coupsOuverture; k < infos.size(); k++) {
+            int niveau = k % 2 == 0 ? partie.niveauX : partie.niveauO;
+            LatencesMoteur l = latences.get(niveau);
+            long latence = infos.get(k).getTempsMS();
+            int phase = k < COUPS_MILIEU ? 0 : k < COUPS_FINALE ? 1 : 2;
+            l.phases[phase].enregistrer(latence);
+            l.total.enregistrer(latence);
+            int budget = limites.get(niveau).getTempsMaxMS();
+            if (budget > 0 && latence > budget * MARGE_DEPASSEMENT) {
+                l.depassements++;
+            }
+        }
+    }
+
+    /**
+     * Relève le tas occupé après une collection : la dernière survenue, ou une collection forcée
+     */
+    private void mesurerTas(int partie) {
+        if (intervalleGc > 0) {
+            if (partie % intervalleGc == 0) {
+                System.gc();
+                tas.add(new long[]{partie, ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed()});
+            }
+            return;
+        }
+        long octets = tasApresDerniereCollection();
+        if (octets >= 0) {
+            tas.add(new long[]{partie, octets});
+        }
+    }
+
+    // tas occupé à la fin de la plus récente collection, tous collecteurs confondus, ou -1 s'il n'y en a pas eu
+    private static long tasApresDerniereCollection() {
+        Set<String> poolsTas = new HashSet<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                poolsTas.add(pool.getName());
+            }
+        }
+        long fin = -1;
+        long octets = -1;
+        for (GarbageCollectorMXBean collecteur : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (!(collecteur instanceof com.sun.management.GarbageCollectorMXBean)) continue;
+            com.sun.management.GcInfo info = ((com.sun.management.GarbageCollectorMXBean) collecteur).getLastGcInfo();
+            if (info == null || info.getEndTime() <= fin) continue;
+            fin = info.getEndTime();
+            octets = 0;
+            for (Map.Entry<String, MemoryUsage> e : info.getMemoryUsageAfterGc().entrySet()) {
+                if (poolsTas.contains(e.getKey())) {
+                    octets += e.getValue().getUsed();
+                }
+            }
+        }
+        return octets;
+    }
+
+    /**
+     * Planchers du tas : plus petite mesure de chaque quart du test
+     * @return Les 4 planchers en octets, ou null s'il n'y a pas assez de mesures
+     */
+    private long[] planchersTas() {
+        if (tas.size() < 4) return null;
+        long[] planchers = new long[4];
+        Arrays.fill(planchers, Long.MAX_VALUE);
+        for (int i = 0; i < tas.size(); i++) {
+            int quart = (int) (4L * i / tas.size());
+            planchers[quart] = Math.min(planchers[quart], tas.get(i)[1]);
+        }
+        return planchers;
+    }
+
+    // croissance du plancher entre le 2e et le 4e quart (le 1er quart est la chauffe : JIT, caches qui se remplissent)
+    private static boolean croissanceSuspecte(long[] planchers) {
+        long croissance = planchers[3] - planchers[1];
+        return croissance > CROISSANCE_SUSPECTE_OCTETS && croissance > CROISSANCE_SUSPECTE * planchers[1];
+    }
+
+    private void afficherProgression(int partiesJouees, long dureeMS) {
+        StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%d/%d parties (%.1f parties/s)",
+                partiesJouees, parties, partiesJouees * 1000.0 / Math.max(1, dureeMS)));
+        for (Map.Entry<Integer, LatencesMoteur> e : latences.entrySet()) {
+            HistogrammeLatences h = e.getValue().total;
+            sb.append(String.format(Locale.ROOT, ", %s p99 %d ms", LancerJeu.getNomIA(e.getKey()), h.percentile(99)));
+        }
+        if (!tas.isEmpty()) {
+            sb.append(String.format(Locale.ROOT, ", tas %.1f Mo", tas.get(tas.size() - 1)[1] / 1e6));
+        }
+        System.out.println(sb);
+    }
+
+    private void afficherBilan() {
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-28s %8s %7s %7s %7s %7s %7s %7s", "Latence (ms)",
+                "coups", "moy.", "p50", "p90", "p99", "p99.9", "max"));
+        for (Map.Entry<Integer, LatencesMoteur> e : latences.entrySet()) {
+            String nom = LancerJeu.getNomIA(e.getKey());
+            LatencesMoteur l = e.getValue();
+            for (int p = 0; p < PHASES.length; p++) {
+                System.out.println(ligneLatences(nom + " " + PHASES[p], l.phases[p]));
+            }
+            System.out.println(ligneLatences(nom, l.total));
+            if (l.depassements > 0) {
+                System.out.println(String.format(Locale.ROOT, "%s : %d coups au-delà de leur budget de temps",
+                        nom, l.depassements));
+            }
+        }
+        if (forfaits > 0) {
+            System.out.println(forfaits + " parties perdues par forfait (erreur ou coup illégal)");
+        }
+        long[] planchers = planchersTas();
+        if (planchers != null) {
+            System.out.println(String.format(Locale.ROOT, "Tas après collection, plancher par quart : %.1f / %.1f / %.1f / %.1f Mo",
+                    planchers[0] / 1e6, planchers[1] / 1e6, planchers[2] / 1e6, planchers[3] / 1e6));
+            if (croissanceSuspecte(planchers)) {
+                System.out.println("ATTENTION : le tas grandit d'un quart à l'autre, fuite de mémoire possible");
+            }
+        }
+    }
+
+    private static String ligneLatences(String libelle, HistogrammeLatences h) {
+        return String.format(Locale.ROOT, "%-28s %8d %7.1f %7d %7d %7d %7d %7d", libelle, h.getNombre(), h.getMoyenne(),
+                h.percentile(50), h.percentile(90), h.percentile(99), h.percentile(99.9), h.getMax());
+    }
+
+    /**
+     * Vérifie l'objectif de latence de chaque moteur et affiche les dépassements
+     * @param objectifMS Le p99 maximal, en millisecondes
+     * @return true si tous les moteurs le respectent
+     */
+    public boolean respecteObjectif(long objectifMS) {
+        boolean respecte = true;
+        for (Map.Entry<Integer, LatencesMoteur> e : latences.entrySet()) {
+            long p99 = e.getValue().total.percentile(99);
+            if (p99 > objectifMS) {
+                System.out.println("OBJECTIF DÉPASSÉ : " + LancerJeu.getNomIA(e.getKey()) + " p99 " + p99 + " ms > " + objectifMS + " ms");
+                respecte = false;
+            }
+        }
+        if (respecte) {
+            System.out.println("Objectif respecté : p99 ≤ " + objectifMS + " ms pour tous les moteurs");
+        }
+        return respecte;
+    }
+
+    /**
+     * Écrit le résumé du test en JSON : latences par moteur et par phase, et planchers du tas
+     * @param fichier Le fichier de sortie
+     */
+    public void ecrireResume(Path fichier) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"parties\": ").append(parties).append(",\n");
+        sb.append("  \"forfaits\": ").append(forfaits).append(",\n");
+        sb.append("  \"moteurs\": [\n");
+        int m = 0;
+        for (Map.Entry<Integer, LatencesMoteur> e : latences.entrySet()) {
+            LatencesMoteur l = e.getValue();
+            sb.append("    {\n");
+            sb.append("      \"niveau\": ").append(e.getKey()).append(",\n");
+            sb.append("      \"nom\": \"").append(LancerJeu.getNomIA(e.getKey())).append("\",\n");
+            sb.append("      \"limites\": \"").append(limites.get(e.getKey())).append("\",\n");
+            sb.append("      \"depassements\": ").append(l.depassements).append(",\n");
+            sb.append("      \"latencesMS\": {\n");
+            for (int p = 0; p < PHASES.length; p++) {
+                sb.append("        \"").append(PHASES[p]).append("\": ").append(versJson(l.phases[p])).append(",\n");
+            }
+            sb.append("        \"total\": ").append(versJson(l.total)).append("\n");
+            sb.append("      }\n");
+            sb.append("    }").append(++m < latences.size() ? "," : "").append("\n");
+        }
+        sb.append("  ],\n");
+        long[] planchers = planchersTas();
+        sb.append("  \"tas\": {\n");
+        sb.append("    \"collectionsForcees\": ").append(intervalleGc > 0).append(",\n");
+        sb.append("    \"mesures\": ").append(tas.size()).append(",\n");
+        if (planchers != null) {
+            sb.append("    \"planchersOctets\": [").append(planchers[0]).append(", ").append(planchers[1]).append(", ")
+                    .append(planchers[2]).append(", ").append(planchers[3]).append("],\n");
+            sb.append("    \"croissanceSuspecte\": ").append(croissanceSuspecte(planchers)).append("\n");
+        } else {
+            sb.append("    \"planchersOctets\": [],\n");
+            sb.append("    \"croissanceSuspecte\": false\n");
+        }
+        sb.append("  }\n");
+        sb.append("}\n");
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            ecrivain.write(sb.toString());
+        }
+    }
+
+    private static String versJson(HistogrammeLatences h) {
+        return String.format(Locale.ROOT,
+                "{\"coups\": %d, \"moyenne\": %.2f, \"p50\": %d, \"p90\": %d, \"p99\": %d, \"p999\": %d, \"max\": %d}",
+                h.getNombre(), h.getMoyenne(), h.percentile(50), h.percentile(90), h.percentile(99), h.percentile(99.9), h.getMax());
+    }
+}
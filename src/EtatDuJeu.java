@@ -34,6 +34,20 @@ public class EtatDuJeu {
         }
     }
 
+    /**
+     * Constructeur de copie
+     * @param autre L'état du jeu à copier
+     */
+    public EtatDuJeu(EtatDuJeu autre) {
+        this.taillePlateau = autre.taillePlateau;
+        this.plateau = new char[taillePlateau][];
+        this.joueurActuel = autre.joueurActuel;
+        this.finDuJeu = autre.finDuJeu;
+        for (int i = 0; i < taillePlateau; i++) {
+            this.plateau[i] = autre.plateau[i].clone();
+        }
+    }
+
     /**
      * Obtient le plateau de jeu
      * @return Le plateau de jeu
@@ -82,6 +96,20 @@ public class EtatDuJeu {
         return taillePlateau;
     }
 
+    /**
+     * Échange les pièces 'X' et 'O' ainsi que le joueur au trait.
+     * Permet aux IA écrites pour jouer 'O' de jouer aussi avec 'X'.
+     */
+    public void echangerCouleurs() {
+        for (int i = 0; i < taillePlateau; i++) {
+            for (int j = 0; j < taillePlateau; j++) {
+                if (plateau[i][j] == 'X') plateau[i][j] = 'O';
+                else if (plateau[i][j] == 'O') plateau[i][j] = 'X';
+            }
+        }
+        joueurActuel = joueurActuel == 'X' ? 'O' : 'X';
+    }
+
     public String getJoueurActuelCouleur(char joueur){
         String couleur;
         if (joueurActuel == 'X') {
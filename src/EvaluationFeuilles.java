@@ -0,0 +1,73 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Réglage de l'évaluation des feuilles de MCTS choisi en ligne de commande (Tournoi, AutoJeu).
+ *
+ * Options reconnues :
+ * - --valeur lineaire[,poids] : fonction de valeur linéaire réglée à la main (FonctionValeurLineaire)
+ * - --valeur fichier[,poids] : réseau chargé depuis un fichier de poids (FonctionValeurNeuronale)
+ * - --lot n : nombre de feuilles collectées avant chaque évaluation
+ *
+ * Le poids (0,5 par défaut) est la part de la fonction de valeur face aux simulations, 1 les remplaçant.
+ * La fonction est chargée une seule fois et partagée par tous les moteurs MCTS, y compris entre threads.
+ */
+public class EvaluationFeuilles {
+    private static final double POIDS_DEFAUT = 0.5;
+
+    private FonctionValeur fonctionValeur = null;
+    private double poids = 0;
+    private int lot = 1;
+
+    /**
+     * Lit l'option --valeur
+     * @param valeur "lineaire" ou un fichier de poids, suivi éventuellement de ",poids"
+     * @throws IOException Si le fichier de poids ne peut pas être lu
+     */
+    public void lireValeur(String valeur) throws IOException {
+        int virgule = valeur.lastIndexOf(',');
+        String nom = virgule >= 0 ? valeur.substring(0, virgule).trim() : valeur.trim();
+        poids = virgule >= 0 ? Double.parseDouble(valeur.substring(virgule + 1).trim()) : POIDS_DEFAUT;
+        if (poids < 0 || poids > 1) {
+            throw new IllegalArgumentException("Poids de la fonction de valeur attendu dans [0, 1] : " + valeur);
+        }
+        fonctionValeur = nom.equals("lineaire") ? new FonctionValeurLineaire()
+                : FonctionValeurNeuronale.charger(Paths.get(nom));
+    }
+
+    /**
+     * Lit l'option --lot
+     * @param valeur La taille des lots, au moins 1
+     */
+    public void lireLot(String valeur) {
+        lot = Integer.parseInt(valeur.trim());
+        if (lot < 1) {
+            throw new IllegalArgumentException("Taille de lot attendue supérieure à 0 : " + valeur);
+        }
+    }
+
+    /**
+     * Applique le réglage à un moteur ; les moteurs autres que MCTS ne sont pas concernés
+     * @param joueur Le moteur, avant sa première recherche
+     */
+    public void appliquer(Joueur joueur) {
+        if (joueur instanceof MCTS) {
+            MCTS mcts = (MCTS) joueur;
+            mcts.setFonctionValeur(fonctionValeur, poids);
+            mcts.setBatchSize(lot);
+        }
+    }
+
+    /**
+     * Description du réglage pour l'en-tête des programmes
+     * @return "simulations" sans fonction de valeur, sinon sa nature, son poids et la taille des lots
+     */
+    public String decrire() {
+        if (fonctionValeur == null) {
+            return lot > 1 ? "simulations, lots de " + lot : "simulations";
+        }
+        String nature = fonctionValeur instanceof FonctionValeurLineaire ? "linéaire" : "réseau";
+        return String.format(Locale.ROOT, "valeur %s (poids %.2f), lots de %d", nature, poids, lot);
+    }
+}
@@ -0,0 +1,100 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Événements Java Flight Recorder des moteurs et des tournois.
+ *
+ * Ils permettent de rapprocher les pauses du ramasse-miettes et les échantillons CPU de l'activité
+ * des moteurs, avec les outils standard du JDK :
+ * java -XX:StartFlightRecording=filename=tournoi.jfr,settings=profile -cp bin Tournoi ...
+ * jfr print --events gomoku.IterationAlphaBeta tournoi.jfr
+ *
+ * Les événements ne coûtent rien tant qu'aucun enregistrement ne les active : les appelants ne
+ * remplissent un événement qu'après shouldCommit(), que le compilateur JIT ramène alors à une
+ * constante, et l'événement lui-même est éliminé par l'analyse d'échappement. Les piles d'appels
+ * ne sont pas enregistrées.
+ */
+public class EvenementsRecherche {
+
+    /**
+     * Une itération de l'approfondissement itératif d'Alpha-Beta
+     */
+    @Name("gomoku.IterationAlphaBeta")
+    @Label("Itération Alpha-Beta")
+    @Category({"Gomoku", "Recherche"})
+    @Description("Une profondeur de l'approfondissement itératif de MinMaxAlphaBeta")
+    @StackTrace(false)
+    public static class IterationAlphaBeta extends Event {
+        @Label("Moteur")
+        String moteur;
+
+        @Label("Profondeur")
+        int profondeur;
+
+        @Label("Score")
+        int score;
+
+        @Label("Nœuds")
+        long noeuds;
+
+        @Label("Interrompue")
+        @Description("L'itération a été coupée par le temps, le budget de nœuds ou une demande d'arrêt")
+        boolean interrompue;
+    }
+
+    /**
+     * Un lot de simulations MCTS (sélection, évaluation et rétropropagation)
+     */
+    @Name("gomoku.LotMCTS")
+    @Label("Lot de simulations MCTS")
+    @Category({"Gomoku", "Recherche"})
+    @Description("Un lot de descentes et de simulations de MCTS")
+    @StackTrace(false)
+    public static class LotMCTS extends Event {
+        @Label("Moteur")
+        String moteur;
+
+        @Label("Taille du lot")
+        int taille;
+
+        @Label("Simulations")
+        @Description("Simulations de la recherche depuis son début, lot compris")
+        long simulations;
+
+        @Label("Coups simulés")
+        long coupsSimules;
+    }
+
+    /**
+     * Une partie de tournoi, du premier coup au résultat
+     */
+    @Name("gomoku.PartieTournoi")
+    @Label("Partie de tournoi")
+    @Category({"Gomoku", "Tournoi"})
+    @Description("Une partie jouée par Tournoi ; le début et la fin de l'événement sont ceux de la partie")
+    @StackTrace(false)
+    public static class PartieTournoi extends Event {
+        @Label("Numéro")
+        int numero;
+
+        @Label("Joueur X")
+        String joueurX;
+
+        @Label("Joueur O")
+        String joueurO;
+
+        @Label("Résultat")
+        @Description("1-0, 0-1, ½-½, ou forfait")
+        String resultat;
+
+        @Label("Coups")
+        int coups;
+
+        @Label("Nœuds")
+        long noeuds;
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Fonction de valeur évaluant des positions de Gomoku par lots.
+ *
+ * Elle est utilisée par MCTS pour remplacer ou compléter les simulations :
+ * - Un seul appel évalue toutes les feuilles collectées par plusieurs descentes
+ * - Le coût fixe de l'évaluateur est ainsi amorti sur le lot
+ * - Les implémentations peuvent parcourir le lot avec des boucles simples et vectorisables
+ *
+ * Les positions ne doivent pas être modifiées par l'évaluation.
+ * Une même instance peut être partagée par plusieurs recherches simultanées.
+ */
+public interface FonctionValeur {
+
+    /**
+     * Évalue un lot de positions en un seul appel
+     * @param positions Positions à évaluer ; seules les premières (nombre) sont valides
+     * @param nombre Nombre de positions du lot
+     * @param valeurs Tableau rempli avec, pour chaque position, l'espérance de gain du joueur au trait dans [0, 1]
+     */
+    void evaluer(EtatDuJeu[] positions, int nombre, double[] valeurs);
+}
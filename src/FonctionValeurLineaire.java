@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+/**
+ * Fonction de valeur linéaire réglée à la main pour le jeu de Gomoku.
+ *
+ * Les caractéristiques sont les fenêtres de 5 cases dans les quatre directions :
+ * - Une fenêtre ne contenant que des pièces du joueur au trait compte selon son nombre de pièces (1 à 4)
+ * - Une fenêtre ne contenant que des pièces de l'adversaire compte de la même façon
+ * - Les fenêtres mixtes ou vides ne comptent pas
+ *
+ * Le score linéaire est transformé en espérance de gain par une sigmoïde.
+ */
+public class FonctionValeurLineaire implements FonctionValeur {
+    // Poids par nombre de pièces dans une fenêtre (index 0 inutilisé)
+    private static final double[] POIDS_JOUEUR_DEFAUT = {0, 1, 8, 60, 2000};
+    private static final double[] POIDS_ADVERSAIRE_DEFAUT = {0, -1, -10, -80, -1200};
+    private static final double ECHELLE_DEFAUT = 150;
+
+    private final double[] poidsJoueur;
+    private final double[] poidsAdversaire;
+    private final double echelle;
+
+    /**
+     * Constructeur avec les poids réglés à la main
+     */
+    public FonctionValeurLineaire() {
+        this(POIDS_JOUEUR_DEFAUT, POIDS_ADVERSAIRE_DEFAUT, ECHELLE_DEFAUT);
+    }
+
+    /**
+     * Constructeur avec des poids fournis
+     * @param poidsJoueur Poids des fenêtres du joueur au trait, indexés par nombre de pièces (taille 5)
+     * @param poidsAdversaire Poids des fenêtres de l'adversaire, indexés par nombre de pièces (taille 5)
+     * @param echelle Échelle de la sigmoïde appliquée au score linéaire
+     */
+    public FonctionValeurLineaire(double[] poidsJoueur, double[] poidsAdversaire, double echelle) {
+        this.poidsJoueur = poidsJoueur.clone();
+        this.poidsAdversaire = poidsAdversaire.clone();
+        this.echelle = echelle;
+    }
+
+    @Override
+    public void evaluer(EtatDuJeu[] positions, int nombre, double[] valeurs) {
+        int[] compteJoueur = new int[5];
+        int[] compteAdversaire = new int[5];
+        for (int p = 0; p < nombre; p++) {
+            Arrays.fill(compteJoueur, 0);
+            Arrays.fill(compteAdversaire, 0);
+            compterFenetres(positions[p], compteJoueur, compteAdversaire);
+
+            double score = 0;
+            for (int k = 1; k <= 4; k++) {
+                score += poidsJoueur[k] * compteJoueur[k] + poidsAdversaire[k] * compteAdversaire[k];
+            }
+            valeurs[p] = 1.0 / (1.0 + Math.exp(-score / echelle));
+        }
+    }
+
+    /**
+     * Compte les fenêtres de 5 cases non mixtes selon leur nombre de pièces
+     * @param etat La position
+     * @param compteJoueur Comptes des fenêtres du joueur au trait
+     * @param compteAdversaire Comptes des fenêtres de l'adversaire
+     */
+    static void compterFenetres(EtatDuJeu etat, int[] compteJoueur, int[] compteAdversaire) {
+        char[][] plateau = etat.getPlateau();
+        int taille = etat.getTaillePlateau();
+        char joueur = etat.getJoueurActuel();
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+        for (int[] dir : directions) {
+            for (int i = 0; i < taille; i++) {
+                for (int j = 0; j < taille; j++) {
+                    int finLigne = i + 4 * dir[0];
+                    int finColonne = j + 4 * dir[1];
+                    if (finLigne >= taille || finColonne < 0 || finColonne >= taille) continue;
+
+                    int nbJoueur = 0, nbAdversaire = 0;
+                    for (int k = 0; k < 5; k++) {
+                        char c = plateau[i + k * dir[0]][j + k * dir[1]];
+                        if (c == joueur) nbJoueur++;
+                        else if (c != '.') nbAdversaire++;
+                    }
+                    if (nbAdversaire == 0 && nbJoueur > 0) {
+                        compteJoueur[Math.min(nbJoueur, 4)]++;
+                    } else if (nbJoueur == 0 && nbAdversaire > 0) {
+                        compteAdversaire[Math.min(nbAdversaire, 4)]++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Petit réseau de neurones en Java pur utilisé comme fonction de valeur, exécuté sur le CPU.
+ *
+ * Architecture :
+ * - Entrée : deux plans taille x taille (pièces du joueur au trait, pièces de l'adversaire)
+ * - Une couche cachée avec activation ReLU
+ * - Une sortie unique avec activation sigmoïde (espérance de gain du joueur au trait)
+ *
+ * L'entrée étant creuse, la couche cachée est calculée en ajoutant, pour chaque pièce posée,
+ * la ligne de poids contiguë qui lui correspond : la boucle interne est simple et vectorisable.
+ *
+ * Format du fichier de poids (big-endian, via DataInputStream) :
+ * taille (int), nombre de neurones cachés (int), poids d'entrée [2 * taille * taille][caches] (float),
+ * biais cachés [caches] (float), poids de sortie [caches] (float), biais de sortie (float).
+ */
+public class FonctionValeurNeuronale implements FonctionValeur {
+    private final int taille;
+    private final int caches;
+    private final float[] poidsEntree; // [entree * caches + h]
+    private final float[] biaisCaches;
+    private final float[] poidsSortie;
+    private final float biaisSortie;
+
+    /**
+     * Constructeur avec des poids fournis
+     * @param taille Taille du plateau
+     * @param caches Nombre de neurones cachés
+     * @param poidsEntree Poids d'entrée, une ligne de caches valeurs par entrée
+     * @param biaisCaches Biais de la couche cachée
+     * @param poidsSortie Poids de la sortie
+     * @param biaisSortie Biais de la sortie
+     */
+    public FonctionValeurNeuronale(int taille, int caches, float[] poidsEntree, float[] biaisCaches,
+                               float[] poidsSortie, float biaisSortie) {
+        if (poidsEntree.length != 2 * taille * taille * caches || biaisCaches.length != caches
+                || poidsSortie.length != caches) {
+            throw new IllegalArgumentException("Dimensions du réseau incohérentes");
+        }
+        this.taille = taille;
+        this.caches = caches;
+        this.poidsEntree = poidsEntree;
+        this.biaisCaches = biaisCaches;
+        this.poidsSortie = poidsSortie;
+        this.biaisSortie = biaisSortie;
+    }
+
+    /**
+     * Charge un réseau depuis un fichier de poids
+     * @param fichier Chemin du fichier
+     * @return Le réseau chargé
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static FonctionValeurNeuronale charger(Path fichier) throws IOException {
+        try (InputStream in = Files.newInputStream(fichier);
+             DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            int taille = data.readInt();
+            int caches = data.readInt();
+            float[] poidsEntree = lireFloats(data, 2 * taille * taille * caches);
+            float[] biaisCaches = lireFloats(data, caches);
+            float[] poidsSortie = lireFloats(data, caches);
+            float biaisSortie = data.readFloat();
+            return new FonctionValeurNeuronale(taille, caches, poidsEntree, biaisCaches, poidsSortie, biaisSortie);
+        }
+    }
+
+    /**
+     * Écrit le réseau dans un fichier de poids, au format lu par charger
+     * @param fichier Chemin du fichier
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void ecrire(Path fichier) throws IOException {
+        try (OutputStream out = Files.newOutputStream(fichier);
+             DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out))) {
+            data.writeInt(taille);
+            data.writeInt(caches);
+            ecrireFloats(data, poidsEntree);
+            ecrireFloats(data, biaisCaches);
+            ecrireFloats(data, poidsSortie);
+            data.writeFloat(biaisSortie);
+        }
+    }
+
+    private static void ecrireFloats(DataOutputStream data, float[] valeurs) throws IOException {
+        for (float valeur : valeurs) {
+            data.writeFloat(valeur);
+        }
+    }
+
+    private static float[] lireFloats(DataInputStream data, int n) throws IOException {
+        float[] valeurs = new float[n];
+        for (int i = 0; i < n; i++) {
+            valeurs[i] = data.readFloat();
+        }
+        return valeurs;
+    }
+
+    @Override
+    public void evaluer(EtatDuJeu[] positions, int nombre, double[] valeurs) {
+        float[] activations = new float[caches];
+        int plan = taille * taille;
+        for (int p = 0; p < nombre; p++) {
+            EtatDuJeu etat = positions[p];
+            if (etat.getTaillePlateau() != taille) {
+                throw new IllegalArgumentException("Taille de plateau non supportée : " + etat.getTaillePlateau());
+            }
+            char[][] plateau = etat.getPlateau();
+            char joueur = etat.getJoueurActuel();
+
+            System.arraycopy(biaisCaches, 0, activations, 0, caches);
+            for (int i = 0; i < taille; i++) {
+                for (int j = 0; j < taille; j++) {
+                    char c = plateau[i][j];
+                    if (c == '.') continue;
+                    int entree = (c == joueur ? 0 : plan) + i * taille + j;
+                    int base = entree * caches;
+                    for (int h = 0; h < caches; h++) {
+                        activations[h] += poidsEntree[base + h];
+                    }
+                }
+            }
+
+            float sortie = biaisSortie;
+            for (int h = 0; h < caches; h++) {
+                sortie += Math.max(0f, activations[h]) * poidsSortie[h];
+            }
+            valeurs[p] = 1.0 / (1.0 + Math.exp(-sortie));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Point d'entrée en ligne de commande du moteur, sans interface graphique.
+ *
+ * Le moteur (état du jeu, règles, IA et outils) ne dépend pas de JavaFX : il démarre en quelques
+ * millisecondes et peut être embarqué dans d'autres services Java via l'interface de Joueur.
+ * L'interface graphique (GomokuApp) est un module à part.
+ *
+ * Commandes :
+ * - coup : calcule le coup d'une IA pour une position donnée par la liste des coups joués
+ * - piskvork : protocole des gestionnaires de parties Gomocup (voir ProtocolePiskvork)
+ * - serveur : nombreuses parties simultanées sur une socket locale (voir ServeurMoteur)
+ * - tournoi, autojeu, banc, tactique, endurance, livre, parties, reglage : outils du moteur (voir Tournoi,
+ *   AutoJeu, BancPerformance, SuiteTactique, EnduranceLatences, LivreOuvertures, OutilParties, ReglageTexel)
+ *
+ * Exemple :
+ * java -jar gomoku-moteur.jar coup --niveau 3 --temps 1000 h8 h9 i9
+ * java -jar gomoku-moteur.jar tournoi --niveaux 3,4 --parties 100 --threads 4
+ */
+public class Gomoku {
+    private static final int TAILLE_PLATEAU = 15;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            afficherAide();
+            return;
+        }
+        String[] suite = Arrays.copyOfRange(args, 1, args.length);
+        switch (args[0]) {
+            case "coup": coup(suite); break;
+            case "piskvork": ProtocolePiskvork.main(suite); break;
+            case "serveur": ServeurMoteur.main(suite); break;
+            case "tournoi": Tournoi.main(suite); break;
+            case "autojeu": AutoJeu.main(suite); break;
+            case "banc": BancPerformance.main(suite); break;
+            case "tactique": SuiteTactique.main(suite); break;
+            case "endurance": EnduranceLatences.main(suite); break;
+            case "livre": LivreOuvertures.main(suite); break;
+            case "parties": OutilParties.main(suite); break;
+            case "reglage": ReglageTexel.main(suite); break;
+            case "aide": afficherAide(); break;
+            default: throw new IllegalArgumentException("Commande inconnue : " + args[0]);
+        }
+    }
+
+    private static void afficherAide() {
+        System.out.println("Usage : Gomoku commande [options]");
+        System.out.println("  coup --niveau n [--temps ms] [--profondeur p] [--noeuds n] [--graine g] [--taille t] [--verbeux] coups...");
+        System.out.println("      calcule le coup de l'IA au trait après les coups donnés (notation h8, X commence)");
+        System.out.println("  piskvork  protocole Piskvork/Gomocup sur l'entrée et la sortie standard (voir ProtocolePiskvork)");
+        System.out.println("  serveur   serveur multi-parties sur socket TCP ou Unix (voir ServeurMoteur)");
+        System.out.println("  tournoi   tournoi entre niveaux d'IA (voir Tournoi)");
+        System.out.println("  autojeu   génération de données par auto-jeu (voir AutoJeu)");
+        System.out.println("  banc      mesures de performance (voir BancPerformance)");
+        System.out.println("  tactique  suite de problèmes tactiques et comparaison à une référence (voir SuiteTactique)");
+        System.out.println("  endurance latence de chaque coup sur des milliers de parties (voir EnduranceLatences)");
+        System.out.println("  livre     construction d'un livre d'ouvertures (voir LivreOuvertures)");
+        System.out.println("  parties   conversion et résumé des fichiers de parties (voir OutilParties)");
+        System.out.println("  reglage   réglage des poids d'évaluation (voir ReglageTexel)");
+    }
+
+    /**
+     * Calcule et affiche le coup d'une IA pour une position
+     * @param args --niveau n --temps ms --profondeur p --noeuds n --graine g --taille t --verbeux, puis les coups joués
+     */
+    private static void coup(String[] args) throws InterruptedException, ExecutionException {
+        int niveau = 3;
+        int temps = 0;
+        int profondeur = 0;
+        long noeuds = 0;
+        Long graine = null;
+        int taille = TAILLE_PLATEAU;
+        boolean verbeux = false;
+        int premierCoup = args.length;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (!option.startsWith("--")) {
+                premierCoup = i;
+                break;
+            }
+            if (option.equals("--verbeux")) {
+                verbeux = true;
+                continue;
+            }
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--niveau": niveau = Integer.parseInt(valeur); break;
+                case "--temps": temps = Integer.parseInt(valeur); break;
+                case "--profondeur": profondeur = Integer.parseInt(valeur); break;
+                case "--noeuds": noeuds = Long.parseLong(valeur); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--taille": taille = Integer.parseInt(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        etat.setJoueurActuel('X');
+        for (int i = premierCoup; i < args.length; i++) {
+            int[] c = PartieEnregistree.lireNotation(args[i], taille);
+            if (etat.estFinDuJeu() || etat.getPlateau()[c[0]][c[1]] != '.') {
+                throw new IllegalArgumentException("Coup impossible : " + args[i]);
+            }
+            LancerJeu.jouerCoup(etat, c[0], c[1]);
+        }
+        if (etat.estFinDuJeu()) {
+            System.out.println("Partie terminée");
+            return;
+        }
+
+        LimitesRecherche defaut = LancerJeu.limitesParDefaut(niveau);
+        LimitesRecherche limites = new LimitesRecherche(
+                temps > 0 ? temps : noeuds > 0 ? 0 : defaut.getTempsMaxMS(0),
+                profondeur > 0 ? profondeur : defaut.getProfondeur(0), noeuds);
+        Joueur ia = LancerJeu.creerIA(niveau, etat.getJoueurActuel());
+        ia.setVerbeux(verbeux);
+        if (graine != null) {
+            ia.setGraine(graine);
+        }
+        ia.nouvellePartie(taille);
+        int[] c = ia.choisirCoup(etat, limites).get();
+        if (verbeux && ia.getStatistiques() != null) {
+            System.out.println(ia.getStatistiques());
+        }
+        System.out.println(PartieEnregistree.notation(c[0], c[1]));
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Hachages de Zobrist d'une position sous ses 8 symétries, mis à jour à chaque coup.
+ *
+ * Le hachage sous la symétrie s est celui du plateau transformé par s (voir Symetries).
+ * La clé canonique est le plus petit des 8 hachages : des positions qui se déduisent l'une
+ * de l'autre par rotation ou réflexion ont la même clé, et la symétrie qui donne ce minimum
+ * permet de ramener les coups dans le repère canonique et inversement.
+ *
+ * Les clés des pièces transformées sont précalculées par taille de plateau, si bien qu'un coup
+ * coûte 8 XOR. Le joueur au trait n'est pas pris en compte (voir HachageZobrist.trait).
+ */
+public class HachageSymetries {
+    private static final long[][][][] CLES = new long[HachageZobrist.MAX_TAILLE + 1][][][];
+
+    private final int taille;
+    private final long[][][] cles;
+    private final long[] h = new long[Symetries.NB];
+
+    /**
+     * Constructeur pour un plateau vide
+     * @param taille La taille du plateau
+     */
+    public HachageSymetries(int taille) {
+        this.taille = taille;
+        this.cles = cles(taille);
+    }
+
+    /**
+     * Constructeur à partir d'une position
+     * @param etat L'état du jeu
+     */
+    public HachageSymetries(EtatDuJeu etat) {
+        this(etat.getTaillePlateau());
+        char[][] plateau = etat.getPlateau();
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                if (plateau[i][j] != '.') {
+                    basculer(i, j, plateau[i][j]);
+                }
+            }
+        }
+    }
+
+    // cles[0 pour 'X', 1 pour 'O'][s][case] : clé de la pièce posée sur la case, transformée par s
+    private static synchronized long[][][] cles(int taille) {
+        long[][][] cles = CLES[taille];
+        if (cles == null) {
+            cles = new long[2][Symetries.NB][taille * taille];
+            for (int s = 0; s < Symetries.NB; s++) {
+                for (int c = 0; c < taille * taille; c++) {
+                    int t = Symetries.transformerCase(s, c, taille);
+                    cles[0][s][c] = HachageZobrist.piece(t / taille, t % taille, 'X');
+                    cles[1][s][c] = HachageZobrist.piece(t / taille, t % taille, 'O');
+                }
+            }
+            CLES[taille] = cles;
+        }
+        return cles;
+    }
+
+    /**
+     * Pose ou retire une pièce (l'opération est sa propre inverse)
+     * @param ligne La ligne de la case
+     * @param colonne La colonne de la case
+     * @param symbole Le symbole de la pièce ('X' ou 'O')
+     */
+    public void basculer(int ligne, int colonne, char symbole) {
+        long[][] clesSymbole = cles[symbole == 'X' ? 0 : 1];
+        int c = ligne * taille + colonne;
+        for (int s = 0; s < Symetries.NB; s++) {
+            h[s] ^= clesSymbole[s][c];
+        }
+    }
+
+    /**
+     * Hachage du plateau transformé par une symétrie
+     * @param s La symétrie (0 à 7)
+     */
+    public long get(int s) {
+        return h[s];
+    }
+
+    /**
+     * Clé canonique : le plus petit des 8 hachages
+     */
+    public long cle() {
+        return h[symetrie()];
+    }
+
+    /**
+     * Symétrie qui amène la position dans le repère canonique (la première en cas d'égalité)
+     */
+    public int symetrie() {
+        int meilleure = 0;
+        for (int s = 1; s < Symetries.NB; s++) {
+            if (h[s] < h[meilleure]) meilleure = s;
+        }
+        return meilleure;
+    }
+
+    /**
+     * Ramène une case de la position dans le repère canonique
+     * @param c L'index de la case (ligne * taille + colonne)
+     * @return L'index de la case dans le repère canonique
+     */
+    public int versCanonique(int c) {
+        return Symetries.transformerCase(symetrie(), c, taille);
+    }
+
+    /**
+     * Ramène une case du repère canonique dans celui de la position
+     * @param c L'index de la case dans le repère canonique
+     * @return L'index de la case dans la position
+     */
+    public int depuisCanonique(int c) {
+        return Symetries.transformerCase(Symetries.inverse(symetrie()), c, taille);
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.Random;
+
+/**
+ * Hachage de Zobrist des positions de Gomoku.
+ *
+ * Chaque case et chaque symbole possède une clé aléatoire de 64 bits ; le hachage d'une position
+ * est le XOR des clés des pièces posées, plus une clé pour le joueur 'O' au trait.
+ * Il se met donc à jour en O(1) à chaque coup.
+ *
+ * Les clés sont générées avec une graine fixe pour que le même plateau ait le même hachage
+ * d'une exécution à l'autre. Les plateaux jusqu'à 20x20 (taille maximale de Gomocup) sont supportés.
+ */
+public class HachageZobrist {
+    static final int MAX_TAILLE = 20;
+    private static final long[] CLES_X = new long[MAX_TAILLE * MAX_TAILLE];
+    private static final long[] CLES_O = new long[MAX_TAILLE * MAX_TAILLE];
+    private static final long CLE_TRAIT_O;
+
+    static {
+        Random random = new Random(0x60E0C0L);
+        for (int i = 0; i < CLES_X.length; i++) {
+            CLES_X[i] = random.nextLong();
+            CLES_O[i] = random.nextLong();
+        }
+        CLE_TRAIT_O = random.nextLong();
+    }
+
+    /**
+     * Calcule le hachage complet d'une position
+     * @param etat L'état du jeu
+     * @return Le hachage de Zobrist de la position, joueur au trait compris
+     */
+    public static long hachage(EtatDuJeu etat) {
+        char[][] plateau = etat.getPlateau();
+        int taille = etat.getTaillePlateau();
+        long h = 0;
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                if (plateau[i][j] != '.') {
+                    h ^= piece(i, j, plateau[i][j]);
+                }
+            }
+        }
+        if (etat.getJoueurActuel() == 'O') {
+            h ^= CLE_TRAIT_O;
+        }
+        return h;
+    }
+
+    /**
+     * Obtient la clé d'une pièce sur une case
+     * @param ligne La ligne de la case
+     * @param colonne La colonne de la case
+     * @param symbole Le symbole de la pièce ('X' ou 'O')
+     * @return La clé à combiner par XOR avec le hachage
+     */
+    public static long piece(int ligne, int colonne, char symbole) {
+        int index = ligne * MAX_TAILLE + colonne;
+        return symbole == 'X' ? CLES_X[index] : CLES_O[index];
+    }
+
+    /**
+     * Obtient la clé du changement de joueur au trait
+     * @return La clé à combiner par XOR avec le hachage après chaque coup
+     */
+    public static long trait() {
+        return CLE_TRAIT_O;
+    }
+
+    /**
+     * Calcule le hachage de la position obtenue après un coup
+     * @param hachage Le hachage de la position avant le coup
+     * @param ligne La ligne du coup
+     * @param colonne La colonne du coup
+     * @param symbole Le symbole du joueur qui joue
+     * @return Le hachage de la nouvelle position
+     */
+    public static long jouer(long hachage, int ligne, int colonne, char symbole) {
+        return hachage ^ piece(ligne, colonne, symbole) ^ CLE_TRAIT_O;
+    }
+
+    /**
+     * Calcule le hachage canonique d'une position : le plus petit hachage parmi ses 8 symétries
+     * (rotations et réflexions du plateau), pour que des positions équivalentes aient la même clé
+     * @param etat L'état du jeu
+     * @return Le hachage canonique, joueur au trait compris
+     */
+    public static long hachageCanonique(EtatDuJeu etat) {
+        long min = new HachageSymetries(etat).cle();
+        return etat.getJoueurActuel() == 'O' ? min ^ CLE_TRAIT_O : min;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Histogramme de latences à précision relative constante, sur le modèle de HdrHistogram.
+ *
+ * Les valeurs (entiers positifs, dans l'unité choisie par l'appelant) sont comptées dans des
+ * intervalles log-linéaires : exacts jusqu'à 2 × 128, puis 128 intervalles par puissance de 2,
+ * soit une erreur relative inférieure à 0,8 %. La mémoire est fixe (quelques milliers de compteurs)
+ * quel que soit le nombre de valeurs, ce qui permet d'enregistrer chaque coup d'un test de plusieurs
+ * heures et d'en tirer des percentiles extrêmes (p99,9) fiables.
+ *
+ * L'histogramme n'est pas synchronisé : un seul thread enregistre, ou chaque thread remplit le
+ * sien et les histogrammes sont additionnés (voir ajouter).
+ */
+public class HistogrammeLatences {
+    private static final int BITS_SOUS_INTERVALLES = 7;
+    private static final int SOUS_INTERVALLES = 1 << BITS_SOUS_INTERVALLES;
+
+    private final long valeurMax;
+    private final long[] compteurs;
+    private long nombre;
+    private long somme;
+    private long max;
+
+    /**
+     * Constructeur de l'histogramme
+     * @param valeurMax La plus grande valeur distinguée ; les valeurs supérieures sont comptées avec elle
+     *                  (le maximum exact reste connu)
+     */
+    public HistogrammeLatences(long valeurMax) {
+        this.valeurMax = Math.max(2 * SOUS_INTERVALLES, valeurMax);
+        this.compteurs = new long[index(this.valeurMax) + 1];
+    }
+
+    // intervalle d'une valeur : linéaire en dessous de 2 × SOUS_INTERVALLES, puis SOUS_INTERVALLES par puissance de 2
+    private static int index(long valeur) {
+        if (valeur < 2 * SOUS_INTERVALLES) {
+            return (int) valeur;
+        }
+        int decalage = 63 - Long.numberOfLeadingZeros(valeur) - BITS_SOUS_INTERVALLES;
+        return SOUS_INTERVALLES * decalage + (int) (valeur >>> decalage);
+    }
+
+    // plus grande valeur d'un intervalle
+    private static long borneSuperieure(int index) {
+        if (index < 2 * SOUS_INTERVALLES) {
+            return index;
+        }
+        int decalage = index / SOUS_INTERVALLES - 1;
+        long mantisse = index - (long) SOUS_INTERVALLES * decalage;
+        return ((mantisse + 1) << decalage) - 1;
+    }
+
+    /**
+     * Enregistre une valeur
+     * @param valeur La valeur (les valeurs négatives comptent pour 0)
+     */
+    public void enregistrer(long valeur) {
+        valeur = Math.max(0, valeur);
+        compteurs[index(Math.min(valeur, valeurMax))]++;
+        nombre++;
+        somme += valeur;
+        max = Math.max(max, valeur);
+    }
+
+    /**
+     * Ajoute les valeurs d'un autre histogramme de même valeur maximale
+     * @param autre L'histogramme à ajouter
+     */
+    public void ajouter(HistogrammeLatences autre) {
+        if (autre.compteurs.length != compteurs.length) {
+            throw new IllegalArgumentException("Histogrammes de bornes différentes");
+        }
+        for (int i = 0; i < compteurs.length; i++) {
+            compteurs[i] += autre.compteurs[i];
+        }
+        nombre += autre.nombre;
+        somme += autre.somme;
+        max = Math.max(max, autre.max);
+    }
+
+    public long getNombre() {
+        return nombre;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public double getMoyenne() {
+        return nombre > 0 ? (double) somme / nombre : 0;
+    }
+
+    /**
+     * Percentile des valeurs enregistrées, à la précision de l'histogramme
+     * @param p Le percentile, de 0 à 100 (par exemple 99.9)
+     * @return La plus grande valeur de l'intervalle qui contient le percentile (au plus le maximum), ou 0 sans valeur
+     */
+    public long percentile(double p) {
+        if (nombre == 0) return 0;
+        long rang = Math.max(1, (long) Math.ceil(p / 100 * nombre));
+        long cumul = 0;
+        for (int i = 0; i < compteurs.length; i++) {
+            cumul += compteurs[i];
+            if (cumul >= rang) {
+                // le dernier intervalle compte aussi les valeurs au-delà de valeurMax
+                return i == compteurs.length - 1 ? max : Math.min(borneSuperieure(i), max);
+            }
+        }
+        return max;
+    }
+}
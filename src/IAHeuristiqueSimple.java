@@ -1,7 +1,6 @@
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Implémentation d'une IA basée sur des heuristiques simples pour le jeu de Gomoku.
@@ -31,6 +30,24 @@ public class IAHeuristiqueSimple extends Joueur {
         super(nom, symbole);
     }
 
+    /**
+     * Calcule un coup ; cette IA est instantanée et ignore les limites
+     * @param etat Copie de l'état du jeu
+     * @param limites Limites de la recherche
+     * @return Tableau contenant [ligne,colonne] du meilleur coup
+     */
+    @Override
+    protected int[] calculerCoup(EtatDuJeu etat, LimitesRecherche limites) {
+        // cette IA évalue le plateau du point de vue de 'O' : inverser les couleurs quand elle joue 'X'
+        if (etat.getJoueurActuel() == 'X') {
+            etat.echangerCouleurs();
+        }
+        long debut = System.currentTimeMillis();
+        int[] coup = trouverMeilleurCoup(etat);
+        setStatistiques(new StatistiquesRecherche(getNom(), System.currentTimeMillis() - debut, 0));
+        return coup;
+    }
+
     /**
      * Trouve le meilleur coup à jouer pour l'IA en utilisant une approche heuristique simple
      * @param etat L'état actuel du jeu
@@ -49,7 +66,7 @@ public class IAHeuristiqueSimple extends Joueur {
                 if (plateau[i][j] == '.') {
                     int score = evaluerPosition(etat, i, j);
                     // Facteur aléatoire pour départager
-                    score += new Random().nextInt(20);
+                    score += getAleatoire().nextInt(20);
                     if (score > meilleurScore) {
                         meilleurScore = score;
                         meilleureLigne = i;
@@ -1,4 +1,12 @@
 
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Classe abstraite définissant le comportement d'un joueur dans le jeu de Gomoku.
  * 
@@ -6,6 +14,10 @@
  * - Les attributs communs à tous les joueurs (nom, symbole, score)
  * - Les méthodes abstraites que chaque joueur doit implémenter
  * - Les méthodes de base pour gérer les informations du joueur
+ * - L'interface de moteur : choix asynchrone d'un coup, annulation et cycle de vie d'une partie
+ * 
+ * Une instance de moteur vit pendant toute la partie, ce qui permet de conserver
+ * ses caches, arbres et tables d'un coup à l'autre.
  * 
  * Elle est étendue par :
  * - Les joueurs humains (via l'interface graphique)
@@ -13,6 +25,13 @@
  * - Les joueurs de test
  */
 public abstract class Joueur {
+    // Exécuteur par défaut des recherches, avec des threads démons pour ne pas bloquer l'arrêt de la JVM
+    private static final ExecutorService EXECUTEUR_PAR_DEFAUT = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "moteur-gomoku");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     // Nom du joueur
     private String nom;
 
@@ -22,6 +41,30 @@ public abstract class Joueur {
     // Score du joueur
     private int score;
 
+    // Demandes d'arrêt : chaque appel à choisirCoup a la sienne, installée par la recherche quand elle démarre,
+    // si bien qu'une recherche en file n'efface pas l'arrêt demandé à celle qui la précède
+    private volatile AtomicBoolean arretEnCours = null;
+    private volatile AtomicBoolean arretDernier = null;
+
+    // Nombre de nœuds (ou simulations) de la recherche en cours, publié régulièrement par le moteur
+    private volatile long noeudsRecherche = 0;
+
+    // Score du coup choisi par la dernière recherche, du point de vue du joueur qui le joue (unité propre au moteur)
+    private volatile double scoreRecherche = Double.NaN;
+
+    // Statistiques de la dernière recherche terminée, ou null
+    private volatile StatistiquesRecherche statistiques = null;
+
+    // Mesure de la mémoire et du ramasse-miettes de la recherche en cours, lue et écrite par le seul thread qui cherche
+    private MesureMemoire mesureMemoire = null;
+
+    // Affichage des messages de recherche sur la sortie standard
+    private boolean verbeux = true;
+
+    // Graine et générateur des tirages aléatoires du moteur (premier coup, départage, simulations)
+    private long graine = ThreadLocalRandom.current().nextLong();
+    private Random aleatoire = new Random(graine);
+
     /**
      * Constructeur de la classe Joueur
      * @param nom Le nom du joueur
@@ -54,4 +97,194 @@ public abstract class Joueur {
     public void setScore(int score) {
         this.score = score;
     }
+
+    public void setVerbeux(boolean verbeux) {
+        this.verbeux = verbeux;
+    }
+
+    /**
+     * Affiche un message de recherche, sauf si le joueur est silencieux (tournois, traitements en lot)
+     * @param message Le message à afficher
+     */
+    protected void journal(String message) {
+        if (verbeux) {
+            System.out.println(message);
+        }
+    }
+
+    // --------------------- Interface de moteur ---------------------
+
+    /**
+     * Calcule un coup de façon synchrone ; implémentée par chaque IA
+     * @param etat Copie de l'état du jeu, que le moteur peut modifier
+     * @param limites Limites de la recherche
+     * @return Tableau contenant [ligne,colonne] du coup choisi
+     */
+    protected abstract int[] calculerCoup(EtatDuJeu etat, LimitesRecherche limites);
+
+    /**
+     * Choisit un coup de façon asynchrone sur l'exécuteur par défaut
+     * @param etat État actuel du jeu (copié, il n'est pas modifié)
+     * @param limites Limites de la recherche
+     * @return Le coup [ligne,colonne], disponible à la fin de la recherche
+     */
+    public CompletableFuture<int[]> choisirCoup(EtatDuJeu etat, LimitesRecherche limites) {
+        return choisirCoup(etat, limites, EXECUTEUR_PAR_DEFAUT);
+    }
+
+    /**
+     * Choisit un coup de façon asynchrone sur l'exécuteur fourni
+     * 
+     * Annuler le résultat demande l'arrêt de cette recherche, ou l'empêche de démarrer si elle attend encore.
+     * @param etat État actuel du jeu (copié, il n'est pas modifié)
+     * @param limites Limites de la recherche
+     * @param executeur Exécuteur sur lequel lancer la recherche
+     * @return Le coup [ligne,colonne], disponible à la fin de la recherche
+     */
+    public CompletableFuture<int[]> choisirCoup(EtatDuJeu etat, LimitesRecherche limites, Executor executeur) {
+        EtatDuJeu copie = new EtatDuJeu(etat);
+        AtomicBoolean arret = new AtomicBoolean(false);
+        arretDernier = arret;
+        CompletableFuture<int[]> resultat = CompletableFuture.supplyAsync(() -> {
+            arretEnCours = arret;
+            noeudsRecherche = 0;
+            scoreRecherche = Double.NaN;
+            statistiques = null;
+            mesureMemoire = MesureMemoire.demarrer();
+            try {
+                return calculerCoup(copie, limites);
+            } finally {
+                mesureMemoire = null;
+            }
+        }, executeur);
+        resultat.whenComplete((coup, erreur) -> {
+            if (resultat.isCancelled()) {
+                arret.set(true);
+            }
+        });
+        return resultat;
+    }
+
+    /**
+     * Demande l'arrêt de la recherche en cours et de la dernière demandée si elle attend encore ;
+     * le moteur renvoie alors son meilleur coup courant
+     */
+    public void arreter() {
+        AtomicBoolean enCours = arretEnCours;
+        AtomicBoolean dernier = arretDernier;
+        if (enCours != null) enCours.set(true);
+        if (dernier != null) dernier.set(true);
+    }
+
+    /**
+     * Indique si l'arrêt de la recherche en cours a été demandé
+     * @return true si la recherche doit s'arrêter au plus vite
+     */
+    protected boolean estArrete() {
+        AtomicBoolean enCours = arretEnCours;
+        return enCours != null && enCours.get();
+    }
+
+    /**
+     * Publie le nombre de nœuds explorés par la recherche en cours
+     * @param noeuds Nombre de nœuds (ou de simulations) depuis le début de la recherche
+     */
+    protected void setNoeudsRecherche(long noeuds) {
+        this.noeudsRecherche = noeuds;
+    }
+
+    /**
+     * Obtient le dernier nombre de nœuds publié par la recherche en cours ; lisible depuis un autre thread
+     * @return Nombre de nœuds (ou de simulations) explorés
+     */
+    public long getNoeudsRecherche() {
+        return noeudsRecherche;
+    }
+
+    /**
+     * Publie le score du coup choisi par la recherche
+     * @param score Score du point de vue du joueur qui joue le coup (évaluation ou taux de victoire selon le moteur)
+     */
+    protected void setScoreRecherche(double score) {
+        this.scoreRecherche = score;
+    }
+
+    /**
+     * Obtient le score du coup choisi par la dernière recherche
+     * @return Le score, ou NaN si le moteur n'en publie pas
+     */
+    public double getScoreRecherche() {
+        return scoreRecherche;
+    }
+
+    /**
+     * Publie les statistiques de la recherche qui se termine, complétées par la mémoire allouée
+     * et les collections du ramasse-miettes depuis le début de la recherche
+     * @param statistiques Les statistiques, qui ne doivent plus être modifiées
+     */
+    protected void setStatistiques(StatistiquesRecherche statistiques) {
+        if (statistiques != null && mesureMemoire != null) {
+            mesureMemoire.renseigner(statistiques);
+        }
+        this.statistiques = statistiques;
+    }
+
+    /**
+     * Obtient les statistiques de la dernière recherche ; lisible depuis un autre thread
+     * @return Les statistiques, ou null si le moteur n'en publie pas ou si une recherche est en cours
+     */
+    public StatistiquesRecherche getStatistiques() {
+        return statistiques;
+    }
+
+    /**
+     * Prévient le moteur du début d'une nouvelle partie ; les caches liés à la partie précédente peuvent être vidés
+     * @param taille Taille du plateau de la nouvelle partie
+     */
+    public void nouvellePartie(int taille) {
+    }
+
+    /**
+     * Fixe la mémoire que le moteur peut consacrer à ses tables ; les moteurs sans table l'ignorent
+     * @param octets Mémoire maximale en octets (0 pour aucune limite)
+     */
+    public void setMemoireMax(long octets) {
+    }
+
+    /**
+     * Change les poids d'évaluation de ce moteur seulement ; les moteurs sans évaluation pondérée l'ignorent
+     * @param poids Les nouveaux poids
+     */
+    public void setPoids(PoidsEvaluation poids) {
+    }
+
+    /**
+     * Fixe la graine des tirages aléatoires du moteur ; avec un budget de nœuds (voir LimitesRecherche),
+     * une même graine rejoue exactement les mêmes coups sur n'importe quelle machine
+     * @param graine La graine
+     */
+    public void setGraine(long graine) {
+        this.graine = graine;
+        this.aleatoire = new Random(graine);
+    }
+
+    public long getGraine() {
+        return graine;
+    }
+
+    /**
+     * Générateur des tirages aléatoires du moteur, initialisé par sa graine
+     * @return Le générateur
+     */
+    protected Random getAleatoire() {
+        return aleatoire;
+    }
+
+    /**
+     * Prévient le moteur du coup joué par l'adversaire
+     * @param ligne La ligne du coup
+     * @param colonne La colonne du coup
+     */
+    public void coupAdversaire(int ligne, int colonne) {
+    }
 }
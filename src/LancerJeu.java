@@ -102,15 +102,30 @@ public class LancerJeu {
     }
 
     /**
-     * Joue un coup pour l'IA selon le niveau choisi
-     * @param etat, niveau, l'etat du jeu , Le niveau de l'IA
-     * @return le coup à jouer */
-    public static int[] jouerCoupIA(EtatDuJeu etat, int niveau) {
+     * Crée le moteur d'IA du niveau choisi ; l'instance est conservée pendant toute la partie
+     * @param niveau Le niveau de l'IA
+     * @param symbole Le symbole joué par l'IA
+     * @return le moteur d'IA */
+    public static Joueur creerIA(int niveau, char symbole) {
+        switch (niveau) {
+            case 1: return new IAHeuristiqueSimple(getNomIA(niveau), symbole);
+            case 2: return new MinMaxBasique(getNomIA(niveau), symbole);
+            case 3: return new MinMaxAlphaBeta(getNomIA(niveau), symbole);
+            case 4: return new MCTS(getNomIA(niveau), symbole);
+            default: throw new IllegalArgumentException("Niveau IA invalide : " + niveau);
+        }
+    }
+
+    /**
+     * Limites de recherche par défaut de chaque niveau
+     * @param niveau Le niveau de l'IA
+     * @return les limites de recherche */
+    public static LimitesRecherche limitesParDefaut(int niveau) {
         switch (niveau) {
-            case 1: return new IAHeuristiqueSimple("IA Simple", 'O').trouverMeilleurCoup(etat);
-            case 2: return new MinMaxBasique("IA MinMax", 'O').trouverMeilleurCoup(etat, 1);
-            case 3: return new MinMaxAlphaBeta("IA Alpha-Beta", 'O').trouverMeilleurCoup(etat, 2);
-            case 4: return new MCTS("IA MCTS", 'O').trouverMeilleurCoup(etat, 2000);
+            case 1: return new LimitesRecherche(0, 0);
+            case 2: return LimitesRecherche.profondeur(1);
+            case 3: return LimitesRecherche.profondeur(2);
+            case 4: return LimitesRecherche.temps(2000);
             default: throw new IllegalArgumentException("Niveau IA invalide : " + niveau);
         }
     }
@@ -0,0 +1,114 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lecture d'un fragment d'échantillons écrit par EcrivainEchantillons, projeté en mémoire.
+ *
+ * Les échantillons ayant une taille fixe, l'échantillon i est lu directement à sa position,
+ * sans parcours préalable. Un échantillon incomplet à la fin du fragment est ignoré.
+ */
+public class LecteurEchantillons implements Closeable {
+    private final FileChannel canal;
+    private final MappedByteBuffer tampon;
+    private final int taille;
+    private final String moteur;
+    private final int debut;
+    private final int tailleEchantillon;
+    private final int octetsPlateau;
+    private final int nombre;
+
+    /**
+     * Ouvre un fragment d'échantillons
+     * @param fichier Chemin du fragment
+     * @throws IOException En cas d'erreur de lecture ou de format invalide
+     */
+    public LecteurEchantillons(Path fichier) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        long tailleFichier = canal.size();
+        if (tailleFichier > Integer.MAX_VALUE || tailleFichier < EcrivainEchantillons.MAGIQUE.length + 4) {
+            canal.close();
+            throw new IOException("Fragment d'échantillons invalide : " + fichier);
+        }
+        tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, tailleFichier);
+
+        byte[] magique = new byte[EcrivainEchantillons.MAGIQUE.length];
+        tampon.get(0, magique);
+        int position = magique.length;
+        if (!Arrays.equals(magique, EcrivainEchantillons.MAGIQUE) || tampon.get(position) != EcrivainEchantillons.VERSION) {
+            canal.close();
+            throw new IOException("Fragment d'échantillons invalide ou version non supportée : " + fichier);
+        }
+        taille = tampon.get(position + 1) & 0xFF;
+        int longueurNom = tampon.getShort(position + 2) & 0xFFFF;
+        byte[] nom = new byte[longueurNom];
+        tampon.get(position + 4, nom);
+        moteur = new String(nom, StandardCharsets.UTF_8);
+
+        debut = position + 4 + longueurNom;
+        tailleEchantillon = EcrivainEchantillons.tailleEchantillon(taille);
+        octetsPlateau = EcrivainEchantillons.octetsPlateau(taille);
+        nombre = (int) ((tailleFichier - debut) / tailleEchantillon);
+    }
+
+    public int getNombre() {
+        return nombre;
+    }
+
+    public int getTaille() {
+        return taille;
+    }
+
+    public String getMoteur() {
+        return moteur;
+    }
+
+    /**
+     * Reconstruit la position d'un échantillon
+     * @param i L'index de l'échantillon
+     * @return La position, avec le joueur au trait
+     */
+    public EtatDuJeu getEtat(int i) {
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        char[][] plateau = etat.getPlateau();
+        int base = debut + i * tailleEchantillon;
+        for (int c = 0; c < taille * taille; c++) {
+            int valeur = (tampon.get(base + (c >> 2)) >> ((c & 3) * 2)) & 3;
+            plateau[c / taille][c % taille] = valeur == 1 ? 'X' : valeur == 2 ? 'O' : '.';
+        }
+        etat.setJoueurActuel(getJoueur(i));
+        return etat;
+    }
+
+    public char getJoueur(int i) {
+        return (char) tampon.get(debut + i * tailleEchantillon + octetsPlateau);
+    }
+
+    public float getScore(int i) {
+        return tampon.getFloat(debut + i * tailleEchantillon + octetsPlateau + 1);
+    }
+
+    /**
+     * Index de la case du meilleur coup
+     */
+    public int getCoup(int i) {
+        return tampon.get(debut + i * tailleEchantillon + octetsPlateau + 5) & 0xFF;
+    }
+
+    /**
+     * Résultat final pour le joueur au trait : 0 défaite, 1 nul, 2 victoire
+     */
+    public int getResultat(int i) {
+        return tampon.get(debut + i * tailleEchantillon + octetsPlateau + 6);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
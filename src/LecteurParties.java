@@ -0,0 +1,173 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lecture d'un fichier de parties écrit par EcrivainParties, projeté en mémoire.
+ *
+ * À l'ouverture, le fichier est parcouru une seule fois pour indexer la position de chaque partie.
+ * Les accès au résultat et aux coups lisent ensuite directement la projection, sans copie,
+ * ce qui permet de rejouer ou d'analyser rapidement de grands volumes de parties.
+ * Une partie tronquée à la fin du fichier (écriture interrompue) est ignorée.
+ *
+ * La projection est limitée à 2 Go par fichier.
+ */
+public class LecteurParties implements Closeable {
+    private final FileChannel canal;
+    private final MappedByteBuffer tampon;
+    // début de chaque partie (après sa longueur) et début de ses coups
+    private int[] debuts = new int[1024];
+    private int[] debutsCoups = new int[1024];
+    private int nombreParties = 0;
+
+    /**
+     * Ouvre et indexe un fichier de parties
+     * @param fichier Chemin du fichier
+     * @throws IOException En cas d'erreur de lecture ou de format invalide
+     */
+    public LecteurParties(Path fichier) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.READ);
+        long taille = canal.size();
+        if (taille > Integer.MAX_VALUE) {
+            canal.close();
+            throw new IOException("Fichier trop volumineux pour être projeté : " + fichier);
+        }
+        tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, taille);
+
+        byte[] magique = new byte[EcrivainParties.MAGIQUE.length];
+        if (taille < magique.length + 1) {
+            canal.close();
+            throw new IOException("Fichier de parties invalide : " + fichier);
+        }
+        tampon.get(0, magique);
+        if (!Arrays.equals(magique, EcrivainParties.MAGIQUE) || tampon.get(magique.length) != EcrivainParties.VERSION) {
+            canal.close();
+            throw new IOException("Fichier de parties invalide ou version non supportée : " + fichier);
+        }
+        indexer(magique.length + 1);
+    }
+
+    private void indexer(int position) {
+        int fin = tampon.limit();
+        while (position + 4 <= fin) {
+            int longueur = tampon.getInt(position);
+            int debut = position + 4;
+            if (longueur < 9 || debut + longueur > fin) break;
+
+            int curseur = debut + 9;
+            for (int s = 0; s < 4; s++) {
+                curseur += 2 + (tampon.getShort(curseur) & 0xFFFF);
+            }
+            if (nombreParties == debuts.length) {
+                debuts = Arrays.copyOf(debuts, debuts.length * 2);
+                debutsCoups = Arrays.copyOf(debutsCoups, debutsCoups.length * 2);
+            }
+            debuts[nombreParties] = debut;
+            debutsCoups[nombreParties] = curseur;
+            nombreParties++;
+            position = debut + longueur;
+        }
+    }
+
+    public int getNombreParties() {
+        return nombreParties;
+    }
+
+    public int getTaille(int partie) {
+        return tampon.get(debuts[partie]);
+    }
+
+    public char getGagnant(int partie) {
+        return (char) tampon.get(debuts[partie] + 1);
+    }
+
+    public boolean aDesInfos(int partie) {
+        return (tampon.get(debuts[partie] + 2) & EcrivainParties.DRAPEAU_INFOS) != 0;
+    }
+
+    public int getDureeMS(int partie) {
+        return tampon.getInt(debuts[partie] + 3);
+    }
+
+    public int getNombreCoups(int partie) {
+        return tampon.getShort(debuts[partie] + 7) & 0xFFFF;
+    }
+
+    /**
+     * Index de la case du coup k d'une partie, lu directement dans la projection
+     */
+    public int getCase(int partie, int k) {
+        return tampon.get(debutsCoups[partie] + k) & 0xFF;
+    }
+
+    /**
+     * Rejoue une partie jusqu'à un coup donné, sans la décoder entièrement
+     * @param partie L'index de la partie
+     * @param nombreCoups Le nombre de coups à jouer depuis le début
+     * @return La position obtenue
+     */
+    public EtatDuJeu rejouer(int partie, int nombreCoups) {
+        int taille = getTaille(partie);
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        etat.setJoueurActuel('X');
+        for (int k = 0; k < nombreCoups; k++) {
+            int c = getCase(partie, k);
+            LancerJeu.jouerCoup(etat, c / taille, c % taille);
+        }
+        return etat;
+    }
+
+    /**
+     * Décode entièrement une partie
+     * @param partie L'index de la partie
+     * @return L'enregistrement complet
+     */
+    public PartieEnregistree lire(int partie) {
+        int debut = debuts[partie];
+        int n = getNombreCoups(partie);
+        int[] curseur = {debut + 9};
+        String moteurX = lireChaine(curseur);
+        String moteurO = lireChaine(curseur);
+        String reglages = lireChaine(curseur);
+        String forfait = lireChaine(curseur);
+
+        byte[] cases = new byte[n];
+        tampon.get(debutsCoups[partie], cases);
+
+        int[] tempsMS = null;
+        long[] noeuds = null;
+        float[] scores = null;
+        if (aDesInfos(partie)) {
+            tempsMS = new int[n];
+            noeuds = new long[n];
+            scores = new float[n];
+            int position = debutsCoups[partie] + n;
+            for (int k = 0; k < n; k++) {
+                tempsMS[k] = tampon.getInt(position);
+                noeuds[k] = tampon.getLong(position + 4);
+                scores[k] = tampon.getFloat(position + 12);
+                position += 16;
+            }
+        }
+        return new PartieEnregistree(getTaille(partie), moteurX, moteurO, reglages, getGagnant(partie),
+                getDureeMS(partie), forfait.isEmpty() ? null : forfait, cases, tempsMS, noeuds, scores);
+    }
+
+    private String lireChaine(int[] curseur) {
+        int longueur = tampon.getShort(curseur[0]) & 0xFFFF;
+        byte[] octets = new byte[longueur];
+        tampon.get(curseur[0] + 2, octets);
+        curseur[0] += 2 + longueur;
+        return new String(octets, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+}
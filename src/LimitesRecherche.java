@@ -0,0 +1,100 @@
+/**
+ * Limites d'une recherche de coup, transmises aux moteurs d'IA.
+ *
+ * Une valeur nulle signifie que le moteur utilise sa valeur par défaut :
+ * - Temps maximum de réflexion en millisecondes
+ * - Profondeur de recherche pour les moteurs Minimax
+ * - Nombre maximal de nœuds (Minimax) ou de simulations (MCTS), sans limite par défaut
+ *
+ * Un budget de nœuds sans temps rend la recherche indépendante de la machine : le temps n'est
+ * alors pas limité et, à graine égale (voir Joueur.setGraine), le coup joué est toujours le même.
+ */
+public class LimitesRecherche {
+    private final int tempsMaxMS;
+    private final int profondeur;
+    private final long noeudsMax;
+
+    /**
+     * Constructeur des limites de recherche
+     * @param tempsMaxMS Temps maximum en millisecondes (0 pour la valeur par défaut du moteur)
+     * @param profondeur Profondeur de recherche (0 pour la valeur par défaut du moteur)
+     */
+    public LimitesRecherche(int tempsMaxMS, int profondeur) {
+        this(tempsMaxMS, profondeur, 0);
+    }
+
+    /**
+     * Constructeur des limites de recherche avec un budget de nœuds
+     * @param tempsMaxMS Temps maximum en millisecondes (0 pour la valeur par défaut du moteur, ou aucune limite si un budget de nœuds est fixé)
+     * @param profondeur Profondeur de recherche (0 pour la valeur par défaut du moteur)
+     * @param noeudsMax Nombre maximal de nœuds ou de simulations (0 pour aucune limite)
+     */
+    public LimitesRecherche(int tempsMaxMS, int profondeur, long noeudsMax) {
+        this.tempsMaxMS = tempsMaxMS;
+        this.profondeur = profondeur;
+        this.noeudsMax = noeudsMax;
+    }
+
+    /**
+     * Crée des limites portant uniquement sur le temps
+     * @param tempsMaxMS Temps maximum en millisecondes
+     * @return Les limites de recherche
+     */
+    public static LimitesRecherche temps(int tempsMaxMS) {
+        return new LimitesRecherche(tempsMaxMS, 0);
+    }
+
+    /**
+     * Crée des limites portant uniquement sur la profondeur
+     * @param profondeur Profondeur de recherche
+     * @return Les limites de recherche
+     */
+    public static LimitesRecherche profondeur(int profondeur) {
+        return new LimitesRecherche(0, profondeur);
+    }
+
+    /**
+     * Crée des limites portant uniquement sur le nombre de nœuds
+     * @param noeudsMax Nombre maximal de nœuds ou de simulations
+     * @return Les limites de recherche
+     */
+    public static LimitesRecherche noeuds(long noeudsMax) {
+        return new LimitesRecherche(0, 0, noeudsMax);
+    }
+
+    public int getTempsMaxMS() {
+        return tempsMaxMS;
+    }
+
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    public long getNoeudsMax() {
+        return noeudsMax;
+    }
+
+    /**
+     * Renvoie le temps maximum, ou la valeur par défaut si aucun n'est fixé ; sans limite si seul un budget de nœuds est fixé
+     * @param defaut Valeur par défaut du moteur
+     * @return Le temps maximum en millisecondes
+     */
+    public int getTempsMaxMS(int defaut) {
+        if (tempsMaxMS > 0) return tempsMaxMS;
+        return noeudsMax > 0 ? Integer.MAX_VALUE : defaut;
+    }
+
+    /**
+     * Renvoie la profondeur, ou la valeur par défaut si aucune n'est fixée
+     * @param defaut Valeur par défaut du moteur
+     * @return La profondeur de recherche
+     */
+    public int getProfondeur(int defaut) {
+        return profondeur > 0 ? profondeur : defaut;
+    }
+
+    @Override
+    public String toString() {
+        return "temps=" + tempsMaxMS + "ms profondeur=" + profondeur + (noeudsMax > 0 ? " noeuds=" + noeudsMax : "");
+    }
+}
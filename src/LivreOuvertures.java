@@ -0,0 +1,358 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Livre d'ouvertures projeté en mémoire.
+ *
+ * Le livre associe à des positions d'ouverture les coups joués et leurs statistiques :
+ * - La clé d'une position est canonique : elle ne dépend ni de la symétrie du plateau (8 symétries),
+ *   ni de la couleur des pièces (les pièces sont distinguées selon qu'elles appartiennent au joueur au trait)
+ * - Les coups sont enregistrés dans le repère de la symétrie canonique, et ramenés dans le repère
+ *   de la position interrogée lors de la consultation
+ * - Le fichier est un tableau trié d'entrées de taille fixe, projeté en mémoire et consulté par dichotomie :
+ *   l'ouverture du livre ne lit rien
+ *
+ * Format du fichier (big-endian) : les octets "GMKB", la version (octet), la taille du plateau (octet),
+ * le nombre d'entrées (int), puis les entrées triées par clé : clé (long), case du coup (int),
+ * nombre de parties (int), demi-points du joueur au trait (int).
+ *
+ * Au démarrage, les moteurs utilisent le livre indiqué par la propriété système gomoku.livre, et aucun
+ * livre si elle n'est pas définie ; la propriété gomoku.livre.profondeur fixe le nombre de pièces sur
+ * le plateau au-delà duquel le livre n'est plus consulté.
+ *
+ * Parmi les coups d'une position joués dans au moins gomoku.livre.parties parties (4 par défaut), le livre
+ * choisit celui dont le score moyen pour le joueur au trait est le meilleur, puis le plus joué à score égal :
+ * un coup souvent joué mais souvent perdu n'est pas retenu.
+ *
+ * Le livre se construit depuis des parties enregistrées (.gmk), par exemple celles d'un tournoi ou le fichier
+ * parties.gmk écrit par AutoJeu. Les fragments d'auto-jeu (.gmks) ne gardent qu'une occurrence de chaque
+ * position, si bien que chaque coup n'y compterait qu'une partie : ils sont refusés, et ignorés dans un dossier.
+ *
+ * Exemple de construction depuis un tournoi et un dossier d'auto-jeu :
+ * java -cp bin LivreOuvertures --profondeur 12 --min 2 --sortie livre.bin parties.gmk donnees
+ */
+public class LivreOuvertures {
+    public static final String PROPRIETE_FICHIER = "gomoku.livre";
+    public static final String PROPRIETE_PROFONDEUR = "gomoku.livre.profondeur";
+    public static final String PROPRIETE_PARTIES_MIN = "gomoku.livre.parties";
+    // Fichier écrit par défaut par la construction du livre
+    public static final String FICHIER_PAR_DEFAUT = "livre.bin";
+    public static final int PROFONDEUR_SORTIE_DEFAUT = 12;
+    public static final int PARTIES_MIN_DEFAUT = 4;
+
+    private static final byte[] MAGIQUE = {'G', 'M', 'K', 'B'};
+    private static final int VERSION = 1;
+    private static final int EN_TETE = 10;
+    private static final int TAILLE_ENTREE = 20;
+
+    private static volatile LivreOuvertures courant;
+    private static volatile boolean courantCharge = false;
+
+    private final MappedByteBuffer tampon;
+    private final int taille;
+    private final int nombre;
+    private final int profondeurSortie;
+    private final int partiesMin;
+
+    private LivreOuvertures(MappedByteBuffer tampon, int taille, int nombre, int profondeurSortie, int partiesMin) {
+        this.tampon = tampon;
+        this.taille = taille;
+        this.nombre = nombre;
+        this.profondeurSortie = profondeurSortie;
+        this.partiesMin = Math.max(1, partiesMin);
+    }
+
+    /**
+     * Ouvre un livre d'ouvertures qui ne retient que les coups joués dans au moins PARTIES_MIN_DEFAUT parties
+     * @param fichier Chemin du livre
+     * @param profondeurSortie Nombre de pièces à partir duquel le livre n'est plus consulté
+     * @return Le livre
+     * @throws IOException En cas d'erreur de lecture ou de format invalide
+     */
+    public static LivreOuvertures ouvrir(Path fichier, int profondeurSortie) throws IOException {
+        return ouvrir(fichier, profondeurSortie, PARTIES_MIN_DEFAUT);
+    }
+
+    /**
+     * Ouvre un livre d'ouvertures
+     * @param fichier Chemin du livre
+     * @param profondeurSortie Nombre de pièces à partir duquel le livre n'est plus consulté
+     * @param partiesMin Nombre de parties en dessous duquel un coup n'est pas joué, son score étant trop incertain
+     * @return Le livre
+     * @throws IOException En cas d'erreur de lecture ou de format invalide
+     */
+    public static LivreOuvertures ouvrir(Path fichier, int profondeurSortie, int partiesMin) throws IOException {
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            long tailleFichier = canal.size();
+            if (tailleFichier < EN_TETE || tailleFichier > Integer.MAX_VALUE) {
+                throw new IOException("Livre d'ouvertures invalide : " + fichier);
+            }
+            // la projection reste valide après la fermeture du canal
+            MappedByteBuffer tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, tailleFichier);
+            byte[] magique = new byte[MAGIQUE.length];
+            tampon.get(0, magique);
+            if (!Arrays.equals(magique, MAGIQUE) || tampon.get(4) != VERSION) {
+                throw new IOException("Livre d'ouvertures invalide ou version non supportée : " + fichier);
+            }
+            int nombre = tampon.getInt(6);
+            if (EN_TETE + (long) nombre * TAILLE_ENTREE > tailleFichier) {
+                throw new IOException("Livre d'ouvertures tronqué : " + fichier);
+            }
+            return new LivreOuvertures(tampon, tampon.get(5) & 0xFF, nombre, profondeurSortie, partiesMin);
+        }
+    }
+
+    /**
+     * Livre utilisé par les moteurs au démarrage, ouvert une seule fois
+     * @return Le livre, ou null s'il n'y en a pas
+     */
+    public static LivreOuvertures courant() {
+        if (!courantCharge) {
+            synchronized (LivreOuvertures.class) {
+                if (!courantCharge) {
+                    courant = ouvrirAuDemarrage();
+                    courantCharge = true;
+                }
+            }
+        }
+        return courant;
+    }
+
+    private static LivreOuvertures ouvrirAuDemarrage() {
+        String chemin = System.getProperty(PROPRIETE_FICHIER);
+        if (chemin == null) {
+            return null;
+        }
+        Path fichier = Paths.get(chemin);
+        try {
+            return ouvrir(fichier, Integer.getInteger(PROPRIETE_PROFONDEUR, PROFONDEUR_SORTIE_DEFAUT),
+                    Integer.getInteger(PROPRIETE_PARTIES_MIN, PARTIES_MIN_DEFAUT));
+        } catch (IOException e) {
+            System.out.println("Livre d'ouvertures illisible (" + fichier + ") : " + e.getMessage());
+            return null;
+        }
+    }
+
+    public int getNombreEntrees() {
+        return nombre;
+    }
+
+    public int getProfondeurSortie() {
+        return profondeurSortie;
+    }
+
+    public int getPartiesMin() {
+        return partiesMin;
+    }
+
+    /**
+     * Cherche le coup du livre pour une position
+     * @param etat La position, avec le joueur au trait
+     * @return Le coup de meilleur score [ligne, colonne] parmi ceux joués assez souvent,
+     *         ou null si la position est hors du livre
+     */
+    public int[] chercher(EtatDuJeu etat) {
+        if (etat.getTaillePlateau() != taille || compterPieces(etat) >= profondeurSortie) {
+            return null;
+        }
+        long[] cle = cleCanonique(etat);
+        int index = premiereEntree(cle[0]);
+        int meilleurCoup = -1, meilleuresParties = 0;
+        double meilleurScore = -1;
+        for (int i = index; i < nombre && cleEntree(i) == cle[0]; i++) {
+            int base = EN_TETE + i * TAILLE_ENTREE;
+            int parties = tampon.getInt(base + 12);
+            if (parties < partiesMin) continue;
+            // score moyen du joueur au trait, les points étant comptés en demi-points
+            double score = tampon.getInt(base + 16) / (2.0 * parties);
+            if (score > meilleurScore || score == meilleurScore && parties > meilleuresParties) {
+                meilleurCoup = tampon.getInt(base + 8);
+                meilleuresParties = parties;
+                meilleurScore = score;
+            }
+        }
+        if (meilleurCoup < 0) {
+            return null;
+        }
+        // ramener le coup du repère canonique dans celui de la position
+        int[] coup = Symetries.transformer(Symetries.inverse((int) cle[1]),
+                meilleurCoup / taille, meilleurCoup % taille, taille);
+        return etat.getPlateau()[coup[0]][coup[1]] == '.' ? coup : null;
+    }
+
+    private long cleEntree(int i) {
+        return tampon.getLong(EN_TETE + i * TAILLE_ENTREE);
+    }
+
+    // première entrée dont la clé est supérieure ou égale à cle
+    private int premiereEntree(long cle) {
+        int bas = 0, haut = nombre;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (cleEntree(milieu) < cle) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    /**
+     * Clé canonique d'une position, indépendante de la symétrie et de la couleur des pièces
+     * @param etat La position
+     * @return {clé, symétrie qui amène la position dans le repère canonique}
+     */
+    static long[] cleCanonique(EtatDuJeu etat) {
+        char[][] plateau = etat.getPlateau();
+        int n = etat.getTaillePlateau();
+        char joueur = etat.getJoueurActuel();
+        HachageSymetries h = new HachageSymetries(n);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                char c = plateau[i][j];
+                if (c == '.') continue;
+                // les pièces du joueur au trait sont hachées comme 'X', celles de l'adversaire comme 'O'
+                h.basculer(i, j, c == joueur ? 'X' : 'O');
+            }
+        }
+        return new long[]{h.cle(), h.symetrie()};
+    }
+
+    private static int compterPieces(EtatDuJeu etat) {
+        int pieces = 0;
+        for (char[] ligne : etat.getPlateau()) {
+            for (char c : ligne) {
+                if (c != '.') pieces++;
+            }
+        }
+        return pieces;
+    }
+
+    // --------------------- Construction ---------------------
+
+    /**
+     * Point d'entrée de construction du livre
+     * @param args --profondeur p --min n --taille t --sortie livre.bin fichiers .gmk ou dossiers
+     */
+    public static void main(String[] args) throws IOException {
+        int profondeur = PROFONDEUR_SORTIE_DEFAUT;
+        int minimum = 1;
+        int taille = 15;
+        Path sortie = Paths.get(FICHIER_PAR_DEFAUT);
+        List<Path> entrees = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--profondeur": profondeur = Integer.parseInt(args[++i]); break;
+                case "--min": minimum = Integer.parseInt(args[++i]); break;
+                case "--taille": taille = Integer.parseInt(args[++i]); break;
+                case "--sortie": sortie = Paths.get(args[++i]); break;
+                default: entrees.add(Paths.get(args[i])); break;
+            }
+        }
+
+        // clé canonique -> case canonique du coup -> {parties, demi-points}
+        Map<Long, Map<Integer, int[]>> statistiques = new HashMap<>();
+        int fragmentsIgnores = 0;
+        for (Path entree : entrees) {
+            if (Files.isDirectory(entree)) {
+                try (DirectoryStream<Path> flux = Files.newDirectoryStream(entree)) {
+                    for (Path fichier : flux) {
+                        if (fichier.getFileName().toString().endsWith(EcrivainEchantillons.EXTENSION)) {
+                            fragmentsIgnores++;
+                        } else {
+                            ajouterFichier(fichier, profondeur, taille, statistiques);
+                        }
+                    }
+                }
+            } else if (entree.getFileName().toString().endsWith(EcrivainEchantillons.EXTENSION)) {
+                throw new IllegalArgumentException("Fragment d'auto-jeu refusé (" + entree + ") : ses positions sont "
+                        + "dédoublonnées et ne comptent qu'une partie chacune ; utiliser le fichier "
+                        + AutoJeu.FICHIER_PARTIES + " écrit par AutoJeu");
+            } else {
+                ajouterFichier(entree, profondeur, taille, statistiques);
+            }
+        }
+        if (fragmentsIgnores > 0) {
+            System.out.println(fragmentsIgnores + " fragments d'auto-jeu ignorés (positions dédoublonnées), "
+                    + "les parties complètes sont lues dans " + AutoJeu.FICHIER_PARTIES);
+        }
+        int entreesEcrites = ecrire(sortie, taille, minimum, statistiques);
+        System.out.println(statistiques.size() + " positions, " + entreesEcrites + " entrées écrites dans " + sortie);
+    }
+
+    private static void ajouterFichier(Path fichier, int profondeur, int taille,
+                                       Map<Long, Map<Integer, int[]>> statistiques) throws IOException {
+        String nom = fichier.getFileName().toString();
+        if (nom.endsWith(".gmk")) {
+            try (LecteurParties lecteur = new LecteurParties(fichier)) {
+                for (int p = 0; p < lecteur.getNombreParties(); p++) {
+                    if (lecteur.getTaille(p) != taille) continue;
+                    char gagnant = lecteur.getGagnant(p);
+                    EtatDuJeu etat = new EtatDuJeu(taille);
+                    etat.setJoueurActuel('X');
+                    int coups = Math.min(profondeur, lecteur.getNombreCoups(p));
+                    for (int k = 0; k < coups; k++) {
+                        int c = lecteur.getCase(p, k);
+                        char joueur = etat.getJoueurActuel();
+                        int resultat = gagnant == 'T' ? 1 : gagnant == joueur ? 2 : 0;
+                        ajouter(statistiques, etat, c / taille, c % taille, resultat);
+                        if (LancerJeu.jouerCoup(etat, c / taille, c % taille)[0] >= 0) break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static void ajouter(Map<Long, Map<Integer, int[]>> statistiques, EtatDuJeu etat,
+                                int ligne, int colonne, int resultat) {
+        long[] cle = cleCanonique(etat);
+        int n = etat.getTaillePlateau();
+        int[] coup = Symetries.transformer((int) cle[1], ligne, colonne, n);
+        int[] stats = statistiques.computeIfAbsent(cle[0], k -> new HashMap<>())
+                .computeIfAbsent(coup[0] * n + coup[1], k -> new int[2]);
+        stats[0]++;
+        stats[1] += resultat;
+    }
+
+    private static int ecrire(Path sortie, int taille, int minimum,
+                              Map<Long, Map<Integer, int[]>> statistiques) throws IOException {
+        List<long[]> entrees = new ArrayList<>();
+        for (Map.Entry<Long, Map<Integer, int[]>> position : statistiques.entrySet()) {
+            for (Map.Entry<Integer, int[]> coup : position.getValue().entrySet()) {
+                int[] stats = coup.getValue();
+                if (stats[0] >= minimum) {
+                    entrees.add(new long[]{position.getKey(), coup.getKey(), stats[0], stats[1]});
+                }
+            }
+        }
+        entrees.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+
+        try (DataOutputStream sortieDonnees = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(sortie)))) {
+            sortieDonnees.write(MAGIQUE);
+            sortieDonnees.writeByte(VERSION);
+            sortieDonnees.writeByte(taille);
+            sortieDonnees.writeInt(entrees.size());
+            for (long[] e : entrees) {
+                sortieDonnees.writeLong(e[0]);
+                sortieDonnees.writeInt((int) e[1]);
+                sortieDonnees.writeInt((int) e[2]);
+                sortieDonnees.writeInt((int) e[3]);
+            }
+        }
+        return entrees.size();
+    }
+}
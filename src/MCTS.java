@@ -1,9 +1,13 @@
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Set;
 
 /**
  * Implémentation de l'algorithme Monte Carlo Tree Search (MCTS) pour le jeu de Gomoku.
@@ -12,24 +16,72 @@ import java.util.Random;
  * L'algorithme combine la recherche en arbre avec des simulations Monte Carlo pour évaluer les positions.
  * 
  * Caractéristiques principales :
- * - Utilise la formule UCB1 pour équilibrer l'exploration et l'exploitation
+ * - Utilise la sélection PUCT, guidée par des probabilités a priori issues des formations
+ * - Combine l'exploitation avec les statistiques RAVE / AMAF (All-Moves-As-First)
+ * - Élargit progressivement chaque nœud selon son nombre de visites
+ * - Prouve les victoires et défaites (MCTS-Solver) et les propage vers la racine
+ * - Partage les positions transposées dans un graphe indexé par hachage de Zobrist (mode graphe)
+ * - Réutilise le sous-arbre de la position courante d'un coup à l'autre
  * - Implémente une simulation améliorée avec une stratégie semi-aléatoire
+ * - Peut remplacer ou mélanger les simulations avec une fonction de valeur évaluant les feuilles par lots
  * - Optimise la recherche en considérant uniquement les coups pertinents
  * - Utilise des heuristiques pour évaluer les positions et les formations
  * 
  * L'algorithme se compose de quatre étapes principales :
  * 1. Sélection : Sélectionne un nœud prometteur à partir de la racine
- * 2. Expansion : Développe l'arbre en ajoutant un nouveau nœud
- * 3. Simulation : Simule une partie à partir du nœud sélectionné
+ * 2. Expansion : Développe l'arbre en ajoutant le prochain coup candidat autorisé par l'élargissement
+ * 3. Simulation : Simule une partie à partir du nœud sélectionné, ou l'évalue avec la fonction de valeur
  * 4. Rétropropagation : Met à jour les statistiques des nœuds visités
+ * 
+ * Les étapes 1 et 2 peuvent être répétées plusieurs fois avant l'évaluation : chaque descente
+ * applique une perte virtuelle sur son chemin pour que les suivantes explorent d'autres feuilles,
+ * puis toutes les feuilles du lot sont évaluées en un seul appel.
  */
 public class MCTS extends Joueur {
-    private static final double UCT_CONSTANT = 1.414;
+    private static final double PUCT_CONSTANT = 1.5;
+    // Élargissement progressif : un nœud visité n fois expose 1 + WIDENING_COEF * n^WIDENING_EXPONENT enfants
+    private static final double WIDENING_COEF = 1.0;
+    private static final double WIDENING_EXPONENT = 0.5;
+    // Valeur d'un enfant jamais visité (first play urgency)
+    private static final double FPU_VALUE = 0.5;
+    // Statut de preuve d'un nœud, du point de vue du joueur qui a joué le coup menant au nœud
+    private static final int PROOF_UNKNOWN = 0;
+    private static final int PROOF_WIN = 1;
+    private static final int PROOF_LOSS = -1;
     private static final int MAX_SIMULATIONS = 10000;
-    private Random random = new Random();
+    // Mémoire estimée d'un nœud (état du jeu, enfants, candidats) et nombre minimal de simulations
+    private static final int OCTETS_PAR_NOEUD = 2048;
+    private static final int SIMULATIONS_MIN = 100;
+    private int simulationsMax = MAX_SIMULATIONS;
+    // Budget de simulations de la recherche en cours (0 : aucun), dans la limite de simulationsMax
+    private long noeudsMax = 0;
+    // Compteurs de la recherche en cours, propres au thread qui cherche (voir StatistiquesRecherche)
+    private long simulationsJouees;
+    private long coupsSimules;
+    // Paramètre d'équivalence RAVE : nombre de visites pour lequel UCT et AMAF ont le même poids
+    private static final double RAVE_EQUIVALENCE_DEFAULT = 1000;
+    private double raveEquivalence = RAVE_EQUIVALENCE_DEFAULT;
+    // Mode graphe : les positions transposées partagent le même nœud
+    private boolean graphMode = true;
+    private final TableNoeudsConcurrente<Node> nodeTable = new TableNoeudsConcurrente<>(4 * MAX_SIMULATIONS);
+    // Évaluation des feuilles : fonction de valeur optionnelle, poids face aux simulations et taille des lots
+    private FonctionValeur fonctionValeur = null;
+    private double valueWeight = 0;
+    private int batchSize = 1;
+    private static final int TEMPS_DEFAUT_MS = 2000;
+    // Racine de la dernière recherche, conservée pour réutiliser son sous-arbre
+    private Node racine = null;
     private int taille; // taille du plateau
     private int centre; // centre du plateau
 
+    // Poids d'évaluation : scores des formations par code, poids de l'attaque et bonus central
+    private int[] scoresMotifs;
+    private double attackWeight;
+    private int centreWeight;
+
+    // Livre d'ouvertures consulté avant la recherche, ou null
+    private LivreOuvertures livre = LivreOuvertures.courant();
+
     /**
      * Constructeur de l'IA MCTS
      * @param nom Le nom de l'IA
@@ -37,6 +89,96 @@ public class MCTS extends Joueur {
      */
     public MCTS(String nom, char symbole) {
         super(nom, symbole);
+        setPoids(PoidsEvaluation.courants());
+    }
+
+    /**
+     * Change le livre d'ouvertures consulté avant la recherche
+     * @param livre Le livre, ou null pour toujours chercher
+     */
+    public void setLivre(LivreOuvertures livre) {
+        this.livre = livre;
+    }
+
+    /**
+     * Change les poids d'évaluation des coups et des positions
+     * @param poids Les nouveaux poids
+     */
+    @Override
+    public void setPoids(PoidsEvaluation poids) {
+        scoresMotifs = poids.tableMCTS();
+        attackWeight = poids.get(PoidsEvaluation.MCTS_POIDS_ATTAQUE);
+        centreWeight = (int) poids.get(PoidsEvaluation.MCTS_CENTRE);
+    }
+
+    /**
+     * Calcule un coup dans le temps imparti (2 secondes par défaut)
+     * @param etat Copie de l'état du jeu
+     * @param limites Limites de la recherche
+     * @return Tableau contenant [ligne,colonne] du meilleur coup
+     */
+    @Override
+    protected int[] calculerCoup(EtatDuJeu etat, LimitesRecherche limites) {
+        noeudsMax = limites.getNoeudsMax();
+        long debut = System.currentTimeMillis();
+        int[] coup = trouverMeilleurCoup(etat, limites.getTempsMaxMS(TEMPS_DEFAUT_MS));
+        publierStatistiques(System.currentTimeMillis() - debut);
+        return coup;
+    }
+
+    /**
+     * Oublie l'arbre de la partie précédente
+     * @param taille Taille du plateau
+     */
+    @Override
+    public void nouvellePartie(int taille) {
+        racine = null;
+        nodeTable.vider();
+    }
+
+    /**
+     * Limite le nombre de simulations, et donc de nœuds, à la mémoire disponible
+     * @param octets Mémoire maximale en octets (0 pour aucune limite)
+     */
+    @Override
+    public void setMemoireMax(long octets) {
+        simulationsMax = octets > 0
+                ? (int) Math.max(SIMULATIONS_MIN, Math.min(MAX_SIMULATIONS, octets / OCTETS_PAR_NOEUD))
+                : MAX_SIMULATIONS;
+    }
+
+    /**
+     * Règle le paramètre d'équivalence RAVE
+     * @param raveEquivalence Nombre de visites pour lequel UCT et AMAF ont le même poids (0 désactive RAVE)
+     */
+    public void setRaveEquivalence(double raveEquivalence) {
+        this.raveEquivalence = raveEquivalence;
+    }
+
+    /**
+     * Active ou désactive le mode graphe, où les positions transposées partagent leur nœud et leurs statistiques
+     * @param graphMode true pour un graphe de positions, false pour un arbre classique
+     */
+    public void setGraphMode(boolean graphMode) {
+        this.graphMode = graphMode;
+    }
+
+    /**
+     * Définit la fonction de valeur utilisée pour évaluer les feuilles
+     * @param fonctionValeur Fonction de valeur, ou null pour n'utiliser que les simulations
+     * @param valueWeight Poids de la fonction de valeur dans [0, 1] (1 remplace complètement les simulations)
+     */
+    public void setFonctionValeur(FonctionValeur fonctionValeur, double valueWeight) {
+        this.fonctionValeur = fonctionValeur;
+        this.valueWeight = fonctionValeur == null ? 0 : Math.max(0, Math.min(1, valueWeight));
+    }
+
+    /**
+     * Définit le nombre de feuilles collectées avant chaque évaluation
+     * @param batchSize Taille des lots (1 pour une évaluation après chaque descente)
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
     }
 
     /**
@@ -49,6 +191,13 @@ public class MCTS extends Joueur {
         taille = etat.getTaillePlateau();
         centre = taille / 2;
         
+        // jouer le coup du livre tant que la position y figure
+        int[] coupLivre = livre != null ? livre.chercher(etat) : null;
+        if (coupLivre != null) {
+            journal("MCTS: coup du livre d'ouvertures (" + (coupLivre[0]+1) + "," + (coupLivre[1]+1) + ")");
+            return coupLivre;
+        }
+        
         // si c'est la première fois, jouer près du centre
         boolean firstMove = true;
         char[][] plateau = etat.getPlateau();
@@ -64,49 +213,106 @@ public class MCTS extends Joueur {
         
         if (firstMove) {
             // première fois, choisir une position aléatoire près du centre
-            int offset = random.nextInt(2); // 0 ou 1
+            int offset = getAleatoire().nextInt(2); // 0 ou 1
             int row = centre;
             int col = centre;
-            if (random.nextBoolean()) row += offset;
+            if (getAleatoire().nextBoolean()) row += offset;
             else col += offset;
-            System.out.println("MCTS: Premier coup, je joue près du centre (" + (row+1) + "," + (col+1) + ")");
+            journal("MCTS: Premier coup, je joue près du centre (" + (row+1) + "," + (col+1) + ")");
             return new int[]{row, col};
         }
         
         long startTime = System.currentTimeMillis();
         int simulations = 0;
+        simulationsJouees = 0;
+        coupsSimules = 0;
+        int limiteSimulations = noeudsMax > 0 ? (int) Math.min(simulationsMax, noeudsMax) : simulationsMax;
         
-        // racine, représente l'état actuel
-        Node rootNode = new Node(etat);
+        // racine, représente l'état actuel : réutiliser le sous-arbre de la recherche précédente s'il existe
+        long rootHash = HachageZobrist.hachage(etat);
+        Node rootNode = findReusableRoot(rootHash);
+        if (rootNode == null) {
+            rootNode = new Node(deepCopyState(etat), rootHash);
+        }
+        racine = rootNode;
+        
+        // ne garder dans la table que les positions encore accessibles
+        nodeTable.vider();
+        if (graphMode) {
+            indexSubtree(rootNode);
+        }
+        
+        List<Leaf> batch = new ArrayList<>(batchSize);
+        EtatDuJeu[] positions = new EtatDuJeu[batchSize];
+        double[] values = new double[batchSize];
         
         // exécuter autant de simulations que possible dans le temps limite
-        while (simulations < MAX_SIMULATIONS && (System.currentTimeMillis() - startTime) < tempsMaxMS) {
-            // 1. sélectionner: sélectionner un noeud feuille prometteur à partir de la racine
-            Node nodeToExplore = selectPromisingNode(rootNode);
+        while (simulations < limiteSimulations && (System.currentTimeMillis() - startTime) < tempsMaxMS && !estArrete()) {
+            // la position est résolue, inutile de continuer
+            if (rootNode.proof != PROOF_UNKNOWN) break;
             
-            // 2. Expansion: si le noeud sélectionné n'est pas un état terminal et a des coups non essayés, le développer
-            if (!LancerJeu.verifierVictoire(nodeToExplore.etat, -1, -1) && 
-                !LancerJeu.estPlateauPlein(nodeToExplore.etat)) {
-                expandNode(nodeToExplore);
-            }
+            EvenementsRecherche.LotMCTS evenement = new EvenementsRecherche.LotMCTS();
+            evenement.begin();
             
-            // 3. simulation: si le noeud sélectionné a des enfants, choisir un enfant aléatoirement; sinon, utiliser le noeud sélectionné
-            Node nodeToSimulate = nodeToExplore;
-            if (!nodeToExplore.children.isEmpty()) {
-                nodeToSimulate = getRandomChildNode(nodeToExplore);
+            // 1. et 2. collecter un lot de feuilles, chaque descente appliquant une perte virtuelle
+            batch.clear();
+            int toEvaluate = 0;
+            while (batch.size() < batchSize && simulations + batch.size() < limiteSimulations
+                    && rootNode.proof == PROOF_UNKNOWN) {
+                Leaf leaf = descend(rootNode);
+                batch.add(leaf);
+                if (!leaf.node.isTerminal() && valueWeight > 0) {
+                    positions[toEvaluate++] = leaf.node.etat;
+                }
             }
             
-            // simulation améliorée
-            char result = simulateImprovedPlayout(nodeToSimulate);
+            // 3. évaluer toutes les feuilles non terminales du lot en un seul appel
+            if (toEvaluate > 0) {
+                fonctionValeur.evaluer(positions, toEvaluate, values);
+            }
             
-            // 4. backpropagation: mettre à jour les données du noeud
-            backPropagation(nodeToSimulate, result);
+            // 4. backpropagation: retirer la perte virtuelle, puis mettre à jour les noeuds du chemin
+            int evaluated = 0;
+            for (Leaf leaf : batch) {
+                char[][] playedMoves = new char[taille][taille];
+                double scoreX;
+                if (leaf.node.isTerminal()) {
+                    // un nœud terminal ou prouvé n'est pas simulé : son résultat est connu
+                    scoreX = scoreForX(leaf.node.getKnownResult());
+                } else {
+                    scoreX = 0;
+                    if (valueWeight < 1) {
+                        // simulation améliorée, en mémorisant les coups joués pour AMAF
+                        scoreX = (1 - valueWeight) * scoreForX(simulateImprovedPlayout(leaf.node, playedMoves));
+                        simulationsJouees++;
+                    }
+                    if (valueWeight > 0) {
+                        double value = values[evaluated++];
+                        double valueX = leaf.node.etat.getJoueurActuel() == 'X' ? value : 1 - value;
+                        scoreX += valueWeight * valueX;
+                    }
+                }
+                
+                for (Node node : leaf.nodes) {
+                    node.visits--;
+                }
+                backPropagation(leaf.path, leaf.nodes, scoreX, playedMoves);
+            }
+            Arrays.fill(positions, 0, toEvaluate, null);
             
-            simulations++;
+            simulations += batch.size();
+            setNoeudsRecherche(simulations);
+            if (evenement.shouldCommit()) {
+                evenement.moteur = getNom();
+                evenement.taille = batch.size();
+                evenement.simulations = simulations;
+                evenement.coupsSimules = coupsSimules;
+                evenement.commit();
+            }
         }
         
-        // sélectionner le noeud avec le meilleur taux de victoire
-        Node bestChild = rootNode.getChildWithMaxScore();
+        // sélectionner le noeud prouvé gagnant, sinon le plus visité parmi les noeuds non prouvés perdants
+        Edge bestChild = rootNode.getBestChild();
         if (bestChild == null) {
             // si aucun enfant (rarement), retourner un coup légal avec une valeur heuristique
             List<int[]> legalMoves = getOrderedMoves(etat);
@@ -117,108 +323,285 @@ public class MCTS extends Joueur {
         }
         
         long endTime = System.currentTimeMillis();
-        System.out.println("MCTS recherche: " + (endTime - startTime) + " ms, " + 
-                           simulations + " simulations, " + 
+        setScoreRecherche(bestChild.child.winScore / Math.max(1, bestChild.child.visits));
+        journal("MCTS recherche: " + (endTime - startTime) + " ms, " + 
+                           simulations + " simulations (" + simulations * 1000L / Math.max(1, endTime - startTime) + "/s), " + 
                            "meilleur coup: " + (bestChild.move[0]+1) + "," + (bestChild.move[1]+1) + 
-                           ", taux de victoire: " + String.format("%.2f", bestChild.winScore/bestChild.visits));
+                           ", taux de victoire: " + String.format("%.2f", bestChild.child.winScore/bestChild.child.visits));
         
         return bestChild.move;
     }
 
+    // recopie les compteurs de la recherche qui se termine dans des statistiques publiées
+    private void publierStatistiques(long tempsMS) {
+        StatistiquesRecherche s = new StatistiquesRecherche(getNom(), tempsMS, getNoeudsRecherche());
+        if (getNoeudsRecherche() > 0 && racine != null) {
+            s.setTailleArbre(tailleArbre(racine));
+            s.setSimulations(simulationsJouees, coupsSimules);
+            int[][] visites = new int[racine.children.size()][];
+            for (int i = 0; i < visites.length; i++) {
+                Edge edge = racine.children.get(i);
+                visites[i] = new int[]{edge.move[0], edge.move[1], edge.child.visits};
+            }
+            Arrays.sort(visites, (a, b) -> Integer.compare(b[2], a[2]));
+            s.setVisitesRacine(visites);
+        }
+        setStatistiques(s);
+    }
+
+    // nombre de positions distinctes accessibles depuis un nœud (le graphe peut partager des nœuds)
+    private static long tailleArbre(Node racine) {
+        Set<Node> vus = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node> pile = new ArrayDeque<>();
+        vus.add(racine);
+        pile.push(racine);
+        while (!pile.isEmpty()) {
+            for (Edge edge : pile.pop().children) {
+                if (vus.add(edge.child)) {
+                    pile.push(edge.child);
+                }
+            }
+        }
+        return vus.size();
+    }
+
     /**
-     * Sélectionne le nœud prometteur à partir de la racine
-     * @param rootNode Nœud racine de l'arbre
-     * @return Nœud sélectionné pour l'exploration
+     * Cherche la position courante dans l'arbre de la recherche précédente
+     * 
+     * En mode graphe, la table des nœuds est consultée directement ; sinon la recherche
+     * porte sur les deux niveaux sous l'ancienne racine (notre coup puis la réponse adverse).
+     * @param rootHash Hachage de la position courante
+     * @return Nœud existant pour cette position, ou null
      */
-    private Node selectPromisingNode(Node rootNode) {
-        Node node = rootNode;
-        while (!node.children.isEmpty()) {
-            node = node.getChildWithMaxUCT();
+    private Node findReusableRoot(long rootHash) {
+        if (racine == null) {
+            return null;
         }
-        return node;
+        if (graphMode) {
+            return nodeTable.chercher(rootHash);
+        }
+        if (racine.hash == rootHash) {
+            return racine;
+        }
+        for (Edge edge : racine.children) {
+            if (edge.child.hash == rootHash) {
+                return edge.child;
+            }
+            for (Edge grandChild : edge.child.children) {
+                if (grandChild.child.hash == rootHash) {
+                    return grandChild.child;
+                }
+            }
+        }
+        return null;
     }
 
     /**
-     * Développe le nœud en ajoutant un nouveau coup
-     * @param node Nœud à développer
+     * Ajoute à la table tous les nœuds accessibles depuis un nœud
+     * @param rootNode Nœud de départ
      */
-    private void expandNode(Node node) {
-        List<int[]> possibleMoves = node.getUntriedMoves();
-        if (possibleMoves.isEmpty()) {
-            return;
-        }
-        
-        // trier les coups possibles par valeur heuristique
-        possibleMoves = getOrderedMoves(node.etat);
-        // garder les coups non essayés
-        List<int[]> untriedMoves = new ArrayList<>();
-        for (int[] move : possibleMoves) {
-            boolean alreadyTried = false;
-            for (Node child : node.children) {
-                if (child.move[0] == move[0] && child.move[1] == move[1]) {
-                    alreadyTried = true;
-                    break;
-                }
+    private void indexSubtree(Node rootNode) {
+        List<Node> stack = new ArrayList<>();
+        stack.add(rootNode);
+        while (!stack.isEmpty()) {
+            Node node = stack.remove(stack.size() - 1);
+            if (nodeTable.chercherOuInserer(node.hash, node) != node) {
+                continue; // déjà indexé par un autre chemin
             }
-            if (!alreadyTried) {
-                untriedMoves.add(move);
-                break; // ajouter uniquement le meilleur coup non essayé
+            for (Edge edge : node.children) {
+                stack.add(edge.child);
             }
         }
+    }
+
+    /**
+     * Effectue une descente complète : sélection, expansion, puis perte virtuelle sur le chemin
+     * 
+     * La perte virtuelle compte une visite sans victoire sur chaque nœud du chemin,
+     * ce qui oriente les descentes suivantes du même lot vers d'autres feuilles.
+     * Elle est retirée avant la rétropropagation du résultat réel.
+     * @param rootNode Nœud racine de l'arbre
+     * @return Feuille atteinte avec son chemin
+     */
+    private Leaf descend(Node rootNode) {
+        // chemin suivi depuis la racine : path.get(i) mène de nodes.get(i) à nodes.get(i + 1)
+        List<Edge> path = new ArrayList<>();
+        List<Node> nodes = new ArrayList<>();
+        nodes.add(rootNode);
+        Node nodeToExplore = selectPromisingNode(rootNode, path, nodes);
         
-        if (untriedMoves.isEmpty()) return;
-        
-        // sélectionner le coup avec la valeur heuristique la plus élevée
-        int[] move = untriedMoves.get(0);
-        
-        // créer un nouvel état représentant ce coup
-        EtatDuJeu newState = deepCopyState(node.etat);
-        newState.getPlateau()[move[0]][move[1]] = newState.getJoueurActuel();
+        // si le noeud sélectionné n'est pas un état terminal, ajouter le prochain coup candidat
+        Node leafNode = nodeToExplore;
+        if (!nodeToExplore.isTerminal()) {
+            Edge newEdge = expandNode(nodeToExplore);
+            if (newEdge != null) {
+                path.add(newEdge);
+                nodes.add(newEdge.child);
+                leafNode = newEdge.child;
+            }
+        }
         
-        // changer le joueur
-        char nextPlayer = newState.getJoueurActuel() == 'X' ? 'O' : 'X';
-        newState.setJoueurActuel(nextPlayer);
+        if (leafNode.isTerminal()) {
+            propagateProof(nodes);
+        }
         
-        // créer le noeud de cet nouvel état
-        Node newNode = new Node(newState, node, move);
-        node.children.add(newNode);
+        for (Node node : nodes) {
+            node.visits++;
+        }
+        return new Leaf(path, nodes, leafNode);
     }
 
     /**
-     * Sélectionne un nœud enfant aléatoirement
-     * @param node Nœud parent
-     * @return Nœud enfant sélectionné
+     * Sélectionne le nœud prometteur à partir de la racine
+     * 
+     * La descente s'arrête sur le premier nœud terminal ou pouvant encore être élargi.
+     * Les enfants prouvés sont ignorés ; si tous le sont, le nœud est élargi.
+     * @param rootNode Nœud racine de l'arbre
+     * @param path Liste complétée avec les arêtes suivies
+     * @param nodes Liste complétée avec les nœuds visités après la racine
+     * @return Nœud sélectionné pour l'exploration
+     */
+    private Node selectPromisingNode(Node rootNode, List<Edge> path, List<Node> nodes) {
+        Node node = rootNode;
+        while (!node.isTerminal() && !node.canWiden()) {
+            Edge best = node.getChildWithMaxPUCT();
+            if (best == null) {
+                return node;
+            }
+            path.add(best);
+            nodes.add(best.child);
+            node = best.child;
+        }
+        return node;
+    }
+
+    /**
+     * Développe le nœud en ajoutant le prochain coup candidat, dans l'ordre des probabilités a priori
+     * 
+     * En mode graphe, si la position obtenue existe déjà, le nœud existant est réutilisé.
+     * @param node Nœud à développer
+     * @return Nouvelle arête vers l'enfant, ou null si tous les candidats ont déjà été ajoutés
      */
-    private Node getRandomChildNode(Node node) {
-        if (node.children.isEmpty()) {
+    private Edge expandNode(Node node) {
+        node.initCandidates();
+        int index = node.children.size();
+        if (index >= node.candidates.length) {
             return null;
         }
         
-        // utiliser la sélection de Roulette Wheel, les noeuds moins visités ont plus de chances d'être sélectionnés
-        double totalInverseVisits = 0;
-        for (Node child : node.children) {
-            totalInverseVisits += 1.0 / (child.visits + 1); // +1 pour éviter la division par 0
+        int[] move = node.candidates[index];
+        char player = node.etat.getJoueurActuel();
+        long childHash = HachageZobrist.jouer(node.hash, move[0], move[1], player);
+        
+        Node child = graphMode ? nodeTable.chercher(childHash) : null;
+        if (child == null) {
+            // créer un nouvel état représentant ce coup
+            EtatDuJeu newState = deepCopyState(node.etat);
+            newState.getPlateau()[move[0]][move[1]] = player;
+            
+            // changer le joueur
+            char nextPlayer = player == 'X' ? 'O' : 'X';
+            newState.setJoueurActuel(nextPlayer);
+            
+            // créer le noeud de cet nouvel état
+            child = new Node(newState, childHash);
+            
+            // un coup gagnant est une victoire prouvée, un plateau plein un match nul
+            if (isWinningMove(newState.getPlateau(), move[0], move[1])) {
+                child.proof = PROOF_WIN;
+            } else if (LancerJeu.estPlateauPlein(newState)) {
+                child.draw = true;
+            }
+            
+            if (graphMode) {
+                child = nodeTable.chercherOuInserer(childHash, child);
+            }
         }
         
-        double rand = random.nextDouble() * totalInverseVisits;
-        double sum = 0;
-        for (Node child : node.children) {
-            sum += 1.0 / (child.visits + 1);
-            if (sum >= rand) {
-                return child;
+        Edge edge = new Edge(move, node.priors[index], child);
+        node.children.add(edge);
+        return edge;
+    }
+
+    /**
+     * Propage la preuve du dernier nœud du chemin vers ses ancêtres sur ce chemin
+     * 
+     * Un nœud est perdu pour le joueur qui y a mené si l'un de ses enfants est gagnant pour l'adversaire,
+     * et gagné si tous ses coups candidats sont développés et perdants pour l'adversaire.
+     * @param nodes Nœuds du chemin, de la racine au nœud dont la preuve vient d'être établie
+     */
+    private void propagateProof(List<Node> nodes) {
+        for (int i = nodes.size() - 2; i >= 0; i--) {
+            Node parent = nodes.get(i);
+            if (parent.proof != PROOF_UNKNOWN) return;
+            
+            boolean childWins = false;
+            boolean allChildrenLose = parent.candidates != null && parent.children.size() == parent.candidates.length;
+            for (Edge edge : parent.children) {
+                if (edge.child.proof == PROOF_WIN) {
+                    childWins = true;
+                    break;
+                }
+                if (edge.child.proof != PROOF_LOSS) {
+                    allChildrenLose = false;
+                }
+            }
+            
+            if (childWins) {
+                parent.proof = PROOF_LOSS;
+            } else if (allChildrenLose) {
+                parent.proof = PROOF_WIN;
+            } else {
+                return;
             }
         }
+    }
+
+    /**
+     * Vérifie si la pièce posée à la position donnée forme un alignement de 5
+     * @param plateau Plateau de jeu
+     * @param row Ligne de la position
+     * @param col Colonne de la position
+     * @return true si la pièce forme un alignement de 5
+     */
+    private boolean isWinningMove(char[][] plateau, int row, int col) {
+        char player = plateau[row][col];
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
         
-        // si parce que des problèmes de précision flottante n'ont pas été sélectionnés, retourner le dernier enfant
-        return node.children.get(node.children.size() - 1);
+        for (int[] dir : directions) {
+            int count = 1;
+            int nx = row + dir[0], ny = col + dir[1];
+            while (nx >= 0 && nx < taille && ny >= 0 && ny < taille && plateau[nx][ny] == player) {
+                count++; nx += dir[0]; ny += dir[1];
+            }
+            nx = row - dir[0]; ny = col - dir[1];
+            while (nx >= 0 && nx < taille && ny >= 0 && ny < taille && plateau[nx][ny] == player) {
+                count++; nx -= dir[0]; ny -= dir[1];
+            }
+            if (count >= 5) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Simule une partie à partir d'une position, hors recherche (utilisé par ChargesBanc)
+     * @param etat Position de départ, non modifiée
+     * @return Symbole du gagnant ('X', 'O' ou 'T' pour match nul)
+     */
+    char simulerPartie(EtatDuJeu etat) {
+        // la taille et le centre, utilisés par evaluateMove, sont d'ordinaire fixés par trouverMeilleurCoup
+        taille = etat.getTaillePlateau();
+        centre = taille / 2;
+        return simulateImprovedPlayout(new Node(etat, 0), new char[taille][taille]);
     }
 
     /**
      * Simule une partie à partir d'un nœud
      * @param node Nœud de départ pour la simulation
+     * @param playedMoves Plateau rempli avec le symbole du joueur pour chaque coup joué pendant la simulation
      * @return Symbole du gagnant ('X', 'O' ou 'T' pour match nul)
      */
-    private char simulateImprovedPlayout(Node node) {
+    private char simulateImprovedPlayout(Node node, char[][] playedMoves) {
         // créer une copie profonde de l'état du jeu, pour éviter de modifier le noeud original
         EtatDuJeu tempState = deepCopyState(node.etat);
         
@@ -239,6 +622,7 @@ public class MCTS extends Joueur {
         // semi-aléatoire, jouer jusqu'à la fin du jeu
         while (steps < maxSteps) {
             steps++;
+            coupsSimules++;
             
             // obtenir les coups triés par valeur heuristique
             List<int[]> orderedMoves = getOrderedMoves(tempState);
@@ -248,14 +632,15 @@ public class MCTS extends Joueur {
             
             // sélectionner le coup: 80% de chances de choisir le meilleur coup, 20% de chances de choisir un coup aléatoire
             int[] move;
-            if (random.nextDouble() < 0.8) {
+            if (getAleatoire().nextDouble() < 0.8) {
                 move = orderedMoves.get(0); // meilleur coup
             } else {
-                move = orderedMoves.get(random.nextInt(Math.min(3, orderedMoves.size()))); // choisir un coup aléatoire parmi les 3 meilleurs
+                move = orderedMoves.get(getAleatoire().nextInt(Math.min(3, orderedMoves.size()))); // choisir un coup aléatoire parmi les 3 meilleurs
             }
             
             // exécuter le coup
             tempState.getPlateau()[move[0]][move[1]] = tempState.getJoueurActuel();
+            playedMoves[move[0]][move[1]] = tempState.getJoueurActuel();
             
             // vérifier si le joueur actuel a gagné
             if (LancerJeu.verifierVictoire(tempState, move[0], move[1])) {
@@ -279,56 +664,86 @@ public class MCTS extends Joueur {
     }
 
     /**
-     * Met à jour les statistiques des nœuds visités
-     * @param nodeToExplore Nœud à partir duquel remonter
-     * @param playerWhoWon Symbole du gagnant
+     * Met à jour les statistiques des nœuds visités, le long du chemin effectivement suivi
+     * 
+     * Les statistiques AMAF de chaque arête d'un nœud du chemin sont aussi mises à jour
+     * si le coup de cette arête a été joué plus tard par le même joueur, dans l'arbre ou pendant la simulation.
+     * @param path Arêtes suivies depuis la racine
+     * @param nodes Nœuds du chemin, de la racine au nœud simulé
+     * @param scoreX Résultat de la feuille pour 'X' (1 victoire, 0.5 match nul, 0 défaite)
+     * @param playedMoves Coups joués pendant la simulation (complété au fil de la remontée)
      */
-    private void backPropagation(Node nodeToExplore, char playerWhoWon) {
-        Node tempNode = nodeToExplore;
-        while (tempNode != null) {
+    private void backPropagation(List<Edge> path, List<Node> nodes, double scoreX, char[][] playedMoves) {
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            Node tempNode = nodes.get(i);
             tempNode.visits++;
+            tempNode.winScore += resultScore(tempNode.etat.getJoueurActuel(), scoreX);
             
-            // mettre à jour le score en fonction du gagnant de la simulation
-            if (playerWhoWon == 'T') {
-                // match nul, donner la moitié des points
-                tempNode.winScore += 0.5;
-            } else {
-                char nodePlayer = tempNode.etat.getJoueurActuel();
-                // si le gagnant est le joueur opposé, le joueur actuel a gagné
-                if ((nodePlayer == 'X' && playerWhoWon == 'O') ||
-                    (nodePlayer == 'O' && playerWhoWon == 'X')) {
-                    tempNode.winScore += 1.0;
+            // AMAF : chaque case n'est jouée qu'une fois, le premier joueur à l'occuper est donc le seul
+            char mover = tempNode.etat.getJoueurActuel();
+            for (Edge edge : tempNode.children) {
+                if (playedMoves[edge.move[0]][edge.move[1]] == mover) {
+                    edge.amafVisits++;
+                    edge.amafScore += resultScore(edge.child.etat.getJoueurActuel(), scoreX);
                 }
             }
             
-            tempNode = tempNode.parent;
+            // le coup menant à ce nœud fait partie de la suite de la partie pour le parent
+            if (i > 0) {
+                int[] move = path.get(i - 1).move;
+                playedMoves[move[0]][move[1]] = nodes.get(i - 1).etat.getJoueurActuel();
+            }
         }
     }
 
     /**
-     * Calcule la valeur UCT d'un nœud
-     * @param node Nœud à évaluer
-     * @return Valeur UCT du nœud
+     * Score d'une feuille du point de vue du joueur qui a joué le coup menant au nœud
+     * @param nodePlayer Joueur qui doit jouer dans le nœud
+     * @param scoreX Résultat de la feuille pour 'X'
+     * @return Score entre 0 (défaite) et 1 (victoire), 0.5 pour un match nul
      */
-    private double calculateUCT(Node node) {
-        if (node.visits == 0) {
-            return Double.MAX_VALUE; // s'assurer que les noeuds non visités seront sélectionnés
+    private double resultScore(char nodePlayer, double scoreX) {
+        // le coup menant au nœud a été joué par l'adversaire du joueur au trait
+        return nodePlayer == 'O' ? scoreX : 1 - scoreX;
+    }
+
+    /**
+     * Convertit le gagnant d'une partie en résultat pour 'X'
+     * @param playerWhoWon Symbole du gagnant ('X', 'O' ou 'T' pour match nul)
+     * @return 1 si 'X' gagne, 0 si 'O' gagne, 0.5 pour un match nul
+     */
+    private double scoreForX(char playerWhoWon) {
+        if (playerWhoWon == 'T') {
+            // match nul, donner la moitié des points
+            return 0.5;
         }
+        return playerWhoWon == 'X' ? 1.0 : 0.0;
+    }
 
-        // exploitation : le taux de victoire du noeud
-        double exploitation = node.winScore / node.visits;
-        
-        // exploration : le noeud avec le moins de visites sera privilégié
-        double exploration = UCT_CONSTANT * Math.sqrt(Math.log(node.parent.visits) / node.visits);
+    /**
+     * Calcule la valeur PUCT d'une arête
+     * @param edge Arête à évaluer
+     * @param parent Nœud d'origine de l'arête
+     * @return Valeur PUCT de l'arête
+     */
+    private double calculatePUCT(Edge edge, Node parent) {
+        Node node = edge.child;
         
-        // position : le noeud avec la position la plus proche du centre sera privilégié
-        double positionBonus = 0;
-        if (node.move != null) {
-            int distanceToCenter = Math.abs(node.move[0] - centre) + Math.abs(node.move[1] - centre);
-            positionBonus = 0.1 * (1.0 - distanceToCenter / (taille - 1)); // Plus proche du centre, meilleur bonus
+        // exploitation : le taux de victoire du noeud, mélangé avec le taux AMAF selon le schéma RAVE
+        double exploitation = FPU_VALUE;
+        if (node.visits > 0) {
+            exploitation = node.winScore / node.visits;
+        }
+        if (edge.amafVisits > 0 && raveEquivalence > 0) {
+            double beta = Math.sqrt(raveEquivalence / (3 * node.visits + raveEquivalence));
+            double amafRate = edge.amafScore / edge.amafVisits;
+            exploitation = (1 - beta) * exploitation + beta * amafRate;
         }
         
-        return exploitation + exploration + positionBonus;
+        // exploration : pondérée par la probabilité a priori du coup
+        double exploration = PUCT_CONSTANT * edge.prior * Math.sqrt(parent.visits) / (1 + node.visits);
+        
+        return exploitation + exploration;
     }
 
     /**
@@ -337,23 +752,52 @@ public class MCTS extends Joueur {
      * @return Liste des coups triés
      */
     private List<int[]> getOrderedMoves(EtatDuJeu etat) {
+        MoveScore[] scoredMoves = scoreMoves(etat);
+        List<int[]> orderedMoves = new ArrayList<>(scoredMoves.length);
+        for (MoveScore ms : scoredMoves) {
+            orderedMoves.add(ms.move);
+        }
+        return orderedMoves;
+    }
+
+    /**
+     * Évalue chaque coup légal une seule fois puis les trie par score décroissant
+     * @param etat État actuel du jeu
+     * @return Tableau des coups avec leur score, triés
+     */
+    private MoveScore[] scoreMoves(EtatDuJeu etat) {
         List<int[]> legalMoves = getAllLegalMoves(etat);
-        
-        // évaluer les coups par valeur heuristique
         final char currentPlayer = etat.getJoueurActuel();
         final char[][] plateau = etat.getPlateau();
         
-        // trier les coups par score
-        Collections.sort(legalMoves, new Comparator<int[]>() {
+        MoveScore[] scoredMoves = new MoveScore[legalMoves.size()];
+        for (int i = 0; i < scoredMoves.length; i++) {
+            int[] move = legalMoves.get(i);
+            scoredMoves[i] = new MoveScore(move, evaluateMove(plateau, move[0], move[1], currentPlayer));
+        }
+        
+        // trier les coups par score décroissant
+        Arrays.sort(scoredMoves, new Comparator<MoveScore>() {
             @Override
-            public int compare(int[] move1, int[] move2) {
-                int score1 = evaluateMove(plateau, move1[0], move1[1], currentPlayer);
-                int score2 = evaluateMove(plateau, move2[0], move2[1], currentPlayer);
-                return Integer.compare(score2, score1); // trier par score décroissant
+            public int compare(MoveScore m1, MoveScore m2) {
+                return Integer.compare(m2.score, m1.score);
             }
         });
         
-        return legalMoves;
+        return scoredMoves;
+    }
+    
+    /**
+     * Classe utilitaire associant un coup à son score heuristique
+     */
+    private static class MoveScore {
+        int[] move;
+        int score;
+        
+        MoveScore(int[] move, int score) {
+            this.move = move;
+            this.score = score;
+        }
     }
     
     /**
@@ -369,7 +813,7 @@ public class MCTS extends Joueur {
         
         // position : privilégier la position centrale
         int distanceToCenter = Math.abs(row - centre) + Math.abs(col - centre);
-        score += 10 * (taille - distanceToCenter); // plus proche du centre, meilleur
+        score += centreWeight * (taille - distanceToCenter); // plus proche du centre, meilleur
         
         // Simuler temporairement le coup
         plateau[row][col] = player;
@@ -389,7 +833,7 @@ public class MCTS extends Joueur {
         plateau[row][col] = '.';
         
         // L'attaque est légèrement plus importante que la défense
-        score += attackScore * 1.1 + defenseScore;
+        score += attackScore * attackWeight + defenseScore;
         
         return score;
     }
@@ -403,77 +847,7 @@ public class MCTS extends Joueur {
      * @return Score de la formation
      */
     private int calculatePatternScore(char[][] plateau, int row, int col, char player) {
-        int score = 0;
-        int taille = plateau.length;
-        
-        // 8 directions
-        int[][] directions = {
-            {0, 1}, {1, 0}, {1, 1}, {1, -1}, 
-            {0, -1}, {-1, 0}, {-1, -1}, {-1, 1}
-        };
-        
-        for (int[] dir : directions) {
-            int dx = dir[0], dy = dir[1];
-            
-            // Compter les pièces consécutives et les cases vides
-            int count = 1; // Compter la position actuelle
-            int emptyBefore = 0, emptyAfter = 0;
-            boolean blockedBefore = false, blockedAfter = false;
-            
-            // Vérifier dans la direction positive
-            for (int i = 1; i <= 4; i++) {
-                int nx = row + i * dx, ny = col + i * dy;
-                if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
-                    blockedBefore = true;
-                    break;
-                }
-                
-                if (plateau[nx][ny] == player) {
-                    count++;
-                } else if (plateau[nx][ny] == '.') {
-                    emptyBefore++;
-                    break;
-                } else {
-                    blockedBefore = true;
-                    break;
-                }
-            }
-            
-            // Vérifier dans la direction négative
-            for (int i = 1; i <= 4; i++) {
-                int nx = row - i * dx, ny = col - i * dy;
-                if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
-                    blockedAfter = true;
-                    break;
-                }
-                
-                if (plateau[nx][ny] == player) {
-                    count++;
-                } else if (plateau[nx][ny] == '.') {
-                    emptyAfter++;
-                    break;
-                } else {
-                    blockedAfter = true;
-                    break;
-                }
-            }
-            
-            // Évaluer la formation et attribuer un score
-            if (count >= 5) {
-                score += 100000; // Alignement de 5
-            } else if (count == 4) {
-                if (!blockedBefore && !blockedAfter) score += 10000; // Quatre libres
-                else if (!blockedBefore || !blockedAfter) score += 1000; // Quatre bloqué
-            } else if (count == 3) {
-                if (!blockedBefore && !blockedAfter) score += 500; // Trois libres
-                else if (!blockedBefore || !blockedAfter) score += 100; // Trois bloqué
-            } else if (count == 2) {
-                if (!blockedBefore && !blockedAfter) score += 50; // Deux libres
-                else if (!blockedBefore || !blockedAfter) score += 10; // Deux bloqué
-            }
-        }
-        
-        return score;
+        return Motifs.score(plateau, row, col, player, plateau.length, scoresMotifs);
     }
     
     /**
@@ -590,122 +964,171 @@ public class MCTS extends Joueur {
     }
 
     /**
-     * Représente un nœud dans l'arbre de recherche MCTS
+     * Feuille collectée par une descente, en attente d'évaluation
+     */
+    private static class Leaf {
+        List<Edge> path;
+        List<Node> nodes;
+        Node node;
+
+        Leaf(List<Edge> path, List<Node> nodes, Node node) {
+            this.path = path;
+            this.nodes = nodes;
+            this.node = node;
+        }
+    }
+
+    /**
+     * Représente une arête de l'arbre de recherche MCTS : un coup joué depuis un nœud
+     * 
+     * La probabilité a priori et les statistiques AMAF dépendent du coup,
+     * elles sont donc portées par l'arête et non par le nœud, qui peut être partagé en mode graphe.
+     */
+    private static class Edge {
+        int[] move; // [row, col]
+        double prior; // probabilité a priori du coup
+        Node child;
+        int amafVisits; // visites AMAF : simulations où ce coup a été joué plus tard
+        double amafScore;
+
+        Edge(int[] move, double prior, Node child) {
+            this.move = move;
+            this.prior = prior;
+            this.child = child;
+        }
+    }
+
+    /**
+     * Représente un nœud (une position) dans l'arbre ou le graphe de recherche MCTS
      */
     private class Node {
         EtatDuJeu etat;
-        Node parent;
-        List<Node> children;
+        long hash; // hachage de Zobrist de la position
+        List<Edge> children;
         int visits;
         double winScore;
-        int[] move; // [row, col]
+        int proof = PROOF_UNKNOWN; // preuve du point de vue du joueur ayant mené à ce nœud
+        boolean draw; // plateau plein sans vainqueur
+        int[][] candidates; // coups candidats triés, calculés une seule fois
+        double[] priors; // probabilités a priori normalisées des candidats
 
         /**
-         * Constructeur pour un nœud racine
-         * @param etat État du jeu à ce nœud
+         * Constructeur d'un nœud
+         * @param etat État du jeu à ce nœud, conservé sans copie
+         * @param hash Hachage de Zobrist de la position
          */
-        public Node(EtatDuJeu etat) {
-            this.etat = deepCopyState(etat);
+        public Node(EtatDuJeu etat, long hash) {
+            this.etat = etat;
+            this.hash = hash;
             this.children = new ArrayList<>();
             this.visits = 0;
             this.winScore = 0;
-            this.move = null;
         }
 
         /**
-         * Constructeur pour un nœud enfant
-         * @param etat État du jeu à ce nœud
-         * @param parent Nœud parent
-         * @param move Coup menant à ce nœud
+         * Calcule une seule fois la liste des coups candidats et leurs probabilités a priori,
+         * proportionnelles aux scores des formations
          */
-        public Node(EtatDuJeu etat, Node parent, int[] move) {
-            this.etat = deepCopyState(etat);
-            this.parent = parent;
-            this.children = new ArrayList<>();
-            this.visits = 0;
-            this.winScore = 0;
-            this.move = move;
+        public void initCandidates() {
+            if (candidates != null) {
+                return;
+            }
+            MoveScore[] scoredMoves = scoreMoves(etat);
+            candidates = new int[scoredMoves.length][];
+            priors = new double[scoredMoves.length];
+            double total = 0;
+            for (int i = 0; i < scoredMoves.length; i++) {
+                candidates[i] = scoredMoves[i].move;
+                priors[i] = Math.max(scoredMoves[i].score, 1);
+                total += priors[i];
+            }
+            for (int i = 0; i < priors.length; i++) {
+                priors[i] /= total;
+            }
         }
 
         /**
-         * Obtient la liste des coups non encore essayés
-         * @return Liste des coups non essayés
+         * Vérifie si l'élargissement progressif autorise un nouvel enfant
+         * @return true si un nouveau coup candidat peut être ajouté
          */
-        public List<int[]> getUntriedMoves() {
-            List<int[]> legalMoves = getAllLegalMoves(etat);
-            if (children.isEmpty()) {
-                return legalMoves;
-            }
+        public boolean canWiden() {
+            initCandidates();
+            int allowed = 1 + (int) (WIDENING_COEF * Math.pow(visits, WIDENING_EXPONENT));
+            return children.size() < Math.min(allowed, candidates.length);
+        }
 
-            List<int[]> triedMoves = new ArrayList<>();
-            for (Node child : children) {
-                triedMoves.add(child.move);
-            }
+        /**
+         * Vérifie si la partie est terminée ou résolue dans ce nœud
+         * @return true si le nœud est prouvé ou correspond à un match nul
+         */
+        public boolean isTerminal() {
+            return proof != PROOF_UNKNOWN || draw;
+        }
 
-            List<int[]> untriedMoves = new ArrayList<>();
-            for (int[] move : legalMoves) {
-                boolean alreadyTried = false;
-                for (int[] triedMove : triedMoves) {
-                    if (move[0] == triedMove[0] && move[1] == triedMove[1]) {
-                        alreadyTried = true;
-                        break;
-                    }
-                }
-                if (!alreadyTried) {
-                    untriedMoves.add(move);
-                }
-            }
-            return untriedMoves;
+        /**
+         * Résultat connu d'un nœud terminal ou prouvé
+         * @return Symbole du gagnant ('X', 'O' ou 'T' pour match nul)
+         */
+        public char getKnownResult() {
+            char mover = etat.getJoueurActuel() == 'X' ? 'O' : 'X';
+            if (proof == PROOF_WIN) return mover;
+            if (proof == PROOF_LOSS) return etat.getJoueurActuel();
+            return 'T';
         }
 
         /**
-         * Obtient l'enfant avec la meilleure valeur UCT
-         * @return Nœud enfant avec la meilleure valeur UCT
+         * Obtient l'arête vers l'enfant non prouvé avec la meilleure valeur PUCT
+         * @return Arête avec la meilleure valeur PUCT, ou null si tous les enfants sont prouvés
          */
-        public Node getChildWithMaxUCT() {
-            double maxUCT = Double.NEGATIVE_INFINITY;
-            Node result = null;
-
-            for (Node child : children) {
-                double uctValue = calculateUCT(child);
-                if (uctValue > maxUCT) {
-                    maxUCT = uctValue;
-                    result = child;
+        public Edge getChildWithMaxPUCT() {
+            double maxPUCT = Double.NEGATIVE_INFINITY;
+            Edge result = null;
+
+            for (Edge edge : children) {
+                if (edge.child.proof != PROOF_UNKNOWN) continue;
+                double puctValue = calculatePUCT(edge, this);
+                if (puctValue > maxPUCT) {
+                    maxPUCT = puctValue;
+                    result = edge;
                 }
             }
             return result;
         }
 
         /**
-         * Obtient l'enfant avec le plus grand nombre de visites
-         * @return Nœud enfant le plus visité
+         * Obtient l'arête vers l'enfant avec le plus grand nombre de visites
+         * @return Arête vers l'enfant le plus visité
          */
-        public Node getChildWithMaxVisits() {
+        public Edge getChildWithMaxVisits() {
             int maxVisits = Integer.MIN_VALUE;
-            Node result = null;
+            Edge result = null;
 
-            for (Node child : children) {
-                if (child.visits > maxVisits) {
-                    maxVisits = child.visits;
-                    result = child;
+            for (Edge edge : children) {
+                if (edge.child.visits > maxVisits) {
+                    maxVisits = edge.child.visits;
+                    result = edge;
                 }
             }
             return result;
         }
         
         /**
-         * Obtient l'enfant avec le meilleur score
-         * @return Nœud enfant avec le meilleur score
+         * Obtient la meilleure arête pour le coup final
+         * 
+         * Un enfant prouvé gagnant est toujours choisi ; sinon l'enfant le plus visité
+         * parmi ceux qui ne sont pas prouvés perdants.
+         * @return Meilleure arête
          */
-        public Node getChildWithMaxScore() {
-            double maxScore = Double.NEGATIVE_INFINITY;
-            Node result = null;
-
-            for (Node child : children) {
-                double winRate = child.visits > 0 ? child.winScore / child.visits : 0;
-                if (winRate > maxScore) {
-                    maxScore = winRate;
-                    result = child;
+        public Edge getBestChild() {
+            Edge result = null;
+
+            for (Edge edge : children) {
+                if (edge.child.proof == PROOF_WIN) {
+                    return edge;
+                }
+                if (edge.child.proof == PROOF_LOSS) continue;
+                if (result == null || edge.child.visits > result.child.visits) {
+                    result = edge;
                 }
             }
             return result != null ? result : getChildWithMaxVisits();
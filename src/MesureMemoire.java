@@ -0,0 +1,107 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Mesure de la mémoire allouée et du ramasse-miettes pendant un calcul (recherche de coup, mesure du banc).
+ *
+ * - Mémoire allouée : octets alloués par le thread qui a démarré la mesure, lus par
+ *   com.sun.management.ThreadMXBean ; les moteurs cherchent sur un seul thread, qui porte donc
+ *   toutes les allocations de la recherche. Vaut -1 si la JVM ne fournit pas ce compteur.
+ * - Ramasse-miettes : nombre de collections et durée cumulée de leurs pauses, pour toute la JVM ;
+ *   quand plusieurs parties sont jouées en même temps, ces collections sont aussi dues aux autres recherches.
+ *
+ * La mesure ne coûte que quelques lectures de compteurs au début et à la fin.
+ */
+public class MesureMemoire {
+    private static final com.sun.management.ThreadMXBean THREADS = initialiserThreads();
+    private static final List<GarbageCollectorMXBean> COLLECTEURS = ManagementFactory.getGarbageCollectorMXBeans();
+
+    private final long thread;
+    private final long octetsDebut;
+    private final long collectionsDebut;
+    private final long pauseDebutMS;
+
+    private MesureMemoire() {
+        this.thread = Thread.currentThread().getId();
+        this.octetsDebut = octetsAlloues(thread);
+        this.collectionsDebut = collections();
+        this.pauseDebutMS = pauseMS();
+    }
+
+    /**
+     * Démarre une mesure sur le thread courant
+     * @return La mesure
+     */
+    public static MesureMemoire demarrer() {
+        return new MesureMemoire();
+    }
+
+    /**
+     * Octets alloués par le thread de la mesure depuis son démarrage
+     * @return Le nombre d'octets, ou -1 si la JVM ne le mesure pas
+     */
+    public long getOctetsAlloues() {
+        long octets = octetsAlloues(thread);
+        return octets < 0 || octetsDebut < 0 ? -1 : octets - octetsDebut;
+    }
+
+    /**
+     * Collections du ramasse-miettes depuis le démarrage de la mesure
+     */
+    public long getCollections() {
+        return collections() - collectionsDebut;
+    }
+
+    /**
+     * Durée cumulée des pauses du ramasse-miettes depuis le démarrage de la mesure, en millisecondes
+     */
+    public long getPauseMS() {
+        return pauseMS() - pauseDebutMS;
+    }
+
+    /**
+     * Recopie la mesure dans les statistiques d'une recherche
+     * @param statistiques Les statistiques, pas encore publiées
+     */
+    public void renseigner(StatistiquesRecherche statistiques) {
+        statistiques.setMemoire(getOctetsAlloues(), getCollections(), getPauseMS());
+    }
+
+    private static com.sun.management.ThreadMXBean initialiserThreads() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threads;
+        try {
+            if (bean.isThreadAllocatedMemorySupported() && !bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+        } catch (UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+        return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+    }
+
+    private static long octetsAlloues(long thread) {
+        return THREADS != null ? THREADS.getThreadAllocatedBytes(thread) : -1;
+    }
+
+    // les collecteurs qui ne publient pas leurs compteurs renvoient -1 et sont ignorés
+    private static long collections() {
+        long total = 0;
+        for (GarbageCollectorMXBean collecteur : COLLECTEURS) {
+            total += Math.max(0, collecteur.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long pauseMS() {
+        long total = 0;
+        for (GarbageCollectorMXBean collecteur : COLLECTEURS) {
+            total += Math.max(0, collecteur.getCollectionTime());
+        }
+        return total;
+    }
+}
@@ -1,11 +1,11 @@
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Implémentation de l'algorithme Minimax avec élagage Alpha-Beta pour le jeu de Gomoku.
@@ -16,15 +16,17 @@ import java.util.Random;
  * Caractéristiques principales
  * - Utilise l'élagage Alpha-Beta pour réduire l'espace de recherche
  * - Implémente une recherche itérative progressive
- * - Utilise un cache d'évaluation pour éviter les calculs redondants
+ * - Utilise un cache d'évaluation pour éviter les calculs redondants, où les positions symétriques
+ *   (rotations et réflexions) partagent la même entrée
+ * - Peut partager ses résultats de recherche entre parties et processus (voir CacheRecherche)
  * - Optimise la recherche en triant les coups candidats
  * - Inclut des heuristiques avancées pour l'évaluation des positions
  * <p>
  * Optimisations
  * - Limite de temps pour éviter les dépassements
  * - Profondeur de recherche maximale configurable
- * - Mode agressif/défensif ajustable
- * - Évaluation des formations avec scores pondérés
+ * - Mode agressif/défensif ajustable par les poids de la défense et de l'adversaire
+ * - Évaluation des formations avec scores pondérés (voir PoidsEvaluation)
  * - Prise en compte de la position centrale
  */
 public class MinMaxAlphaBeta extends Joueur {
@@ -32,12 +34,48 @@ public class MinMaxAlphaBeta extends Joueur {
     // Contrôle du timeout et meilleurs paramètres
     private long startTime;
     private boolean timeOut = false;
-    private final Random random = new Random();
     private final int WIN_SCORE = 1000000;
-    private final boolean isAggressive = true; // Mode agressif
+    private static final int TEMPS_LIMITE_DEFAUT_MS = 9000;
+    private static final int PROFONDEUR_DEFAUT = 2;
+    private long timeLimit = TEMPS_LIMITE_DEFAUT_MS;
+    private long noeuds; // nombre de nœuds visités par la recherche en cours
+    private long noeudsMax = 0; // budget de nœuds de la recherche en cours (0 : aucun)
 
-    // Cache d'évaluation pour éviter les calculs redondants
-    private Map<String, Integer> evaluationCache = new HashMap<>();
+    // Compteurs de la recherche en cours, propres au thread qui cherche (voir StatistiquesRecherche)
+    private int profondeurIteration;
+    private int profondeurTerminee;
+    private int profondeurSelective;
+    private long noeudsIterationPrecedente;
+    private double facteurBranchement;
+    private long coupures;
+    private long coupuresPremierCoup;
+    private long sondesCache;
+    private long succesCache;
+    private long sondesEvaluation;
+    private long succesEvaluation;
+
+    // Cache d'évaluation pour éviter les calculs redondants, indexé par la clé canonique de la position
+    private Map<Long, Integer> evaluationCache = new HashMap<>();
+    // Cache des scores des coups candidats, indexé par case et joueur
+    private Map<Integer, Integer> moveScoreCache = new HashMap<>();
+    // Nombre maximal d'entrées du cache d'évaluation, selon la mémoire disponible
+    private static final int OCTETS_PAR_ENTREE = 96;
+    private int entreesCacheMax = Integer.MAX_VALUE;
+    // Hachages de la position en cours d'exploration sous ses 8 symétries
+    private HachageSymetries symetries;
+
+    // Poids d'évaluation : scores des formations par code, poids de la défense et de l'adversaire, bonus central
+    private int[] scoresMotifs;
+    private double defenseWeight;
+    private double opponentWeight;
+    private int centreWeight;
+
+    // Livre d'ouvertures consulté avant la recherche, ou null
+    private LivreOuvertures livre = LivreOuvertures.courant();
+
+    // Table de transposition persistante, ou null ; ses clés sont canoniques et salées par les poids d'évaluation
+    private CacheRecherche cache = CacheRecherche.courant();
+    private long selCache;
 
     /**
      * Constructeur de l'IA MinMax avec Alpha-Beta
@@ -46,6 +84,82 @@ public class MinMaxAlphaBeta extends Joueur {
      */
     public MinMaxAlphaBeta(String nom, char symbole) {
         super(nom, symbole);
+        setPoids(PoidsEvaluation.courants());
+    }
+
+    /**
+     * Change le livre d'ouvertures consulté avant la recherche
+     * @param livre Le livre, ou null pour toujours chercher
+     */
+    public void setLivre(LivreOuvertures livre) {
+        this.livre = livre;
+    }
+
+    /**
+     * Change la table de transposition persistante consultée et remplie par la recherche
+     * @param cache Le cache, ou null pour ne pas en utiliser
+     */
+    public void setCache(CacheRecherche cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Limite la taille du cache d'évaluation à la mémoire disponible
+     * @param octets Mémoire maximale en octets (0 pour aucune limite)
+     */
+    @Override
+    public void setMemoireMax(long octets) {
+        entreesCacheMax = octets > 0 ? (int) Math.min(Integer.MAX_VALUE, octets / OCTETS_PAR_ENTREE) : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Change les poids d'évaluation et vide le cache qui en dépend
+     * @param poids Les nouveaux poids
+     */
+    @Override
+    public void setPoids(PoidsEvaluation poids) {
+        scoresMotifs = poids.tableAlphaBeta(WIN_SCORE);
+        defenseWeight = poids.get(PoidsEvaluation.AB_POIDS_DEFENSE);
+        opponentWeight = poids.get(PoidsEvaluation.AB_POIDS_ADVERSAIRE);
+        centreWeight = (int) poids.get(PoidsEvaluation.AB_CENTRE);
+        evaluationCache.clear();
+        moveScoreCache.clear();
+        // des poids différents donnent des scores différents : ne pas partager les entrées du cache persistant
+        long sel = Arrays.hashCode(scoresMotifs);
+        sel = sel * 31 + Double.hashCode(defenseWeight);
+        sel = sel * 31 + Double.hashCode(opponentWeight);
+        sel = sel * 31 + centreWeight;
+        selCache = sel * 0x9E3779B97F4A7C15L;
+    }
+
+    /**
+     * Calcule un coup dans les limites fournies
+     * @param etat Copie de l'état du jeu
+     * @param limites Limites de la recherche (profondeur et temps)
+     * @return Tableau contenant [ligne,colonne] du meilleur coup
+     */
+    @Override
+    protected int[] calculerCoup(EtatDuJeu etat, LimitesRecherche limites) {
+        // cette IA évalue le plateau du point de vue de 'O' : inverser les couleurs quand elle joue 'X'
+        if (etat.getJoueurActuel() == 'X') {
+            etat.echangerCouleurs();
+        }
+        timeLimit = limites.getTempsMaxMS(TEMPS_LIMITE_DEFAUT_MS);
+        noeudsMax = limites.getNoeudsMax();
+        int[] coup = trouverMeilleurCoup(etat, limites.getProfondeur(PROFONDEUR_DEFAUT));
+        publierStatistiques();
+        return coup;
+    }
+
+    /**
+     * Vide le cache d'évaluation au début d'une nouvelle partie ; le cache persistant, partagé par tous
+     * les moteurs, ne vieillit qu'une fois par exécution (voir CacheRecherche.courant)
+     * @param taille Taille du plateau
+     */
+    @Override
+    public void nouvellePartie(int taille) {
+        evaluationCache.clear();
+        moveScoreCache.clear();
     }
 
     /**
@@ -57,11 +171,30 @@ public class MinMaxAlphaBeta extends Joueur {
     public int[] trouverMeilleurCoup(EtatDuJeu etat, int profondeur) {
         // Vider le cache d'évaluation
         evaluationCache.clear();
+        moveScoreCache.clear();
         // Profondeur de recherche maximale
         int maxSearchDepth = 4;
         profondeur = Math.min(profondeur, maxSearchDepth); // Limiter la profondeur maximale
         startTime = System.currentTimeMillis();
         timeOut = false;
+        noeuds = 0;
+        profondeurTerminee = 0;
+        profondeurSelective = 0;
+        noeudsIterationPrecedente = 0;
+        facteurBranchement = Double.NaN;
+        coupures = 0;
+        coupuresPremierCoup = 0;
+        sondesCache = 0;
+        succesCache = 0;
+        sondesEvaluation = 0;
+        succesEvaluation = 0;
+        
+        // Jouer le coup du livre tant que la position y figure
+        int[] coupLivre = livre != null ? livre.chercher(etat) : null;
+        if (coupLivre != null) {
+            journal("Alpha-Beta: coup du livre d'ouvertures (" + (coupLivre[0]+1) + "," + (coupLivre[1]+1) + ")");
+            return coupLivre;
+        }
         
         // Vérifier si c'est le premier coup (plateau vide)
         boolean estPremierCoup = true;
@@ -78,10 +211,10 @@ public class MinMaxAlphaBeta extends Joueur {
         // Si c'est le premier coup, choisir un point aléatoire près du centre
         if (estPremierCoup) {
             int centre = etat.getTaillePlateau() / 2;
-            int offset = random.nextInt(2) - 1; // -1, 0, ou 1
+            int offset = getAleatoire().nextInt(2) - 1; // -1, 0, ou 1
             int x = centre + offset;
-            int y = centre + (offset != 0 ? 0 : (random.nextBoolean() ? 1 : -1));
-            System.out.println("Alpha-Beta: Premier coup, je joue près du centre (" + (x+1) + "," + (y+1) + ")");
+            int y = centre + (offset != 0 ? 0 : (getAleatoire().nextBoolean() ? 1 : -1));
+            journal("Alpha-Beta: Premier coup, je joue près du centre (" + (x+1) + "," + (y+1) + ")");
             return new int[]{x, y};
         }
         
@@ -98,9 +231,30 @@ public class MinMaxAlphaBeta extends Joueur {
         // Obtenir tous les coups candidats et les trier par score heuristique
         List<int[]> candidatMoves = getOrderedMoves(etat);
         
+        // Consulter le cache persistant : réutiliser un résultat assez profond, sinon essayer son coup en premier
+        symetries = new HachageSymetries(etat);
+        long cleRacine = cleCache(etat);
+        long entree = cache != null ? cache.chercher(cleRacine) : 0;
+        if (entree != 0 && CacheRecherche.coup(entree) >= 0 && CacheRecherche.coup(entree) < taille * taille) {
+            int coup = symetries.depuisCanonique(CacheRecherche.coup(entree));
+            int[] coupCache = {coup / taille, coup % taille};
+            if (plateau[coupCache[0]][coupCache[1]] == '.') {
+                if (CacheRecherche.borne(entree) == CacheRecherche.EXACT && CacheRecherche.profondeur(entree) >= profondeur) {
+                    setScoreRecherche(CacheRecherche.score(entree));
+                    journal("Alpha-Beta: coup du cache de recherche (" + (coupCache[0]+1) + "," + (coupCache[1]+1) + ")");
+                    return coupCache;
+                }
+                mettreEnTete(candidatMoves, coupCache);
+            }
+        }
+        
         // Utiliser la recherche itérative progressive, en commençant par une profondeur faible
         for (int currentDepth = 2; currentDepth <= profondeur; currentDepth++) {
             if (timeOut) break;
+            profondeurIteration = currentDepth;
+            long noeudsDebutIteration = noeuds;
+            EvenementsRecherche.IterationAlphaBeta evenement = new EvenementsRecherche.IterationAlphaBeta();
+            evenement.begin();
             
             int currentBestScore = Integer.MIN_VALUE;
             int currentBestRow = -1;
@@ -114,12 +268,14 @@ public class MinMaxAlphaBeta extends Joueur {
                 
                 if (plateau[i][j] == '.') {
                     plateau[i][j] = 'O'; // Supposer que l'IA est 'O'
+                    symetries.basculer(i, j, 'O');
                     char joueurPrecedent = etat.getJoueurActuel();
                     etat.setJoueurActuel('X');
                     
                     int score = alphaBeta(etat, currentDepth - 1, alpha, beta, false); // Commencer par la minimisation (tour de l'adversaire)
                     
                     plateau[i][j] = '.'; // Annuler le coup
+                    symetries.basculer(i, j, 'O');
                     etat.setJoueurActuel(joueurPrecedent);
                     
                     if (score > currentBestScore) {
@@ -133,40 +289,49 @@ public class MinMaxAlphaBeta extends Joueur {
                     
                     // Vérifier le timeout
                     if (timeOut) {
-                        System.out.println("Alpha-Beta: Timeout à la profondeur " + currentDepth);
+                        journal("Alpha-Beta: Timeout à la profondeur " + currentDepth);
                         break;
                     }
                     
                     // Si un coup gagnant est trouvé, le retourner immédiatement
                     if (score >= WIN_SCORE) {
-                        System.out.println("Alpha-Beta: Coup gagnant trouvé à la profondeur " + currentDepth);
+                        terminerIteration(evenement, currentDepth, score, noeuds - noeudsDebutIteration);
+                        journal("Alpha-Beta: Coup gagnant trouvé à la profondeur " + currentDepth);
                         return new int[]{i, j};
                     }
                 }
             }
             
+            terminerIteration(evenement, currentDepth, currentBestScore, noeuds - noeudsDebutIteration);
+            
             // Mettre à jour le meilleur coup de la profondeur actuelle
             if (currentBestRow != -1 && !timeOut) {
                 meilleurScore = currentBestScore;
                 meilleureLigne = currentBestRow;
                 meilleureColonne = currentBestCol;
                 
+                long noeudsIteration = noeuds - noeudsDebutIteration;
+                if (noeudsIterationPrecedente > 0) {
+                    facteurBranchement = (double) noeudsIteration / noeudsIterationPrecedente;
+                }
+                noeudsIterationPrecedente = noeudsIteration;
+                profondeurTerminee = currentDepth;
+                
                 // Déplacer le meilleur coup au début de la liste
-                for (int i = 0; i < candidatMoves.size(); i++) {
-                    int[] move = candidatMoves.get(i);
-                    if (move[0] == currentBestRow && move[1] == currentBestCol) {
-                        if (i > 0) {
-                            candidatMoves.remove(i);
-                            candidatMoves.add(0, move);
-                        }
-                        break;
-                    }
+                mettreEnTete(candidatMoves, new int[]{currentBestRow, currentBestCol});
+                
+                if (cache != null) {
+                    cache.enregistrer(cleRacine, currentDepth, CacheRecherche.EXACT, currentBestScore,
+                            symetries.versCanonique(currentBestRow * taille + currentBestCol));
                 }
             }
         }
         
         long endTime = System.currentTimeMillis();
-        System.out.println("Alpha-Beta recherche: " + (endTime - startTime) + " ms, score: " + meilleurScore);
+        setNoeudsRecherche(noeuds);
+        setScoreRecherche(meilleurScore);
+        journal("Alpha-Beta recherche: " + (endTime - startTime) + " ms, " + noeuds + " nœuds ("
+                + noeuds * 1000 / Math.max(1, endTime - startTime) + " nœuds/s), score: " + meilleurScore);
 
         if (meilleureLigne != -1) {
             return new int[]{meilleureLigne, meilleureColonne};
@@ -188,6 +353,75 @@ public class MinMaxAlphaBeta extends Joueur {
         }
     }
     
+    // enregistre l'événement JFR d'une itération, seulement si un enregistrement le demande
+    private void terminerIteration(EvenementsRecherche.IterationAlphaBeta evenement, int profondeur, int score, long noeudsIteration) {
+        if (evenement.shouldCommit()) {
+            evenement.moteur = getNom();
+            evenement.profondeur = profondeur;
+            evenement.score = score;
+            evenement.noeuds = noeudsIteration;
+            evenement.interrompue = timeOut;
+            evenement.commit();
+        }
+    }
+
+    private void compterCoupure(boolean premierCoup) {
+        coupures++;
+        if (premierCoup) coupuresPremierCoup++;
+    }
+
+    // recopie les compteurs de la recherche qui se termine dans des statistiques publiées
+    private void publierStatistiques() {
+        StatistiquesRecherche s = new StatistiquesRecherche(getNom(), System.currentTimeMillis() - startTime, noeuds);
+        s.setProfondeur(profondeurTerminee);
+        s.setProfondeurSelective(profondeurSelective);
+        s.setFacteurBranchement(facteurBranchement);
+        s.setCoupures(coupures, coupuresPremierCoup);
+        s.setCache(sondesCache, succesCache);
+        s.setEvaluation(sondesEvaluation, succesEvaluation);
+        setStatistiques(s);
+    }
+
+    /**
+     * Évalue une position hors recherche, caches vidés (utilisé par ChargesBanc)
+     * @param etat État du jeu, du point de vue de 'O'
+     * @return Score de la position
+     */
+    int evaluerSansCache(EtatDuJeu etat) {
+        evaluationCache.clear();
+        symetries = new HachageSymetries(etat);
+        return evaluerPosition(etat);
+    }
+
+    /**
+     * Trie les coups candidats hors recherche, caches vidés (utilisé par ChargesBanc)
+     * @param etat État du jeu, du point de vue de 'O'
+     * @return Liste des coups triés par score
+     */
+    List<int[]> ordonnerCoupsSansCache(EtatDuJeu etat) {
+        moveScoreCache.clear();
+        return getOrderedMoves(etat);
+    }
+
+    /**
+     * Déplace un coup au début d'une liste de coups, en l'ajoutant s'il n'y figure pas
+     * @param moves Liste des coups
+     * @param coup Le coup [ligne, colonne]
+     */
+    private void mettreEnTete(List<int[]> moves, int[] coup) {
+        for (int i = 0; i < moves.size(); i++) {
+            int[] move = moves.get(i);
+            if (move[0] == coup[0] && move[1] == coup[1]) {
+                if (i > 0) {
+                    moves.remove(i);
+                    moves.add(0, move);
+                }
+                return;
+            }
+        }
+        moves.add(0, coup);
+    }
+    
     /**
      * Obtient tous les coups candidats et les trie manuellement
      * @param etat État actuel du jeu
@@ -299,9 +533,9 @@ public class MinMaxAlphaBeta extends Joueur {
      */
     private int evaluateMoveScore(EtatDuJeu etat, int row, int col, char player) {
         // Clé de cache
-        String key = row + "," + col + "," + player;
-        if (evaluationCache.containsKey(key)) {
-            return evaluationCache.get(key);
+        int key = (row * etat.getTaillePlateau() + col) * 2 + (player == 'O' ? 1 : 0);
+        if (moveScoreCache.containsKey(key)) {
+            return moveScoreCache.get(key);
         }
         
         int score = 0;
@@ -330,7 +564,6 @@ public class MinMaxAlphaBeta extends Joueur {
         }
         
         // En mode attaque, réduire le poids de la défense
-        double defenseWeight = isAggressive ? 0.6 : 0.8;
         score = (int) (score + calculatePatternScore(plateau, row, col, opponent, taille) * defenseWeight);
         
         // Restaurer la case vide
@@ -339,10 +572,10 @@ public class MinMaxAlphaBeta extends Joueur {
         // Bonus de position, meilleur près du centre
         int centre = taille / 2;
         int distanceToCenter = Math.abs(row - centre) + Math.abs(col - centre);
-        score += (taille - distanceToCenter) * 2;
+        score += (taille - distanceToCenter) * centreWeight;
         
         // Mettre en cache le résultat
-        evaluationCache.put(key, score);
+        moveScoreCache.put(key, score);
         
         return score;
     }
@@ -403,75 +636,7 @@ public class MinMaxAlphaBeta extends Joueur {
      * @return Score de la formation
      */
     private int calculatePatternScore(char[][] plateau, int row, int col, char player, int taille) {
-        int score = 0;
-        
-        // 8 directions
-        int[][] directions = {
-            {0, 1}, {1, 0}, {1, 1}, {1, -1},
-            {0, -1}, {-1, 0}, {-1, -1}, {-1, 1}
-        };
-        
-        for (int[] dir : directions) {
-            int dx = dir[0], dy = dir[1];
-            
-            // Compter les pièces consécutives et les extrémités libres
-            int count = 1; // Compter la position actuelle
-            int openEnds = 0; // Nombre d'extrémités libres
-
-            // Vérifier dans la direction positive
-            for (int i = 1; i <= 4; i++) {
-                int nx = row + i * dx, ny = col + i * dy;
-                if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
-                    break;
-                }
-                
-                if (plateau[nx][ny] == player) {
-                    count++;
-                } else if (plateau[nx][ny] == '.') {
-                    openEnds++;
-                    break;
-                } else {
-                    break;
-                }
-            }
-            
-            // Vérifier dans la direction négative
-            for (int i = 1; i <= 4; i++) {
-                int nx = row - i * dx, ny = col - i * dy;
-                if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
-                    break;
-                }
-                
-                if (plateau[nx][ny] == player) {
-                    count++;
-                } else if (plateau[nx][ny] == '.') {
-                    openEnds++;
-                    break;
-                } else {
-                    break;
-                }
-            }
-            
-            // Évaluer la formation selon le score, évaluation plus agressive
-            if (count >= 5) {
-                score += WIN_SCORE; // Alignement de 5
-            } else if (count == 4) {
-                // Augmentation du score de menace
-                int THREAT_SCORE = 20000;
-                if (openEnds == 2) score += THREAT_SCORE * 10; // Quatre libres
-                else if (openEnds == 1) score += THREAT_SCORE; // Quatre bloqué
-            } else if (count == 3) {
-                if (openEnds == 2) score += 1500; // Trois libres, score augmenté
-                else if (openEnds == 1) score += 150; // Trois bloqué, score augmenté
-            } else if (count == 2) {
-                if (openEnds == 2) score += 70; // Deux libres, score augmenté
-                else if (openEnds == 1) score += 15; // Deux bloqué, score augmenté
-            } else if (count == 1) {
-                if (openEnds == 2) score += 5; // Un libre, score augmenté
-            }
-        }
-        
-        return score;
+        return Motifs.score(plateau, row, col, player, taille, scoresMotifs);
     }
 
     /**
@@ -484,18 +649,48 @@ public class MinMaxAlphaBeta extends Joueur {
      * @return Score de la branche de recherche
      */
     private int alphaBeta(EtatDuJeu etat, int profondeur, int alpha, int beta, boolean estMaximisant) {
-        // Vérifier le timeout
-        // Augmentation de la limite de timeout à 9 secondes
-        long timeLimit = 9000;
-        if (System.currentTimeMillis() - startTime > timeLimit) {
+        // Publier régulièrement le nombre de nœuds pour l'affichage
+        if ((++noeuds & 1023) == 0) {
+            setNoeudsRecherche(noeuds);
+        }
+        int ply = profondeurIteration - profondeur;
+        if (ply > profondeurSelective) {
+            profondeurSelective = ply;
+        }
+        
+        // Vérifier le timeout (9 secondes par défaut), le budget de nœuds ou une demande d'arrêt
+        if (System.currentTimeMillis() - startTime > timeLimit || (noeudsMax > 0 && noeuds > noeudsMax) || estArrete()) {
             timeOut = true;
             return 0; // Retourner un score neutre
         }
         
-        // Conditions d'arrêt
         int taille = etat.getTaillePlateau();
         char[][] plateau = etat.getPlateau();
         
+        // Consulter le cache persistant : une position n'y est enregistrée qu'après avoir été développée,
+        // elle n'est donc pas terminale
+        long cle = 0;
+        long entree = 0;
+        if (cache != null && profondeur > 0) {
+            cle = cleCache(etat);
+            entree = cache.chercher(cle);
+            sondesCache++;
+            if (entree != 0) succesCache++;
+        }
+        if (entree != 0 && CacheRecherche.profondeur(entree) >= profondeur) {
+            int scoreCache = CacheRecherche.score(entree);
+            int borne = CacheRecherche.borne(entree);
+            if (borne == CacheRecherche.EXACT
+                    || borne == CacheRecherche.BORNE_INF && scoreCache >= beta
+                    || borne == CacheRecherche.BORNE_SUP && scoreCache <= alpha) {
+                return scoreCache;
+            }
+        }
+        int alphaInitial = alpha;
+        int betaInitial = beta;
+        
+        // Conditions d'arrêt
+        
         // Vérifier s'il y a un gagnant
         for (int i = 0; i < taille; i++) {
             for (int j = 0; j < taille; j++) {
@@ -562,49 +757,88 @@ public class MinMaxAlphaBeta extends Joueur {
             }
         }
         
+        // Essayer d'abord le meilleur coup d'une recherche précédente
+        int coupCache = CacheRecherche.coup(entree);
+        if (entree != 0 && coupCache >= 0 && coupCache < taille * taille) {
+            coupCache = symetries.depuisCanonique(coupCache);
+            if (plateau[coupCache / taille][coupCache % taille] == '.') {
+                mettreEnTete(moves, new int[]{coupCache / taille, coupCache % taille});
+            }
+        }
+        
+        int meilleurScore;
+        int[] meilleurCoup = null;
+        
         if (estMaximisant) {
             int maxScore = Integer.MIN_VALUE;
             for (int[] move : moves) {
                 int i = move[0], j = move[1];
                 plateau[i][j] = 'O';
+                symetries.basculer(i, j, 'O');
                 char joueurPrecedent = etat.getJoueurActuel();
                 etat.setJoueurActuel('X');
                 
                 int score = alphaBeta(etat, profondeur - 1, alpha, beta, false);
                 
                 plateau[i][j] = '.';
+                symetries.basculer(i, j, 'O');
                 etat.setJoueurActuel(joueurPrecedent);
                 
-                maxScore = Math.max(score, maxScore);
+                if (score > maxScore) {
+                    maxScore = score;
+                    meilleurCoup = move;
+                }
                 alpha = Math.max(alpha, maxScore);
                 
-                if (beta <= alpha || timeOut) {
+                if (beta <= alpha) {
+                    compterCoupure(move == moves.get(0));
+                    break;
+                }
+                if (timeOut) {
                     break;
                 }
             }
-            return maxScore;
+            meilleurScore = maxScore;
         } else {
             int minScore = Integer.MAX_VALUE;
             for (int[] move : moves) {
                 int i = move[0], j = move[1];
                 plateau[i][j] = 'X';
+                symetries.basculer(i, j, 'X');
                 char joueurPrecedent = etat.getJoueurActuel();
                 etat.setJoueurActuel('O');
                 
                 int score = alphaBeta(etat, profondeur - 1, alpha, beta, true);
                 
                 plateau[i][j] = '.';
+                symetries.basculer(i, j, 'X');
                 etat.setJoueurActuel(joueurPrecedent);
                 
-                minScore = Math.min(score, minScore);
+                if (score < minScore) {
+                    minScore = score;
+                    meilleurCoup = move;
+                }
                 beta = Math.min(beta, minScore);
                 
-                if (beta <= alpha || timeOut) {
+                if (beta <= alpha) {
+                    compterCoupure(move == moves.get(0));
+                    break;
+                }
+                if (timeOut) {
                     break;
                 }
             }
-            return minScore;
+            meilleurScore = minScore;
         }
+        
+        // Enregistrer le résultat, sauf si la recherche a été interrompue
+        if (cache != null && !timeOut && meilleurCoup != null) {
+            int borne = meilleurScore <= alphaInitial ? CacheRecherche.BORNE_SUP
+                    : meilleurScore >= betaInitial ? CacheRecherche.BORNE_INF : CacheRecherche.EXACT;
+            cache.enregistrer(cle, profondeur, borne, meilleurScore,
+                    symetries.versCanonique(meilleurCoup[0] * taille + meilleurCoup[1]));
+        }
+        return meilleurScore;
     }
 
     /**
@@ -613,10 +847,13 @@ public class MinMaxAlphaBeta extends Joueur {
      * @return Score de l'état du plateau
      */
     private int evaluerPosition(EtatDuJeu etat) {
-        // Clé de cache
-        String key = boardToString(etat.getPlateau());
-        if (evaluationCache.containsKey(key)) {
-            return evaluationCache.get(key);
+        // Clé de cache : l'évaluation ne change pas par rotation ou réflexion du plateau
+        long key = symetries.cle();
+        Integer scoreCache = evaluationCache.get(key);
+        sondesEvaluation++;
+        if (scoreCache != null) {
+            succesEvaluation++;
+            return scoreCache;
         }
         
         int score = 0;
@@ -630,28 +867,27 @@ public class MinMaxAlphaBeta extends Joueur {
                     score += calculatePatternScore(plateau, i, j, 'O', taille);
                 } else if (plateau[i][j] == 'X') { // Adversaire
                     // En mode attaque, réduire légèrement le poids de l'évaluation de l'adversaire
-                    double opponentWeight = isAggressive ? 0.9 : 1.0;
                     score = (int) (score - (calculatePatternScore(plateau, i, j, 'X', taille) * opponentWeight));
                 }
             }
         }
         
-        // Mettre en cache le résultat
+        // Mettre en cache le résultat, en repartant d'un cache vide quand il atteint sa taille maximale
+        if (evaluationCache.size() >= entreesCacheMax) {
+            evaluationCache.clear();
+        }
         evaluationCache.put(key, score);
         
         return score;
     }
     
     /**
-     * Convertit le plateau en chaîne de caractères pour la clé de cache
-     * @param plateau Plateau de jeu
-     * @return Représentation en chaîne du plateau
+     * Clé de la position courante dans le cache persistant : clé canonique, joueur au trait et poids d'évaluation
+     * @param etat État actuel du jeu
+     * @return La clé
      */
-    private String boardToString(char[][] plateau) {
-        StringBuilder sb = new StringBuilder();
-        for (char[] row : plateau) {
-            sb.append(new String(row));
-        }
-        return sb.toString();
+    private long cleCache(EtatDuJeu etat) {
+        long cle = symetries.cle() ^ selCache;
+        return etat.getJoueurActuel() == 'O' ? cle ^ HachageZobrist.trait() : cle;
     }
 } 
\ No newline at end of file
@@ -17,6 +17,9 @@
  * et de comparaison avec les versions plus avancées.
  */
 public class MinMaxBasique extends Joueur {
+    private long noeuds; // nombre de nœuds visités par la recherche en cours
+    private long noeudsMax = 0; // budget de nœuds, vérifié entre deux coups de la racine (0 : aucun)
+    private int[] scoresFenetres; // score d'une fenêtre de 5 cases selon son nombre de pièces (voir PoidsEvaluation)
 
     /**
      * Constructeur de l'IA MinMax basique
@@ -25,6 +28,37 @@ public class MinMaxBasique extends Joueur {
      */
     public MinMaxBasique(String nom, char symbole) {
         super(nom, symbole);
+        setPoids(PoidsEvaluation.courants());
+    }
+
+    /**
+     * Change les poids d'évaluation des fenêtres
+     * @param poids Les nouveaux poids
+     */
+    @Override
+    public void setPoids(PoidsEvaluation poids) {
+        scoresFenetres = poids.tableBasique();
+    }
+
+    /**
+     * Calcule un coup à la profondeur demandée (1 par défaut)
+     * @param etat Copie de l'état du jeu
+     * @param limites Limites de la recherche
+     * @return Tableau contenant [ligne,colonne] du meilleur coup
+     */
+    @Override
+    protected int[] calculerCoup(EtatDuJeu etat, LimitesRecherche limites) {
+        // cette IA évalue le plateau du point de vue de 'O' : inverser les couleurs quand elle joue 'X'
+        if (etat.getJoueurActuel() == 'X') {
+            etat.echangerCouleurs();
+        }
+        noeudsMax = limites.getNoeudsMax();
+        long debut = System.currentTimeMillis();
+        int[] coup = trouverMeilleurCoup(etat, limites.getProfondeur(1));
+        StatistiquesRecherche statistiques = new StatistiquesRecherche(getNom(), System.currentTimeMillis() - debut, noeuds);
+        statistiques.setProfondeur(limites.getProfondeur(1));
+        setStatistiques(statistiques);
+        return coup;
     }
 
     /**
@@ -39,10 +73,11 @@ public class MinMaxBasique extends Joueur {
         int meilleureColonne = -1;
         int taille = etat.getTaillePlateau();
         char[][] plateau = etat.getPlateau();
+        noeuds = 0;
 
         for (int i = 0; i < taille; i++) {
             for (int j = 0; j < taille; j++) {
-                if (plateau[i][j] == '.') {
+                if (plateau[i][j] == '.' && (meilleureLigne == -1 || !(estArrete() || (noeudsMax > 0 && noeuds >= noeudsMax)))) {
                     plateau[i][j] = 'O'; // Supposer que l'IA est 'O'
                     int score = minimax(etat, profondeur, false); // Commencer par minimiser (tour de l'adversaire)
                     plateau[i][j] = '.'; // Annuler le coup
@@ -56,6 +91,8 @@ public class MinMaxBasique extends Joueur {
             }
         }
 
+        setNoeudsRecherche(noeuds);
+        setScoreRecherche(meilleurScore);
         if (meilleureLigne != -1) {
             return new int[]{meilleureLigne, meilleureColonne};
         } else {
@@ -71,6 +108,11 @@ public class MinMaxBasique extends Joueur {
      * @return Le score de la branche explorée
      */
     private int minimax(EtatDuJeu etat, int profondeur, boolean estMaximisant) {
+        // Publier régulièrement le nombre de nœuds pour l'affichage
+        if ((++noeuds & 1023) == 0) {
+            setNoeudsRecherche(noeuds);
+        }
+
         // Condition d'arrêt: profondeur atteinte, victoire détectée, ou plateau plein
         if (profondeur == 0 || LancerJeu.verifierVictoire(etat, -1, -1) || LancerJeu.estPlateauPlein(etat)) {
             return evaluerPosition(etat);
@@ -175,15 +217,10 @@ public class MinMaxBasique extends Joueur {
         // Priorité aux coups gagnants/perdants immédiats et aux menaces
         if (countO == 5) return 100000; // Victoire IA
         if (countX == 5) return -100000; // Défaite IA
-        if (countO == 4 && countX == 0) return 5000; // Forte menace IA
-        if (countX == 4 && countO == 0) return -5000; // Forte menace Adversaire
-        if (countO == 3 && countX == 0) return 100;   // Menace IA
-        if (countX == 3 && countO == 0) return -100;  // Menace Adversaire
-        if (countO == 2 && countX == 0) return 10;
-        if (countX == 2 && countO == 0) return -10;
-        if (countO == 1 && countX == 0) return 1;
-        if (countX == 1 && countO == 0) return -1;
-
-        return 0; // Séquence bloquée ou vide
+        // Menaces selon le nombre de pièces d'un seul joueur
+        if (countX == 0) return scoresFenetres[countO];
+        if (countO == 0) return -scoresFenetres[countX];
+
+        return 0; // Séquence bloquée
     }
 }
@@ -0,0 +1,119 @@
+/**
+ * Classification des formations (motifs) utilisée par les évaluations des IA.
+ *
+ * Pour une pièce et une direction, la formation est décrite par :
+ * - La longueur de l'alignement passant par la pièce (plafonnée à 5)
+ * - Le nombre d'extrémités libres de l'alignement (0, 1 ou 2)
+ *
+ * Ces deux valeurs sont regroupées dans un code unique, qui sert d'index dans les tables
+ * de scores construites à partir des poids d'évaluation.
+ */
+public class Motifs {
+    // Nombre de codes possibles : longueurs 0 à 5, extrémités libres 0 à 2
+    public static final int NB_CODES = 18;
+
+    // Les 8 directions de recherche autour d'une pièce
+    public static final int[][] DIRECTIONS = {
+        {0, 1}, {1, 0}, {1, 1}, {1, -1},
+        {0, -1}, {-1, 0}, {-1, -1}, {-1, 1}
+    };
+
+    /**
+     * Calcule le code de la formation passant par une case dans une direction
+     * @param plateau Plateau de jeu
+     * @param row Ligne de la case
+     * @param col Colonne de la case
+     * @param dx Direction verticale
+     * @param dy Direction horizontale
+     * @param player Symbole du joueur (la case est supposée lui appartenir)
+     * @param taille Taille du plateau
+     * @return Le code de la formation
+     */
+    public static int coder(char[][] plateau, int row, int col, int dx, int dy, char player, int taille) {
+        int count = 1; // Compter la position actuelle
+        int openEnds = 0; // Nombre d'extrémités libres
+
+        // Vérifier dans la direction positive
+        for (int i = 1; i <= 4; i++) {
+            int nx = row + i * dx, ny = col + i * dy;
+            if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
+                break;
+            }
+            if (plateau[nx][ny] == player) {
+                count++;
+            } else {
+                if (plateau[nx][ny] == '.') openEnds++;
+                break;
+            }
+        }
+
+        // Vérifier dans la direction négative
+        for (int i = 1; i <= 4; i++) {
+            int nx = row - i * dx, ny = col - i * dy;
+            if (nx < 0 || nx >= taille || ny < 0 || ny >= taille) {
+                break;
+            }
+            if (plateau[nx][ny] == player) {
+                count++;
+            } else {
+                if (plateau[nx][ny] == '.') openEnds++;
+                break;
+            }
+        }
+
+        return code(Math.min(count, 5), openEnds);
+    }
+
+    /**
+     * Code d'une formation
+     * @param longueur Longueur de l'alignement (0 à 5)
+     * @param extremitesLibres Nombre d'extrémités libres (0 à 2)
+     * @return Le code
+     */
+    public static int code(int longueur, int extremitesLibres) {
+        return longueur * 3 + extremitesLibres;
+    }
+
+    /**
+     * Longueur de l'alignement d'un code
+     */
+    public static int longueur(int code) {
+        return code / 3;
+    }
+
+    /**
+     * Calcule le score des formations autour d'une pièce, dans les 8 directions
+     * @param plateau Plateau de jeu
+     * @param row Ligne de la pièce
+     * @param col Colonne de la pièce
+     * @param player Symbole du joueur
+     * @param taille Taille du plateau
+     * @param scores Table des scores indexée par code
+     * @return Le score total
+     */
+    public static int score(char[][] plateau, int row, int col, char player, int taille, int[] scores) {
+        int score = 0;
+        for (int[] dir : DIRECTIONS) {
+            score += scores[coder(plateau, row, col, dir[0], dir[1], player, taille)];
+        }
+        return score;
+    }
+
+    /**
+     * Compte les formations de toutes les pièces d'un joueur
+     * @param plateau Plateau de jeu
+     * @param player Symbole du joueur
+     * @param taille Taille du plateau
+     * @param comptes Tableau de taille NB_CODES incrémenté pour chaque formation trouvée
+     */
+    public static void compter(char[][] plateau, char player, int taille, int[] comptes) {
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                if (plateau[i][j] != player) continue;
+                for (int[] dir : DIRECTIONS) {
+                    comptes[coder(plateau, i, j, dir[0], dir[1], player, taille)]++;
+                }
+            }
+        }
+    }
+}
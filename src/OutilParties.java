@@ -0,0 +1,73 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outil en ligne de commande pour les fichiers de parties.
+ *
+ * Commandes :
+ * - --exporter parties.gmk parties.txt : convertit un fichier binaire au format texte
+ * - --importer parties.txt parties.gmk : ajoute les parties d'un fichier texte à un fichier binaire
+ * - --resume parties.gmk : affiche le nombre de parties, les résultats et la longueur moyenne
+ *
+ * Exemple :
+ * java -cp bin OutilParties --exporter parties.gmk parties.txt
+ */
+public class OutilParties {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage : OutilParties --exporter entree.gmk sortie.txt | --importer entree.txt sortie.gmk | --resume entree.gmk");
+            return;
+        }
+        switch (args[0]) {
+            case "--exporter": exporter(Paths.get(args[1]), Paths.get(args[2])); break;
+            case "--importer": importer(Paths.get(args[1]), Paths.get(args[2])); break;
+            case "--resume": resume(Paths.get(args[1])); break;
+            default: throw new IllegalArgumentException("Commande inconnue : " + args[0]);
+        }
+    }
+
+    private static void exporter(Path entree, Path sortie) throws IOException {
+        try (LecteurParties lecteur = new LecteurParties(entree);
+             BufferedWriter ecrivain = Files.newBufferedWriter(sortie, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lecteur.getNombreParties(); i++) {
+                ecrivain.write(lecteur.lire(i).versTexte());
+            }
+            System.out.println(lecteur.getNombreParties() + " parties exportées vers " + sortie);
+        }
+    }
+
+    private static void importer(Path entree, Path sortie) throws IOException {
+        List<PartieEnregistree> parties = PartieEnregistree.depuisTexte(
+                new String(Files.readAllBytes(entree), StandardCharsets.UTF_8));
+        try (EcrivainParties ecrivain = new EcrivainParties(sortie)) {
+            for (PartieEnregistree partie : parties) {
+                ecrivain.ecrire(partie);
+            }
+        }
+        System.out.println(parties.size() + " parties importées dans " + sortie);
+    }
+
+    private static void resume(Path entree) throws IOException {
+        try (LecteurParties lecteur = new LecteurParties(entree)) {
+            int n = lecteur.getNombreParties();
+            int victoiresX = 0, victoiresO = 0, nuls = 0;
+            long coups = 0;
+            for (int i = 0; i < n; i++) {
+                char gagnant = lecteur.getGagnant(i);
+                if (gagnant == 'X') victoiresX++;
+                else if (gagnant == 'O') victoiresO++;
+                else nuls++;
+                coups += lecteur.getNombreCoups(i);
+            }
+            System.out.printf(Locale.ROOT, "%d parties : X %d, O %d, nuls %d, %.1f coups en moyenne%n",
+                    n, victoiresX, victoiresO, nuls, n == 0 ? 0.0 : (double) coups / n);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Enregistrement compact d'une partie de Gomoku.
+ *
+ * Il contient :
+ * - Un en-tête : taille du plateau, noms des moteurs, réglages, résultat, durée et motif de forfait éventuel
+ * - Les coups, chacun codé sur un octet par l'index de sa case (ligne * taille + colonne)
+ * - Des métadonnées facultatives par coup : temps de réflexion, nœuds explorés et score de la recherche
+ *
+ * Le codage sur un octet limite la taille du plateau à 16 x 16.
+ *
+ * Format texte (une partie par bloc, les blocs étant séparés par une ligne vide) :
+ * <pre>
+ * [X "IA MCTS"]
+ * [O "IA Alpha-Beta"]
+ * [Reglages "X: temps=2000ms profondeur=0 / O: temps=0ms profondeur=2"]
+ * [Taille "15"]
+ * [Resultat "1-0"]
+ * [Duree "1234"]
+ * h8 {1200 5000 0.53} i9 {15 2400 120} ...
+ * </pre>
+ * Les coups sont notés colonne (a, b, ...) puis ligne (à partir de 1) ; les métadonnées entre accolades
+ * sont facultatives et donnent le temps en millisecondes, les nœuds et le score (? si inconnu).
+ */
+public class PartieEnregistree {
+    public static final int TAILLE_MAX = 16;
+
+    private final int taille;
+    private final String moteurX;
+    private final String moteurO;
+    private final String reglages;
+    private final char gagnant;
+    private final int dureeMS;
+    private final String forfait;
+    private final byte[] cases;
+    // métadonnées par coup, toutes nulles si la partie n'en a pas
+    private final int[] tempsMS;
+    private final long[] noeuds;
+    private final float[] scores;
+
+    /**
+     * Constructeur de l'enregistrement
+     * @param taille La taille du plateau (16 au plus)
+     * @param moteurX Le nom du moteur qui joue 'X'
+     * @param moteurO Le nom du moteur qui joue 'O'
+     * @param reglages Les réglages de la partie (limites de recherche, etc.)
+     * @param gagnant Le gagnant ('X', 'O' ou 'T')
+     * @param dureeMS La durée de la partie en millisecondes
+     * @param forfait Le motif du forfait, ou null
+     * @param cases Les index des cases jouées, dans l'ordre
+     * @param tempsMS Les temps de réflexion par coup, ou null
+     * @param noeuds Les nœuds explorés par coup, ou null
+     * @param scores Les scores par coup, ou null
+     */
+    public PartieEnregistree(int taille, String moteurX, String moteurO, String reglages, char gagnant,
+                             int dureeMS, String forfait, byte[] cases, int[] tempsMS, long[] noeuds, float[] scores) {
+        if (taille < 1 || taille > TAILLE_MAX) {
+            throw new IllegalArgumentException("Taille de plateau non supportée : " + taille);
+        }
+        boolean avecInfos = tempsMS != null;
+        if (avecInfos != (noeuds != null) || avecInfos != (scores != null)
+                || avecInfos && (tempsMS.length != cases.length || noeuds.length != cases.length
+                || scores.length != cases.length)) {
+            throw new IllegalArgumentException("Métadonnées des coups incohérentes");
+        }
+        this.taille = taille;
+        this.moteurX = moteurX;
+        this.moteurO = moteurO;
+        this.reglages = reglages;
+        this.gagnant = gagnant;
+        this.dureeMS = dureeMS;
+        this.forfait = forfait;
+        this.cases = cases;
+        this.tempsMS = tempsMS;
+        this.noeuds = noeuds;
+        this.scores = scores;
+    }
+
+    /**
+     * Crée l'enregistrement d'une partie jouée par l'arbitre
+     * @param resultat Le résultat de la partie
+     * @param taille La taille du plateau
+     * @param moteurX Le nom du moteur qui joue 'X'
+     * @param moteurO Le nom du moteur qui joue 'O'
+     * @param reglages Les réglages de la partie
+     * @return L'enregistrement, avec les métadonnées si le résultat en contient pour chaque coup
+     */
+    public static PartieEnregistree depuisResultat(ResultatPartie resultat, int taille,
+                                                   String moteurX, String moteurO, String reglages) {
+        List<int[]> coups = resultat.getCoups();
+        List<ResultatPartie.InfosCoup> infos = resultat.getInfosCoups();
+        int n = coups.size();
+        byte[] cases = new byte[n];
+        for (int k = 0; k < n; k++) {
+            cases[k] = (byte) (coups.get(k)[0] * taille + coups.get(k)[1]);
+        }
+
+        int[] tempsMS = null;
+        long[] noeuds = null;
+        float[] scores = null;
+        if (infos.size() == n) {
+            tempsMS = new int[n];
+            noeuds = new long[n];
+            scores = new float[n];
+            for (int k = 0; k < n; k++) {
+                tempsMS[k] = infos.get(k).getTempsMS();
+                noeuds[k] = infos.get(k).getNoeuds();
+                scores[k] = infos.get(k).getScore();
+            }
+        }
+        return new PartieEnregistree(taille, moteurX, moteurO, reglages, resultat.getGagnant(),
+                (int) Math.min(Integer.MAX_VALUE, resultat.getDureeMS()), resultat.getForfait(),
+                cases, tempsMS, noeuds, scores);
+    }
+
+    // --------------------- Getters ---------------------
+
+    public int getTaille() {
+        return taille;
+    }
+
+    public String getMoteurX() {
+        return moteurX;
+    }
+
+    public String getMoteurO() {
+        return moteurO;
+    }
+
+    public String getReglages() {
+        return reglages;
+    }
+
+    public char getGagnant() {
+        return gagnant;
+    }
+
+    public int getDureeMS() {
+        return dureeMS;
+    }
+
+    public String getForfait() {
+        return forfait;
+    }
+
+    public int getNombreCoups() {
+        return cases.length;
+    }
+
+    /**
+     * Index de la case du coup k (ligne * taille + colonne)
+     */
+    public int getCase(int k) {
+        return cases[k] & 0xFF;
+    }
+
+    /**
+     * Coup k sous la forme [ligne, colonne]
+     */
+    public int[] getCoup(int k) {
+        return new int[]{getCase(k) / taille, getCase(k) % taille};
+    }
+
+    public boolean aDesInfos() {
+        return tempsMS != null;
+    }
+
+    public int getTempsMS(int k) {
+        return tempsMS[k];
+    }
+
+    public long getNoeuds(int k) {
+        return noeuds[k];
+    }
+
+    public float getScore(int k) {
+        return scores[k];
+    }
+
+    /**
+     * Rejoue la partie jusqu'à un coup donné
+     * @param nombreCoups Le nombre de coups à jouer depuis le début
+     * @return La position obtenue
+     */
+    public EtatDuJeu rejouer(int nombreCoups) {
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        etat.setJoueurActuel('X');
+        for (int k = 0; k < nombreCoups; k++) {
+            int[] coup = getCoup(k);
+            LancerJeu.jouerCoup(etat, coup[0], coup[1]);
+        }
+        return etat;
+    }
+
+    // --------------------- Format texte ---------------------
+
+    /**
+     * Convertit la partie au format texte
+     * @return Le bloc de texte, terminé par une ligne vide
+     */
+    public String versTexte() {
+        StringBuilder sb = new StringBuilder();
+        ajouterEtiquette(sb, "X", moteurX);
+        ajouterEtiquette(sb, "O", moteurO);
+        ajouterEtiquette(sb, "Reglages", reglages);
+        ajouterEtiquette(sb, "Taille", String.valueOf(taille));
+        ajouterEtiquette(sb, "Resultat", gagnant == 'X' ? "1-0" : gagnant == 'O' ? "0-1" : "1/2-1/2");
+        ajouterEtiquette(sb, "Duree", String.valueOf(dureeMS));
+        if (forfait != null) {
+            ajouterEtiquette(sb, "Forfait", forfait);
+        }
+        for (int k = 0; k < cases.length; k++) {
+            if (k > 0) sb.append(' ');
+            int[] coup = getCoup(k);
+            sb.append(notation(coup[0], coup[1]));
+            if (aDesInfos()) {
+                sb.append(String.format(Locale.ROOT, " {%d %d %s}", tempsMS[k], noeuds[k],
+                        Float.isNaN(scores[k]) ? "?" : String.valueOf(scores[k])));
+            }
+        }
+        sb.append("\n\n");
+        return sb.toString();
+    }
+
+    /**
+     * Notation d'un coup : la colonne en lettre (a pour la première) suivie du numéro de ligne (1 pour la première)
+     * @param ligne La ligne du coup
+     * @param colonne La colonne du coup
+     * @return La notation, par exemple "h8"
+     */
+    static String notation(int ligne, int colonne) {
+        return (char) ('a' + colonne) + String.valueOf(ligne + 1);
+    }
+
+    /**
+     * Lit un coup écrit en notation "h8"
+     * @param jeton La notation
+     * @param taille La taille du plateau
+     * @return Le coup [ligne, colonne]
+     */
+    static int[] lireNotation(String jeton, int taille) {
+        int colonne = jeton.isEmpty() ? -1 : Character.toLowerCase(jeton.charAt(0)) - 'a';
+        int ligne;
+        try {
+            ligne = Integer.parseInt(jeton.substring(Math.min(1, jeton.length()))) - 1;
+        } catch (NumberFormatException e) {
+            ligne = -1;
+        }
+        if (colonne < 0 || colonne >= taille || ligne < 0 || ligne >= taille) {
+            throw new IllegalArgumentException("Coup invalide : " + jeton);
+        }
+        return new int[]{ligne, colonne};
+    }
+
+    private static void ajouterEtiquette(StringBuilder sb, String nom, String valeur) {
+        sb.append('[').append(nom).append(" \"")
+                .append(valeur == null ? "" : valeur.replace("\\", "\\\\").replace("\"", "\\\""))
+                .append("\"]\n");
+    }
+
+    /**
+     * Lit toutes les parties d'un texte
+     * @param texte Le texte, contenant un ou plusieurs blocs
+     * @return Les parties lues
+     */
+    public static List<PartieEnregistree> depuisTexte(String texte) {
+        List<PartieEnregistree> parties = new ArrayList<>();
+        List<String> etiquettes = new ArrayList<>();
+        StringBuilder coups = new StringBuilder();
+        for (String ligne : (texte + "\n").split("\\r?\n", -1)) {
+            ligne = ligne.trim();
+            if (ligne.startsWith("[")) {
+                etiquettes.add(ligne);
+            } else if (!ligne.isEmpty()) {
+                coups.append(ligne).append(' ');
+            } else if (!etiquettes.isEmpty()) {
+                parties.add(lireBloc(etiquettes, coups.toString()));
+                etiquettes.clear();
+                coups.setLength(0);
+            }
+        }
+        return parties;
+    }
+
+    private static PartieEnregistree lireBloc(List<String> etiquettes, String texteCoups) {
+        String moteurX = "", moteurO = "", reglages = "", forfait = null;
+        int taille = 15, dureeMS = 0;
+        char gagnant = 'T';
+        for (String etiquette : etiquettes) {
+            int espace = etiquette.indexOf(' ');
+            int debut = etiquette.indexOf('"');
+            int fin = etiquette.lastIndexOf('"');
+            if (espace < 0 || debut < 0 || fin <= debut) {
+                throw new IllegalArgumentException("Étiquette invalide : " + etiquette);
+            }
+            String nom = etiquette.substring(1, espace);
+            String valeur = etiquette.substring(debut + 1, fin).replace("\\\"", "\"").replace("\\\\", "\\");
+            switch (nom) {
+                case "X": moteurX = valeur; break;
+                case "O": moteurO = valeur; break;
+                case "Reglages": reglages = valeur; break;
+                case "Taille": taille = Integer.parseInt(valeur); break;
+                case "Resultat": gagnant = valeur.equals("1-0") ? 'X' : valeur.equals("0-1") ? 'O' : 'T'; break;
+                case "Duree": dureeMS = Integer.parseInt(valeur); break;
+                case "Forfait": forfait = valeur; break;
+                default: break; // étiquettes inconnues ignorées
+            }
+        }
+
+        List<Integer> cases = new ArrayList<>();
+        List<String[]> infos = new ArrayList<>();
+        String[] jetons = texteCoups.trim().isEmpty() ? new String[0] : texteCoups.trim().split("\\s+");
+        for (int i = 0; i < jetons.length; i++) {
+            String jeton = jetons[i];
+            if (jeton.startsWith("{")) {
+                // groupe {temps nœuds score} : trois jetons, fermé par le troisième seulement
+                if (i + 2 >= jetons.length || !jetons[i + 2].endsWith("}")
+                        || jeton.contains("}") || jetons[i + 1].contains("}")) {
+                    String groupe = String.join(" ", Arrays.copyOfRange(jetons, i, Math.min(i + 3, jetons.length)));
+                    throw new IllegalArgumentException("Métadonnées invalides (groupe {temps nœuds score} attendu) : " + groupe);
+                }
+                String[] valeurs = new String[3];
+                for (int v = 0; v < 3; v++) {
+                    valeurs[v] = jetons[i + v].replace("{", "").replace("}", "");
+                }
+                infos.add(valeurs);
+                i += 2;
+                continue;
+            }
+            int[] coup = lireNotation(jeton, taille);
+            cases.add(coup[0] * taille + coup[1]);
+        }
+
+        byte[] octets = new byte[cases.size()];
+        for (int k = 0; k < octets.length; k++) {
+            octets[k] = (byte) (int) cases.get(k);
+        }
+        int[] tempsMS = null;
+        long[] noeuds = null;
+        float[] scores = null;
+        if (!infos.isEmpty()) {
+            if (infos.size() != octets.length) {
+                throw new IllegalArgumentException("Métadonnées manquantes pour certains coups");
+            }
+            tempsMS = new int[octets.length];
+            noeuds = new long[octets.length];
+            scores = new float[octets.length];
+            for (int k = 0; k < octets.length; k++) {
+                String[] valeurs = infos.get(k);
+                tempsMS[k] = Integer.parseInt(valeurs[0]);
+                noeuds[k] = Long.parseLong(valeurs[1]);
+                scores[k] = valeurs[2].equals("?") ? Float.NaN : Float.parseFloat(valeurs[2]);
+            }
+        }
+        return new PartieEnregistree(taille, moteurX, moteurO, reglages, gagnant, dureeMS, forfait,
+                octets, tempsMS, noeuds, scores);
+    }
+}
@@ -0,0 +1,239 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Vecteur des poids d'évaluation utilisés par les IA.
+ *
+ * Chaque poids a un nom et une valeur par défaut (les valeurs réglées à la main d'origine).
+ * Les poids sont enregistrés dans un fichier texte, une ligne "nom = valeur" par poids,
+ * les lignes commençant par # étant des commentaires.
+ *
+ * Au démarrage, les moteurs utilisent les poids courants : ceux du fichier indiqué par la propriété
+ * système gomoku.poids si elle est définie, sinon les valeurs par défaut. Un fichier présent dans le
+ * répertoire courant n'est jamais chargé implicitement. Chaque moteur peut ensuite recevoir ses propres
+ * poids (Joueur.setPoids), par exemple pour opposer des poids réglés aux poids d'origine.
+ */
+public class PoidsEvaluation {
+    public static final String PROPRIETE_FICHIER = "gomoku.poids";
+    // Fichier écrit par défaut par ReglageTexel
+    public static final String FICHIER_PAR_DEFAUT = "poids.txt";
+
+    // Alpha-Beta : formations (longueur, extrémités libres), poids de la défense et de l'adversaire, bonus central
+    public static final int AB_QUATRE_LIBRE = 0;
+    public static final int AB_QUATRE_BLOQUE = 1;
+    public static final int AB_TROIS_LIBRE = 2;
+    public static final int AB_TROIS_BLOQUE = 3;
+    public static final int AB_DEUX_LIBRE = 4;
+    public static final int AB_DEUX_BLOQUE = 5;
+    public static final int AB_UN_LIBRE = 6;
+    public static final int AB_POIDS_DEFENSE = 7;
+    public static final int AB_POIDS_ADVERSAIRE = 8;
+    public static final int AB_CENTRE = 9;
+    // MCTS : formations, poids de l'attaque et bonus central
+    public static final int MCTS_CINQ = 10;
+    public static final int MCTS_QUATRE_LIBRE = 11;
+    public static final int MCTS_QUATRE_BLOQUE = 12;
+    public static final int MCTS_TROIS_LIBRE = 13;
+    public static final int MCTS_TROIS_BLOQUE = 14;
+    public static final int MCTS_DEUX_LIBRE = 15;
+    public static final int MCTS_DEUX_BLOQUE = 16;
+    public static final int MCTS_POIDS_ATTAQUE = 17;
+    public static final int MCTS_CENTRE = 18;
+    // Min-Max basique : fenêtres de 5 cases selon leur nombre de pièces
+    public static final int BASIQUE_UN = 19;
+    public static final int BASIQUE_DEUX = 20;
+    public static final int BASIQUE_TROIS = 21;
+    public static final int BASIQUE_QUATRE = 22;
+
+    private static final String[] NOMS = {
+        "ab.quatre_libre", "ab.quatre_bloque", "ab.trois_libre", "ab.trois_bloque",
+        "ab.deux_libre", "ab.deux_bloque", "ab.un_libre", "ab.poids_defense", "ab.poids_adversaire", "ab.centre",
+        "mcts.cinq", "mcts.quatre_libre", "mcts.quatre_bloque", "mcts.trois_libre", "mcts.trois_bloque",
+        "mcts.deux_libre", "mcts.deux_bloque", "mcts.poids_attaque", "mcts.centre",
+        "basique.un", "basique.deux", "basique.trois", "basique.quatre"
+    };
+
+    private static final double[] DEFAUTS = {
+        200000, 20000, 1500, 150, 70, 15, 5, 0.6, 0.9, 2,
+        100000, 10000, 1000, 500, 100, 50, 10, 1.1, 10,
+        1, 10, 100, 5000
+    };
+
+    private static volatile PoidsEvaluation courants;
+
+    private final double[] valeurs;
+
+    /**
+     * Constructeur à partir d'un vecteur complet de poids
+     * @param valeurs Les valeurs, dans l'ordre des index de cette classe
+     */
+    public PoidsEvaluation(double[] valeurs) {
+        if (valeurs.length != NOMS.length) {
+            throw new IllegalArgumentException("Vecteur de poids de taille " + valeurs.length + ", attendu " + NOMS.length);
+        }
+        this.valeurs = valeurs.clone();
+    }
+
+    /**
+     * Poids réglés à la main d'origine
+     * @return Les poids par défaut
+     */
+    public static PoidsEvaluation parDefaut() {
+        return new PoidsEvaluation(DEFAUTS);
+    }
+
+    /**
+     * Poids utilisés par les moteurs au démarrage, chargés une seule fois
+     * @return Les poids courants
+     */
+    public static PoidsEvaluation courants() {
+        PoidsEvaluation poids = courants;
+        if (poids == null) {
+            synchronized (PoidsEvaluation.class) {
+                if (courants == null) {
+                    courants = chargerAuDemarrage();
+                }
+                poids = courants;
+            }
+        }
+        return poids;
+    }
+
+    private static PoidsEvaluation chargerAuDemarrage() {
+        String chemin = System.getProperty(PROPRIETE_FICHIER);
+        if (chemin == null) {
+            return parDefaut();
+        }
+        Path fichier = Paths.get(chemin);
+        try {
+            return charger(fichier);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Poids d'évaluation illisibles (" + fichier + "), valeurs par défaut utilisées : " + e.getMessage());
+            return parDefaut();
+        }
+    }
+
+    /**
+     * Charge des poids depuis un fichier ; les poids absents gardent leur valeur par défaut
+     * @param fichier Chemin du fichier
+     * @return Les poids chargés
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public static PoidsEvaluation charger(Path fichier) throws IOException {
+        double[] valeurs = DEFAUTS.clone();
+        List<String> lignes = Files.readAllLines(fichier, StandardCharsets.UTF_8);
+        for (String ligne : lignes) {
+            ligne = ligne.trim();
+            if (ligne.isEmpty() || ligne.startsWith("#")) continue;
+            String[] parts = ligne.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Ligne de poids invalide : " + ligne);
+            }
+            valeurs[index(parts[0].trim())] = Double.parseDouble(parts[1].trim());
+        }
+        return new PoidsEvaluation(valeurs);
+    }
+
+    /**
+     * Enregistre les poids dans un fichier texte
+     * @param fichier Chemin du fichier
+     * @throws IOException En cas d'erreur d'écriture
+     */
+    public void sauvegarder(Path fichier) throws IOException {
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            ecrivain.write("# Poids d'évaluation des IA de Gomoku\n");
+            for (int i = 0; i < NOMS.length; i++) {
+                ecrivain.write(String.format(Locale.ROOT, "%s = %s%n", NOMS[i], valeurs[i]));
+            }
+        }
+    }
+
+    /**
+     * Index d'un poids à partir de son nom
+     * @param nom Le nom du poids
+     * @return L'index
+     */
+    public static int index(String nom) {
+        for (int i = 0; i < NOMS.length; i++) {
+            if (NOMS[i].equals(nom)) return i;
+        }
+        throw new IllegalArgumentException("Poids inconnu : " + nom);
+    }
+
+    public static String nom(int index) {
+        return NOMS[index];
+    }
+
+    public double get(int index) {
+        return valeurs[index];
+    }
+
+    /**
+     * Copie du vecteur complet des poids
+     */
+    public double[] versVecteur() {
+        return valeurs.clone();
+    }
+
+    /**
+     * Table des scores par code de formation pour l'évaluation Alpha-Beta
+     * @param scoreVictoire Score d'un alignement de 5
+     * @return La table indexée par code (voir Motifs)
+     */
+    public int[] tableAlphaBeta(int scoreVictoire) {
+        int[] table = new int[Motifs.NB_CODES];
+        for (int ouverts = 0; ouverts <= 2; ouverts++) {
+            table[Motifs.code(5, ouverts)] = scoreVictoire;
+        }
+        table[Motifs.code(4, 2)] = (int) valeurs[AB_QUATRE_LIBRE];
+        table[Motifs.code(4, 1)] = (int) valeurs[AB_QUATRE_BLOQUE];
+        table[Motifs.code(3, 2)] = (int) valeurs[AB_TROIS_LIBRE];
+        table[Motifs.code(3, 1)] = (int) valeurs[AB_TROIS_BLOQUE];
+        table[Motifs.code(2, 2)] = (int) valeurs[AB_DEUX_LIBRE];
+        table[Motifs.code(2, 1)] = (int) valeurs[AB_DEUX_BLOQUE];
+        table[Motifs.code(1, 2)] = (int) valeurs[AB_UN_LIBRE];
+        return table;
+    }
+
+    /**
+     * Table des scores par code de formation pour l'évaluation MCTS
+     * @return La table indexée par code (voir Motifs)
+     */
+    public int[] tableMCTS() {
+        int[] table = new int[Motifs.NB_CODES];
+        for (int ouverts = 0; ouverts <= 2; ouverts++) {
+            table[Motifs.code(5, ouverts)] = (int) valeurs[MCTS_CINQ];
+        }
+        table[Motifs.code(4, 2)] = (int) valeurs[MCTS_QUATRE_LIBRE];
+        table[Motifs.code(4, 1)] = (int) valeurs[MCTS_QUATRE_BLOQUE];
+        table[Motifs.code(3, 2)] = (int) valeurs[MCTS_TROIS_LIBRE];
+        table[Motifs.code(3, 1)] = (int) valeurs[MCTS_TROIS_BLOQUE];
+        table[Motifs.code(2, 2)] = (int) valeurs[MCTS_DEUX_LIBRE];
+        table[Motifs.code(2, 1)] = (int) valeurs[MCTS_DEUX_BLOQUE];
+        return table;
+    }
+
+    /**
+     * Scores des fenêtres de 5 cases pour Min-Max basique, indexés par nombre de pièces (0 à 4)
+     * @return La table des scores
+     */
+    public int[] tableBasique() {
+        return new int[]{0, (int) valeurs[BASIQUE_UN], (int) valeurs[BASIQUE_DEUX],
+                (int) valeurs[BASIQUE_TROIS], (int) valeurs[BASIQUE_QUATRE]};
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < NOMS.length; i++) {
+            sb.append(String.format(Locale.ROOT, "%s = %s%n", NOMS[i], valeurs[i]));
+        }
+        return sb.toString();
+    }
+}
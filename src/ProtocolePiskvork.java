@@ -0,0 +1,315 @@
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Adaptateur du protocole texte Piskvork (Gomocup) sur l'entrée et la sortie standard.
+ *
+ * Il permet de faire jouer une IA contre d'autres moteurs de Gomoku avec un gestionnaire
+ * de parties standard (Piskvork, gomocup manager...). Commandes prises en charge :
+ * - START taille (5 à 20), RESTART, END, ABOUT
+ * - BEGIN (l'IA commence), TURN x,y (coup adverse), BOARD ... DONE (position complète), TAKEBACK x,y
+ * - INFO timeout_turn, timeout_match, time_left, max_memory ; INFO rule n'est accepté que pour le Gomoku
+ *   libre (0) : les autres règles (cinq exact, partie continue, renju, caro) sont refusées par ERROR,
+ *   l'IA ne sachant pas les respecter ; les autres clés sont ignorées
+ *
+ * Les coordonnées du protocole sont x = colonne et y = ligne, à partir de 0.
+ * Les pièces de l'IA sont 'O' et celles de l'adversaire 'X', l'IA étant toujours au trait quand elle cherche.
+ *
+ * La même instance de moteur sert pendant toute la partie, ce qui conserve ses caches et son arbre
+ * d'un tour à l'autre. Le temps de chaque coup est pris sur le temps par coup et sur le temps restant
+ * de la partie, avec une marge ; si le moteur dépasse, il est arrêté et joue son meilleur coup courant.
+ * S'il ne s'arrête pas dans la marge, une case libre est jouée à sa place et le moteur, toujours occupé,
+ * est remplacé par un moteur neuf pour les coups suivants.
+ * Tous les affichages autres que les réponses du protocole sont renvoyés sur la sortie d'erreur ;
+ * les réponses restent en ASCII, sans accents.
+ *
+ * Exemple (script pbrain-gomoku-ia lancé par le gestionnaire) :
+ * java -Xmx256m -cp bin Gomoku piskvork --niveau 3
+ */
+public class ProtocolePiskvork {
+    private static final int TAILLE_MIN = 5;
+    private static final int TAILLE_MAX = HachageZobrist.MAX_TAILLE;
+    private static final int TIMEOUT_TOUR_DEFAUT_MS = 5000;
+    private static final int TEMPS_MIN_MS = 20;
+    private static final int MARGE_MIN_MS = 50;
+    // Nombre de coups restants supposé pour répartir le temps de la partie
+    private static final int COUPS_RESTANTS_ESTIMES = 25;
+
+    private final int niveau;
+    private final int profondeur;
+    private final PrintStream sortie;
+    private Joueur ia;
+    private EtatDuJeu etat;
+
+    // Limites reçues par INFO, en millisecondes et en octets (0 : pas de limite, -1 : inconnu)
+    private int timeoutTour = TIMEOUT_TOUR_DEFAUT_MS;
+    private int timeoutPartie = 0;
+    private int tempsRestant = -1;
+    private long memoireMax = 0;
+
+    /**
+     * Constructeur de l'adaptateur
+     * @param niveau Le niveau de l'IA (voir LancerJeu.creerIA)
+     * @param profondeur Profondeur de recherche (0 pour celle du niveau)
+     * @param sortie Flux des réponses du protocole
+     */
+    public ProtocolePiskvork(int niveau, int profondeur, PrintStream sortie) {
+        this.niveau = niveau;
+        this.profondeur = profondeur;
+        this.sortie = sortie;
+    }
+
+    /**
+     * Lancement en ligne de commande
+     * @param args --niveau n --profondeur p
+     */
+    public static void main(String[] args) throws IOException {
+        int niveau = 3;
+        int profondeur = 0;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--niveau": niveau = Integer.parseInt(valeur); break;
+                case "--profondeur": profondeur = Integer.parseInt(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        // seules les réponses du protocole vont sur la sortie standard
+        PrintStream sortie = new PrintStream(new FileOutputStream(FileDescriptor.out), true, StandardCharsets.US_ASCII);
+        System.setOut(System.err);
+        BufferedReader entree = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.US_ASCII));
+        new ProtocolePiskvork(niveau, profondeur, sortie).executer(entree);
+    }
+
+    /**
+     * Lit et traite les commandes jusqu'à END ou la fin de l'entrée
+     * @param entree Flux des commandes du gestionnaire
+     * @throws IOException En cas d'erreur de lecture
+     */
+    public void executer(BufferedReader entree) throws IOException {
+        String ligne;
+        while ((ligne = entree.readLine()) != null) {
+            ligne = ligne.trim();
+            if (ligne.isEmpty()) continue;
+            int espace = ligne.indexOf(' ');
+            String commande = (espace < 0 ? ligne : ligne.substring(0, espace)).toUpperCase(Locale.ROOT);
+            String arguments = espace < 0 ? "" : ligne.substring(espace + 1).trim();
+            try {
+                switch (commande) {
+                    case "START": demarrer(arguments); break;
+                    case "RESTART": recommencer(); break;
+                    case "BEGIN": jouer(); break;
+                    case "TURN": tour(arguments); break;
+                    case "BOARD": plateau(entree); break;
+                    case "TAKEBACK": reprendre(arguments); break;
+                    case "INFO": info(arguments); break;
+                    case "ABOUT": sortie.println("name=\"Gomoku-IA " + LancerJeu.getNomIA(niveau)
+                            + "\", version=\"1.0\", author=\"SHI Jianye, CAI Josephine\", country=\"FR\""); break;
+                    case "END": return;
+                    default: sortie.println("UNKNOWN " + commande); break;
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                sortie.println("ERROR " + e.getMessage());
+            }
+        }
+    }
+
+    private void demarrer(String arguments) {
+        int taille = Integer.parseInt(arguments);
+        if (taille < TAILLE_MIN || taille > TAILLE_MAX) {
+            throw new IllegalArgumentException("taille non prise en charge " + taille);
+        }
+        etat = new EtatDuJeu(taille);
+        creerMoteur();
+        sortie.println("OK");
+    }
+
+    private void creerMoteur() {
+        ia = LancerJeu.creerIA(niveau, 'O');
+        ia.setVerbeux(false);
+        // la limite porte sur tout le processus : laisser la moitié à la JVM
+        ia.setMemoireMax(memoireMax / 2);
+        ia.nouvellePartie(etat.getTaillePlateau());
+    }
+
+    private void recommencer() {
+        verifierDemarre();
+        etat = new EtatDuJeu(etat.getTaillePlateau());
+        ia.nouvellePartie(etat.getTaillePlateau());
+        sortie.println("OK");
+    }
+
+    private void tour(String arguments) {
+        verifierDemarre();
+        int[] coup = lireCoup(arguments);
+        poser(coup[0], coup[1], 'X');
+        ia.coupAdversaire(coup[0], coup[1]);
+        jouer();
+    }
+
+    // BOARD : une ligne "x,y,joueur" par pièce (1 pour l'IA, 2 pour l'adversaire), jusqu'à DONE
+    private void plateau(BufferedReader entree) throws IOException {
+        verifierDemarre();
+        etat = new EtatDuJeu(etat.getTaillePlateau());
+        String ligne;
+        while ((ligne = entree.readLine()) != null && !ligne.trim().equalsIgnoreCase("DONE")) {
+            String[] parts = ligne.trim().split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("ligne BOARD invalide " + ligne.trim());
+            }
+            int[] coup = lireCoup(parts[0] + "," + parts[1]);
+            poser(coup[0], coup[1], parts[2].trim().equals("1") ? 'O' : 'X');
+        }
+        jouer();
+    }
+
+    private void reprendre(String arguments) {
+        verifierDemarre();
+        int[] coup = lireCoup(arguments);
+        etat.getPlateau()[coup[0]][coup[1]] = '.';
+        etat.setFinDuJeu(false);
+        sortie.println("OK");
+    }
+
+    private void info(String arguments) {
+        String[] parts = arguments.split("\\s+", 2);
+        if (parts.length < 2) return;
+        long valeur;
+        try {
+            valeur = Long.parseLong(parts[1].trim());
+        } catch (NumberFormatException e) {
+            return; // clés textuelles (folder...) ignorées
+        }
+        switch (parts[0].toLowerCase(Locale.ROOT)) {
+            case "timeout_turn": timeoutTour = (int) Math.min(Integer.MAX_VALUE, valeur); break;
+            case "timeout_match": timeoutPartie = (int) Math.min(Integer.MAX_VALUE, valeur); break;
+            case "time_left": tempsRestant = (int) Math.min(Integer.MAX_VALUE, valeur); break;
+            case "max_memory":
+                memoireMax = valeur;
+                if (ia != null) ia.setMemoireMax(memoireMax / 2);
+                break;
+            case "rule":
+                // bits : 1 cinq exact, 2 partie continue, 4 renju, 8 caro ; seul le Gomoku libre est joué
+                if (valeur != 0) {
+                    throw new IllegalArgumentException("regle non prise en charge " + valeur + " (Gomoku libre seulement, rule 0)");
+                }
+                break;
+            default: break; // game_type, evaluate... ignorés
+        }
+    }
+
+    /**
+     * Cherche le coup de l'IA dans le temps imparti, le joue et l'envoie au gestionnaire
+     */
+    private void jouer() {
+        verifierDemarre();
+        int budget = budgetMS(timeoutTour, timeoutPartie > 0 ? tempsRestant : -1);
+        etat.setJoueurActuel('O');
+        CompletableFuture<int[]> recherche = ia.choisirCoup(etat,
+                new LimitesRecherche(budget, profondeur > 0 ? profondeur : LancerJeu.limitesParDefaut(niveau).getProfondeur()));
+        int[] coup;
+        try {
+            try {
+                coup = recherche.get(budget, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // le moteur a atteint son budget : l'arrêter, il renvoie son meilleur coup courant dans la marge
+                ia.arreter();
+                coup = recherche.get(margeMS(budget), TimeUnit.MILLISECONDS);
+            }
+        } catch (TimeoutException e) {
+            // le moteur ne rend pas la main : jouer une case libre et continuer avec un moteur neuf,
+            // l'ancien pouvant encore modifier ses tables
+            System.err.println("Moteur arrêté sans réponse après " + (budget + margeMS(budget)) + " ms, remplacé");
+            recherche.cancel(true);
+            creerMoteur();
+            coup = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            coup = null;
+        } catch (ExecutionException e) {
+            System.err.println("Erreur du moteur : " + e.getCause());
+            coup = null;
+        }
+        if (coup == null || etat.getPlateau()[coup[0]][coup[1]] != '.') {
+            coup = premiereCaseVide();
+        }
+        poser(coup[0], coup[1], 'O');
+        double score = ia.getScoreRecherche();
+        sortie.println("MESSAGE noeuds=" + ia.getNoeudsRecherche()
+                + (Double.isNaN(score) ? "" : String.format(Locale.ROOT, " score=%.3f", score)));
+        sortie.println(coup[1] + "," + coup[0]);
+    }
+
+    /**
+     * Temps de recherche d'un coup : le temps par coup, sans dépasser une part du temps restant de la partie, moins une marge
+     * @param tempsCoup Temps par coup en millisecondes (0 pour le minimum)
+     * @param tempsRestant Temps restant de la partie en millisecondes (négatif si la partie n'est pas limitée)
+     * @return Le temps de recherche en millisecondes
+     */
+    static int budgetMS(long tempsCoup, long tempsRestant) {
+        long budget = tempsCoup > 0 ? tempsCoup : TEMPS_MIN_MS;
+        if (tempsRestant >= 0) {
+            budget = Math.min(budget, tempsRestant / COUPS_RESTANTS_ESTIMES);
+        }
+        return (int) Math.max(TEMPS_MIN_MS, budget - margeMS(budget));
+    }
+
+    /**
+     * Marge laissée au moteur pour rendre son coup au-delà de son temps de recherche
+     * @param budget Le temps de recherche en millisecondes
+     * @return La marge en millisecondes
+     */
+    static int margeMS(long budget) {
+        return (int) Math.max(MARGE_MIN_MS, budget / 10);
+    }
+
+    private int[] premiereCaseVide() {
+        int taille = etat.getTaillePlateau();
+        for (int i = 0; i < taille; i++) {
+            for (int j = 0; j < taille; j++) {
+                if (etat.getPlateau()[i][j] == '.') return new int[]{i, j};
+            }
+        }
+        throw new IllegalStateException("plateau plein");
+    }
+
+    // "x,y" du protocole vers [ligne, colonne]
+    private int[] lireCoup(String texte) {
+        String[] parts = texte.split(",");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("coup invalide " + texte);
+        }
+        int colonne = Integer.parseInt(parts[0].trim());
+        int ligne = Integer.parseInt(parts[1].trim());
+        int taille = etat.getTaillePlateau();
+        if (ligne < 0 || ligne >= taille || colonne < 0 || colonne >= taille) {
+            throw new IllegalArgumentException("coup hors du plateau " + texte);
+        }
+        return new int[]{ligne, colonne};
+    }
+
+    private void poser(int ligne, int colonne, char symbole) {
+        if (etat.getPlateau()[ligne][colonne] != '.') {
+            throw new IllegalArgumentException("case occupee " + colonne + "," + ligne);
+        }
+        etat.getPlateau()[ligne][colonne] = symbole;
+    }
+
+    private void verifierDemarre() {
+        if (etat == null) {
+            throw new IllegalStateException("START attendu");
+        }
+    }
+}
@@ -0,0 +1,325 @@
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Réglage des poids d'évaluation par la méthode de Texel.
+ *
+ * Principe :
+ * - Chaque position de l'ensemble de données (fragments produits par AutoJeu) est réduite une seule fois
+ *   à un vecteur de caractéristiques : le nombre de formations de chaque type pour le joueur au trait
+ *   et pour son adversaire
+ * - L'évaluation d'un moteur est alors linéaire : somme des poids multipliés par les caractéristiques,
+ *   celles de l'adversaire étant éventuellement pondérées
+ * - L'erreur est l'écart quadratique moyen entre sigmoïde(K * évaluation) et le résultat final de la partie
+ * - K est d'abord ajusté avec les poids courants, puis une recherche locale modifie chaque poids
+ *   tant que l'erreur diminue, avec un pas qui se réduit
+ *
+ * Chaque calcul d'erreur est une boucle simple sur des tableaux de primitives, répartie sur tous les cœurs.
+ * Les poids réglés sont écrits dans un fichier de poids, que les moteurs chargent quand la propriété gomoku.poids l'indique.
+ *
+ * Exemple :
+ * java -cp bin ReglageTexel --donnees donnees --moteur ab --sortie poids.txt
+ */
+public class ReglageTexel {
+    private static final double PAS_INITIAL = 0.2;
+    private static final double PAS_MINIMAL = 0.005;
+    private static final double PAS_ECHELLE = 0.05;
+    private static final int ITERATIONS_MAX = 500;
+
+    /**
+     * Modèle linéaire de l'évaluation d'un moteur
+     */
+    private enum Modele {
+        AB(new int[]{PoidsEvaluation.AB_UN_LIBRE, PoidsEvaluation.AB_DEUX_BLOQUE, PoidsEvaluation.AB_DEUX_LIBRE,
+                PoidsEvaluation.AB_TROIS_BLOQUE, PoidsEvaluation.AB_TROIS_LIBRE,
+                PoidsEvaluation.AB_QUATRE_BLOQUE, PoidsEvaluation.AB_QUATRE_LIBRE},
+                new int[]{Motifs.code(1, 2), Motifs.code(2, 1), Motifs.code(2, 2), Motifs.code(3, 1),
+                        Motifs.code(3, 2), Motifs.code(4, 1), Motifs.code(4, 2)},
+                PoidsEvaluation.AB_POIDS_ADVERSAIRE),
+        MCTS(new int[]{PoidsEvaluation.MCTS_DEUX_BLOQUE, PoidsEvaluation.MCTS_DEUX_LIBRE,
+                PoidsEvaluation.MCTS_TROIS_BLOQUE, PoidsEvaluation.MCTS_TROIS_LIBRE,
+                PoidsEvaluation.MCTS_QUATRE_BLOQUE, PoidsEvaluation.MCTS_QUATRE_LIBRE},
+                new int[]{Motifs.code(2, 1), Motifs.code(2, 2), Motifs.code(3, 1),
+                        Motifs.code(3, 2), Motifs.code(4, 1), Motifs.code(4, 2)},
+                -1),
+        // fenêtres de 5 cases contenant 1 à 4 pièces d'un seul joueur
+        BASIQUE(new int[]{PoidsEvaluation.BASIQUE_UN, PoidsEvaluation.BASIQUE_DEUX,
+                PoidsEvaluation.BASIQUE_TROIS, PoidsEvaluation.BASIQUE_QUATRE},
+                null, -1);
+
+        final int[] poids;     // index des poids réglés dans PoidsEvaluation
+        final int[] codes;     // codes de formation correspondants (null : fenêtres de 5 cases)
+        final int echelle;     // index du poids de l'adversaire, ou -1 s'il vaut 1
+
+        Modele(int[] poids, int[] codes, int echelle) {
+            this.poids = poids;
+            this.codes = codes;
+            this.echelle = echelle;
+        }
+    }
+
+    private final Modele modele;
+    private final int m;
+    private final ExecutorService executeur;
+    private final int blocs;
+
+    // caractéristiques : pour l'échantillon s, m valeurs du joueur au trait puis m de l'adversaire
+    private int[] caracteristiques;
+    private float[] resultats;
+    private int nombre;
+
+    private ReglageTexel(Modele modele, int threads) {
+        this.modele = modele;
+        this.m = modele.poids.length;
+        this.executeur = Executors.newFixedThreadPool(threads);
+        this.blocs = threads * 4;
+    }
+
+    /**
+     * Point d'entrée en ligne de commande
+     * @param args --donnees dossier|fichier --moteur ab|mcts|basique --threads N --max n --sortie poids.txt
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Path donnees = Paths.get("autojeu");
+        Modele modele = Modele.AB;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int max = Integer.MAX_VALUE;
+        Path sortie = Paths.get(PoidsEvaluation.FICHIER_PAR_DEFAUT);
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--donnees": donnees = Paths.get(valeur); break;
+                case "--moteur": modele = Modele.valueOf(valeur.toUpperCase(Locale.ROOT)); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--max": max = Integer.parseInt(valeur); break;
+                case "--sortie": sortie = Paths.get(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        ReglageTexel reglage = new ReglageTexel(modele, threads);
+        try {
+            reglage.charger(fragments(donnees), max);
+            PoidsEvaluation poids = reglage.regler(PoidsEvaluation.courants());
+            poids.sauvegarder(sortie);
+            System.out.println("Poids enregistrés dans " + sortie);
+        } finally {
+            reglage.executeur.shutdownNow();
+        }
+    }
+
+    private static List<Path> fragments(Path donnees) throws IOException {
+        List<Path> fichiers = new ArrayList<>();
+        if (Files.isDirectory(donnees)) {
+            try (DirectoryStream<Path> flux = Files.newDirectoryStream(donnees, "*" + EcrivainEchantillons.EXTENSION)) {
+                flux.forEach(fichiers::add);
+            }
+            fichiers.sort(null);
+        } else {
+            fichiers.add(donnees);
+        }
+        return fichiers;
+    }
+
+    /**
+     * Lit les fragments et calcule une fois pour toutes les caractéristiques de chaque position
+     */
+    private void charger(List<Path> fichiers, int max) throws IOException, InterruptedException, ExecutionException {
+        long debut = System.currentTimeMillis();
+        List<LecteurEchantillons> lecteurs = new ArrayList<>();
+        int total = 0;
+        try {
+            for (Path fichier : fichiers) {
+                LecteurEchantillons lecteur = new LecteurEchantillons(fichier);
+                lecteurs.add(lecteur);
+                total += lecteur.getNombre();
+            }
+            nombre = Math.min(total, max);
+            caracteristiques = new int[nombre * 2 * m];
+            resultats = new float[nombre];
+
+            // chaque tâche traite une plage d'un fragment et écrit à sa place dans les tableaux
+            List<Callable<Void>> taches = new ArrayList<>();
+            int decalage = 0;
+            for (LecteurEchantillons lecteur : lecteurs) {
+                int n = Math.min(lecteur.getNombre(), nombre - decalage);
+                int pas = Math.max(1, n / blocs + 1);
+                for (int a = 0; a < n; a += pas) {
+                    int debutPlage = a, finPlage = Math.min(n, a + pas), base = decalage;
+                    taches.add(() -> {
+                        extraire(lecteur, debutPlage, finPlage, base);
+                        return null;
+                    });
+                }
+                decalage += n;
+                if (decalage >= nombre) break;
+            }
+            for (Future<Void> f : executeur.invokeAll(taches)) {
+                f.get();
+            }
+        } finally {
+            for (LecteurEchantillons lecteur : lecteurs) {
+                lecteur.close();
+            }
+        }
+        System.out.printf("%d positions chargées depuis %d fragments en %d ms%n",
+                nombre, fichiers.size(), System.currentTimeMillis() - debut);
+    }
+
+    private void extraire(LecteurEchantillons lecteur, int debutPlage, int finPlage, int base) {
+        int[] comptesJoueur = new int[Math.max(Motifs.NB_CODES, 5)];
+        int[] comptesAdversaire = new int[comptesJoueur.length];
+        for (int i = debutPlage; i < finPlage; i++) {
+            EtatDuJeu etat = lecteur.getEtat(i);
+            Arrays.fill(comptesJoueur, 0);
+            Arrays.fill(comptesAdversaire, 0);
+            char joueur = etat.getJoueurActuel();
+            char adversaire = joueur == 'X' ? 'O' : 'X';
+            if (modele.codes == null) {
+                FonctionValeurLineaire.compterFenetres(etat, comptesJoueur, comptesAdversaire);
+            } else {
+                Motifs.compter(etat.getPlateau(), joueur, etat.getTaillePlateau(), comptesJoueur);
+                Motifs.compter(etat.getPlateau(), adversaire, etat.getTaillePlateau(), comptesAdversaire);
+            }
+
+            int s = base + i;
+            int offset = s * 2 * m;
+            for (int k = 0; k < m; k++) {
+                int index = modele.codes == null ? k + 1 : modele.codes[k];
+                caracteristiques[offset + k] = comptesJoueur[index];
+                caracteristiques[offset + m + k] = comptesAdversaire[index];
+            }
+            resultats[s] = lecteur.getResultat(i) / 2f;
+        }
+    }
+
+    /**
+     * Ajuste K puis règle les poids du modèle par recherche locale
+     * @param initiaux Les poids de départ
+     * @return Les poids réglés (les poids hors du modèle sont inchangés)
+     */
+    private PoidsEvaluation regler(PoidsEvaluation initiaux) throws InterruptedException, ExecutionException {
+        double[] vecteur = initiaux.versVecteur();
+        double[] w = new double[m];
+        for (int k = 0; k < m; k++) {
+            w[k] = vecteur[modele.poids[k]];
+        }
+        double echelle = modele.echelle >= 0 ? vecteur[modele.echelle] : 1.0;
+
+        double k = ajusterK(w, echelle);
+        double erreur = erreur(w, echelle, k);
+        System.out.printf(Locale.ROOT, "K = %.3g, erreur initiale %.6f%n", k, erreur);
+
+        double pas = PAS_INITIAL;
+        int iteration = 0;
+        while (pas >= PAS_MINIMAL && iteration < ITERATIONS_MAX) {
+            boolean ameliore = false;
+            for (int p = 0; p < m; p++) {
+                double ancien = w[p];
+                for (double facteur : new double[]{1 + pas, 1 - pas}) {
+                    w[p] = ancien * facteur;
+                    double e = erreur(w, echelle, k);
+                    if (e < erreur) {
+                        erreur = e;
+                        ancien = w[p];
+                        ameliore = true;
+                        break;
+                    }
+                    w[p] = ancien;
+                }
+            }
+            if (modele.echelle >= 0) {
+                for (double delta : new double[]{PAS_ECHELLE, -PAS_ECHELLE}) {
+                    double e = erreur(w, echelle + delta, k);
+                    if (e < erreur && echelle + delta > 0) {
+                        erreur = e;
+                        echelle += delta;
+                        ameliore = true;
+                        break;
+                    }
+                }
+            }
+            iteration++;
+            System.out.printf(Locale.ROOT, "Itération %d, pas %.3f : erreur %.6f%n", iteration, pas, erreur);
+            if (!ameliore) {
+                pas /= 2;
+            }
+        }
+
+        for (int p = 0; p < m; p++) {
+            vecteur[modele.poids[p]] = Math.max(1, Math.round(w[p]));
+            System.out.printf(Locale.ROOT, "%s = %.0f%n", PoidsEvaluation.nom(modele.poids[p]), vecteur[modele.poids[p]]);
+        }
+        if (modele.echelle >= 0) {
+            vecteur[modele.echelle] = echelle;
+            System.out.printf(Locale.ROOT, "%s = %.2f%n", PoidsEvaluation.nom(modele.echelle), echelle);
+        }
+        return new PoidsEvaluation(vecteur);
+    }
+
+    /**
+     * Cherche le K minimisant l'erreur avec les poids donnés (recherche par section dorée sur log K)
+     */
+    private double ajusterK(double[] w, double echelle) throws InterruptedException, ExecutionException {
+        double a = Math.log(1e-7), b = Math.log(1e-1);
+        double r = (Math.sqrt(5) - 1) / 2;
+        for (int i = 0; i < 40; i++) {
+            double c = b - r * (b - a);
+            double d = a + r * (b - a);
+            if (erreur(w, echelle, Math.exp(c)) < erreur(w, echelle, Math.exp(d))) {
+                b = d;
+            } else {
+                a = c;
+            }
+        }
+        return Math.exp((a + b) / 2);
+    }
+
+    /**
+     * Erreur quadratique moyenne des prédictions, calculée en parallèle
+     */
+    private double erreur(double[] w, double echelle, double k) throws InterruptedException, ExecutionException {
+        double[] poids = w.clone();
+        int pas = nombre / blocs + 1;
+        List<Callable<Double>> taches = new ArrayList<>();
+        for (int a = 0; a < nombre; a += pas) {
+            int debut = a, fin = Math.min(nombre, a + pas);
+            taches.add(() -> sommeErreurs(poids, echelle, k, debut, fin));
+        }
+        double somme = 0;
+        for (Future<Double> f : executeur.invokeAll(taches)) {
+            somme += f.get();
+        }
+        return somme / Math.max(1, nombre);
+    }
+
+    private double sommeErreurs(double[] w, double echelle, double k, int debut, int fin) {
+        int[] c = caracteristiques;
+        double somme = 0;
+        for (int s = debut; s < fin; s++) {
+            int offset = s * 2 * m;
+            double eval = 0;
+            for (int p = 0; p < m; p++) {
+                eval += w[p] * (c[offset + p] - echelle * c[offset + m + p]);
+            }
+            double prediction = 1.0 / (1.0 + Math.exp(-k * eval));
+            double ecart = prediction - resultats[s];
+            somme += ecart * ecart;
+        }
+        return somme;
+    }
+}
@@ -0,0 +1,132 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Résultat d'une partie jouée sans interface graphique.
+ *
+ * Il contient :
+ * - Le gagnant ('X', 'O' ou 'T' pour un match nul)
+ * - La liste des coups joués, dans l'ordre, avec le temps, les nœuds et le score de chaque recherche
+ * - La durée de la partie
+ * - Le motif d'une défaite par forfait (coup illégal ou erreur du moteur), le cas échéant
+ */
+public class ResultatPartie {
+    private final char gagnant;
+    private final List<int[]> coups;
+    private final List<InfosCoup> infosCoups;
+    private final long dureeMS;
+    private final String forfait;
+
+    /**
+     * Constructeur du résultat
+     * @param gagnant Le gagnant ('X', 'O' ou 'T')
+     * @param coups Les coups joués [ligne, colonne]
+     * @param dureeMS La durée de la partie en millisecondes
+     * @param forfait Le motif du forfait, ou null si la partie s'est terminée normalement
+     */
+    public ResultatPartie(char gagnant, List<int[]> coups, long dureeMS, String forfait) {
+        this(gagnant, coups, Collections.emptyList(), dureeMS, forfait);
+    }
+
+    /**
+     * Constructeur du résultat avec les informations de recherche de chaque coup
+     * @param gagnant Le gagnant ('X', 'O' ou 'T')
+     * @param coups Les coups joués [ligne, colonne]
+     * @param infosCoups Les informations de recherche, une par coup joué (ou une liste vide)
+     * @param dureeMS La durée de la partie en millisecondes
+     * @param forfait Le motif du forfait, ou null si la partie s'est terminée normalement
+     */
+    public ResultatPartie(char gagnant, List<int[]> coups, List<InfosCoup> infosCoups, long dureeMS, String forfait) {
+        this.gagnant = gagnant;
+        this.coups = Collections.unmodifiableList(new ArrayList<>(coups));
+        this.infosCoups = Collections.unmodifiableList(new ArrayList<>(infosCoups));
+        this.dureeMS = dureeMS;
+        this.forfait = forfait;
+    }
+
+    /**
+     * Informations de la recherche ayant produit un coup
+     */
+    public static class InfosCoup {
+        private final int tempsMS;
+        private final long noeuds;
+        private final float score;
+        // Statistiques détaillées de la recherche, ou null (elles ne sont pas enregistrées dans les fichiers de parties)
+        private final StatistiquesRecherche statistiques;
+
+        /**
+         * Constructeur des informations d'un coup
+         * @param tempsMS Le temps de réflexion en millisecondes
+         * @param noeuds Le nombre de nœuds (ou de simulations) explorés
+         * @param score Le score de la recherche, ou NaN s'il est inconnu
+         */
+        public InfosCoup(int tempsMS, long noeuds, float score) {
+            this(tempsMS, noeuds, score, null);
+        }
+
+        /**
+         * Constructeur des informations d'un coup avec les statistiques de sa recherche
+         * @param tempsMS Le temps de réflexion en millisecondes
+         * @param noeuds Le nombre de nœuds (ou de simulations) explorés
+         * @param score Le score de la recherche, ou NaN s'il est inconnu
+         * @param statistiques Les statistiques de la recherche, ou null
+         */
+        public InfosCoup(int tempsMS, long noeuds, float score, StatistiquesRecherche statistiques) {
+            this.tempsMS = tempsMS;
+            this.noeuds = noeuds;
+            this.score = score;
+            this.statistiques = statistiques;
+        }
+
+        public int getTempsMS() {
+            return tempsMS;
+        }
+
+        public long getNoeuds() {
+            return noeuds;
+        }
+
+        public float getScore() {
+            return score;
+        }
+
+        public StatistiquesRecherche getStatistiques() {
+            return statistiques;
+        }
+    }
+
+    public char getGagnant() {
+        return gagnant;
+    }
+
+    public List<int[]> getCoups() {
+        return coups;
+    }
+
+    public List<InfosCoup> getInfosCoups() {
+        return infosCoups;
+    }
+
+    public int getNombreCoups() {
+        return coups.size();
+    }
+
+    public long getDureeMS() {
+        return dureeMS;
+    }
+
+    public String getForfait() {
+        return forfait;
+    }
+
+    /**
+     * Score de la partie pour un joueur
+     * @param symbole Le symbole du joueur
+     * @return 1 pour une victoire, 0.5 pour un match nul, 0 pour une défaite
+     */
+    public double scorePour(char symbole) {
+        if (gagnant == 'T') return 0.5;
+        return gagnant == symbole ? 1.0 : 0.0;
+    }
+}
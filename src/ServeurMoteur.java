@@ -0,0 +1,393 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serveur de moteur multi-parties : un seul processus sert de nombreuses parties simultanées
+ * (échelle de bots, services de jeu) sur une socket TCP locale ou une socket Unix.
+ *
+ * Chaque connexion est une session avec sa propre partie et sa propre instance de moteur, puisque
+ * les moteurs gardent un état de recherche ; seul le cache de recherche persistant est partagé
+ * (voir CacheRecherche). Les recherches de toutes les sessions passent par un même groupe borné
+ * de threads de calcul :
+ * - Équité : une session attend son coup avant d'en demander un autre, elle n'a donc jamais plus
+ *   d'une demande dans la file, servie dans l'ordre d'arrivée
+ * - Contrôle d'admission : nombre maximal de sessions et file d'attente bornée ; au-delà, la
+ *   connexion ou la demande est refusée au lieu de dégrader toutes les parties
+ * - Budget de temps par session : temps par coup et temps total de la partie, l'attente dans la
+ *   file étant décomptée du temps du coup
+ * - Statistiques : débit en coups par seconde, percentiles de latence et d'attente (commande STATS)
+ *
+ * Protocole texte, une commande par ligne et une réponse par ligne (OK, COUP, STATS ou ERROR) :
+ * - NOUVELLE [niveau] [taille] : nouvelle partie, X commence (niveau 3 et taille 15 par défaut)
+ * - BUDGET tempsCoupMS [tempsPartieMS] : temps de réflexion par coup et pour toute la partie
+ * - PROFONDEUR p : profondeur des moteurs Minimax (0 pour celle du niveau)
+ * - JOUE h8 : joue un coup pour le joueur au trait
+ * - POSITION h8 h9 ... : remplace la position par la suite de coups donnée
+ * - COUP : le moteur joue pour le joueur au trait, réponse "COUP h8 noeuds=... ms=..."
+ * - STATS, FIN
+ * Les réponses se terminent par " victoire" ou " nulle" quand le coup termine la partie.
+ *
+ * Exemple :
+ * java -cp bin ServeurMoteur --port 7777 --threads 8 --sessions 200 --file 32
+ * java -cp bin ServeurMoteur --socket /tmp/gomoku.sock
+ */
+public class ServeurMoteur {
+    private static final int PORT_DEFAUT = 7777;
+    private static final int TAILLE_PLATEAU = 15;
+    private static final int NIVEAU_DEFAUT = 3;
+    private static final int TEMPS_COUP_DEFAUT_MS = 1000;
+    // Nombre de mesures conservées pour les percentiles
+    private static final int ECHANTILLONS = 4096;
+
+    private final int sessionsMax;
+    private final ThreadPoolExecutor executeur;
+    private final ScheduledExecutorService minuteur;
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final AtomicInteger prochaineSession = new AtomicInteger();
+    private final Statistiques statistiques = new Statistiques();
+
+    /**
+     * Constructeur du serveur
+     * @param threads Nombre de recherches menées en parallèle
+     * @param sessionsMax Nombre maximal de sessions ouvertes
+     * @param fileMax Nombre maximal de demandes de coup en attente d'un thread de calcul
+     */
+    public ServeurMoteur(int threads, int sessionsMax, int fileMax) {
+        this.sessionsMax = sessionsMax;
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fileMax), r -> {
+                    Thread thread = new Thread(r, "serveur-gomoku-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.minuteur = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "serveur-gomoku-minuteur");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lancement en ligne de commande
+     * @param args --port p | --socket chemin, --threads n --sessions n --file n
+     */
+    public static void main(String[] args) throws IOException {
+        int port = PORT_DEFAUT;
+        Path socket = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int sessionsMax = 64;
+        int fileMax = -1;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--port": port = Integer.parseInt(valeur); break;
+                case "--socket": socket = Paths.get(valeur); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--sessions": sessionsMax = Integer.parseInt(valeur); break;
+                case "--file": fileMax = Integer.parseInt(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+        if (fileMax < 0) {
+            fileMax = 4 * threads;
+        }
+
+        ServerSocketChannel canal;
+        if (socket != null) {
+            Files.deleteIfExists(socket);
+            canal = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            canal.bind(UnixDomainSocketAddress.of(socket));
+            socket.toFile().deleteOnExit();
+        } else {
+            canal = ServerSocketChannel.open();
+            canal.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        }
+        System.out.println("Serveur à l'écoute sur " + canal.getLocalAddress() + " (" + threads + " threads, "
+                + sessionsMax + " sessions, file de " + fileMax + ")");
+        new ServeurMoteur(threads, sessionsMax, fileMax).servir(canal);
+    }
+
+    /**
+     * Accepte les connexions jusqu'à la fermeture du canal ; chaque connexion est servie par son propre thread
+     * @param canal Canal d'écoute (TCP ou Unix)
+     * @throws IOException En cas d'erreur d'acceptation
+     */
+    public void servir(ServerSocketChannel canal) throws IOException {
+        while (canal.isOpen()) {
+            SocketChannel client = canal.accept();
+            if (sessions.incrementAndGet() > sessionsMax) {
+                sessions.decrementAndGet();
+                statistiques.rejeter();
+                try (PrintStream sortie = flux(client)) {
+                    sortie.println("ERROR serveur plein");
+                }
+                continue;
+            }
+            Thread thread = new Thread(() -> servirSession(client), "session-gomoku-" + prochaineSession.incrementAndGet());
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private static PrintStream flux(SocketChannel client) {
+        return new PrintStream(Channels.newOutputStream(client), true, StandardCharsets.US_ASCII);
+    }
+
+    private void servirSession(SocketChannel client) {
+        try (SocketChannel c = client) {
+            BufferedReader entree = new BufferedReader(new InputStreamReader(Channels.newInputStream(c), StandardCharsets.US_ASCII));
+            PrintStream sortie = flux(c);
+            Session session = new Session();
+            String ligne;
+            while ((ligne = entree.readLine()) != null) {
+                ligne = ligne.trim();
+                if (ligne.isEmpty()) continue;
+                String[] parts = ligne.split("\\s+");
+                String commande = parts[0].toUpperCase(Locale.ROOT);
+                if (commande.equals("FIN")) {
+                    sortie.println("OK");
+                    break;
+                }
+                String reponse;
+                try {
+                    reponse = session.traiter(commande, Arrays.copyOfRange(parts, 1, parts.length));
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    reponse = "ERROR " + e.getMessage();
+                }
+                sortie.println(reponse);
+            }
+        } catch (IOException e) {
+            System.err.println("Session interrompue : " + e.getMessage());
+        } finally {
+            sessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Décrit l'état du serveur sur une ligne
+     * @return sessions ouvertes, recherches en cours et en attente, puis les statistiques de coups
+     */
+    public String getStatistiques() {
+        return "STATS sessions=" + sessions.get() + " actives=" + executeur.getActiveCount()
+                + " file=" + executeur.getQueue().size() + " " + statistiques;
+    }
+
+    /**
+     * Une partie servie sur une connexion, avec son moteur et son budget de temps
+     */
+    private class Session {
+        private int niveau = NIVEAU_DEFAUT;
+        private int profondeur = 0;
+        private EtatDuJeu etat = nouvelEtat(TAILLE_PLATEAU);
+        private Joueur ia;
+
+        // Budget de temps en millisecondes (tempsRestant négatif : partie sans limite)
+        private int tempsCoup = TEMPS_COUP_DEFAUT_MS;
+        private long tempsPartie = 0;
+        private long tempsRestant = -1;
+
+        String traiter(String commande, String[] args) {
+            switch (commande) {
+                case "NOUVELLE": return nouvelle(args);
+                case "BUDGET":
+                    tempsCoup = Integer.parseInt(argument(args, 0));
+                    tempsPartie = args.length > 1 ? Long.parseLong(args[1]) : 0;
+                    tempsRestant = tempsPartie > 0 ? tempsPartie : -1;
+                    return "OK";
+                case "PROFONDEUR":
+                    profondeur = Integer.parseInt(argument(args, 0));
+                    return "OK";
+                case "JOUE": return "OK" + jouer(PartieEnregistree.lireNotation(argument(args, 0), etat.getTaillePlateau()));
+                case "POSITION": return position(args);
+                case "COUP": return coup();
+                case "STATS": return getStatistiques();
+                default: return "ERROR commande inconnue " + commande;
+            }
+        }
+
+        private String nouvelle(String[] args) {
+            int n = args.length > 0 ? Integer.parseInt(args[0]) : NIVEAU_DEFAUT;
+            int taille = args.length > 1 ? Integer.parseInt(args[1]) : TAILLE_PLATEAU;
+            LancerJeu.limitesParDefaut(n);  // vérifie le niveau
+            if (taille < 5 || taille > HachageZobrist.MAX_TAILLE) {
+                throw new IllegalArgumentException("taille non prise en charge " + taille);
+            }
+            niveau = n;
+            etat = nouvelEtat(taille);
+            ia = null;
+            tempsRestant = tempsPartie > 0 ? tempsPartie : -1;
+            return "OK";
+        }
+
+        private String position(String[] coups) {
+            EtatDuJeu precedent = etat;
+            etat = nouvelEtat(etat.getTaillePlateau());
+            try {
+                for (String coup : coups) {
+                    jouer(PartieEnregistree.lireNotation(coup, etat.getTaillePlateau()));
+                }
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                etat = precedent;
+                throw e;
+            }
+            // le moteur ne connaît pas la nouvelle position : repartir d'un moteur neuf
+            ia = null;
+            return "OK";
+        }
+
+        // joue un coup pour le joueur au trait et renvoie le suffixe de fin de partie
+        private String jouer(int[] coup) {
+            if (etat.estFinDuJeu()) {
+                throw new IllegalStateException("partie terminee");
+            }
+            if (etat.getPlateau()[coup[0]][coup[1]] != '.') {
+                throw new IllegalArgumentException("case occupee " + PartieEnregistree.notation(coup[0], coup[1]));
+            }
+            char joueur = etat.getJoueurActuel();
+            int[] resultat = LancerJeu.jouerCoup(etat, coup[0], coup[1]);
+            if (ia != null && ia.getSymbole() != joueur) {
+                ia.coupAdversaire(coup[0], coup[1]);
+            }
+            return resultat[0] == 1 ? " victoire" : resultat[0] == 0 ? " nulle" : "";
+        }
+
+        private String coup() {
+            if (etat.estFinDuJeu()) {
+                throw new IllegalStateException("partie terminee");
+            }
+            if (ia == null || ia.getSymbole() != etat.getJoueurActuel()) {
+                ia = LancerJeu.creerIA(niveau, etat.getJoueurActuel());
+                ia.setVerbeux(false);
+                ia.setMemoireMax(Runtime.getRuntime().maxMemory() / 2 / sessionsMax);
+                ia.nouvellePartie(etat.getTaillePlateau());
+            }
+
+            long arrivee = System.nanoTime();
+            Future<int[]> tache;
+            try {
+                tache = executeur.submit(() -> rechercher(arrivee));
+            } catch (RejectedExecutionException e) {
+                statistiques.rejeter();
+                return "ERROR surcharge";
+            }
+            int[] coup;
+            try {
+                coup = tache.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                tache.cancel(true);
+                return "ERROR interrompu";
+            } catch (ExecutionException e) {
+                return "ERROR moteur " + e.getCause();
+            }
+            long latenceMS = (System.nanoTime() - arrivee) / 1_000_000;
+            if (tempsRestant >= 0) {
+                tempsRestant = Math.max(0, tempsRestant - latenceMS);
+            }
+            long noeuds = ia.getNoeudsRecherche();
+            return "COUP " + PartieEnregistree.notation(coup[0], coup[1]) + " noeuds=" + noeuds + " ms=" + latenceMS + jouer(coup);
+        }
+
+        // exécuté par un thread de calcul : le temps passé dans la file est pris sur le budget du coup
+        private int[] rechercher(long arrivee) {
+            long attenteMS = (System.nanoTime() - arrivee) / 1_000_000;
+            int budget = ProtocolePiskvork.budgetMS(tempsCoup - attenteMS, tempsRestant < 0 ? -1 : Math.max(0, tempsRestant - attenteMS));
+            LimitesRecherche limites = new LimitesRecherche(budget,
+                    profondeur > 0 ? profondeur : LancerJeu.limitesParDefaut(niveau).getProfondeur());
+            // les moteurs sans contrôle du temps sont arrêtés à l'échéance
+            ScheduledFuture<?> garde = minuteur.schedule(ia::arreter, budget + ProtocolePiskvork.margeMS(budget), TimeUnit.MILLISECONDS);
+            try {
+                int[] coup = ia.choisirCoup(etat, limites, Runnable::run).join();
+                statistiques.enregistrer(attenteMS, (System.nanoTime() - arrivee) / 1_000_000);
+                return coup;
+            } finally {
+                garde.cancel(false);
+            }
+        }
+    }
+
+    private static EtatDuJeu nouvelEtat(int taille) {
+        EtatDuJeu etat = new EtatDuJeu(taille);
+        etat.setJoueurActuel('X');
+        return etat;
+    }
+
+    private static String argument(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("argument manquant");
+        }
+        return args[index];
+    }
+
+    /**
+     * Débit et percentiles des derniers coups servis
+     */
+    private static class Statistiques {
+        private final long debut = System.nanoTime();
+        private final long[] latences = new long[ECHANTILLONS];
+        private final long[] attentes = new long[ECHANTILLONS];
+        private long coups = 0;
+        private long rejets = 0;
+
+        synchronized void enregistrer(long attenteMS, long latenceMS) {
+            int i = (int) (coups % ECHANTILLONS);
+            attentes[i] = attenteMS;
+            latences[i] = latenceMS;
+            coups++;
+        }
+
+        synchronized void rejeter() {
+            rejets++;
+        }
+
+        // percentile p (0 à 100) des n premières mesures déjà triées
+        private static long percentile(long[] tries, int n, double p) {
+            if (n == 0) return 0;
+            int rang = (int) Math.ceil(p / 100 * n) - 1;
+            return tries[Math.max(0, Math.min(n - 1, rang))];
+        }
+
+        @Override
+        public synchronized String toString() {
+            int n = (int) Math.min(coups, ECHANTILLONS);
+            long[] l = Arrays.copyOf(latences, n);
+            long[] a = Arrays.copyOf(attentes, n);
+            Arrays.sort(l);
+            Arrays.sort(a);
+            double secondes = (System.nanoTime() - debut) / 1e9;
+            return String.format(Locale.ROOT,
+                    "coups=%d rejets=%d debit=%.2f/s latence_p50=%d latence_p90=%d latence_p99=%d latence_max=%d attente_p50=%d attente_p99=%d",
+                    coups, rejets, coups / secondes,
+                    percentile(l, n, 50), percentile(l, n, 90), percentile(l, n, 99), n == 0 ? 0 : l[n - 1],
+                    percentile(a, n, 50), percentile(a, n, 99));
+        }
+    }
+}
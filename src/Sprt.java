@@ -0,0 +1,144 @@
+import java.util.Locale;
+
+/**
+ * Estimation de la différence d'Elo entre deux IA et test séquentiel du rapport de vraisemblance (SPRT).
+ *
+ * À partir des victoires, nuls et défaites d'un match, cette classe calcule :
+ * - La différence d'Elo estimée et son intervalle de confiance à 95 %
+ * - Le logarithme du rapport de vraisemblance (LLR) entre H0 (Elo = elo0) et H1 (Elo = elo1),
+ *   selon l'approximation normale du modèle trinomial
+ * - La décision du test : continuer, accepter H0 ou accepter H1
+ *
+ * Le match peut ainsi s'arrêter dès que le test conclut, avec des risques d'erreur alpha et beta.
+ */
+public class Sprt {
+
+    /**
+     * Décision du test après un certain nombre de parties
+     */
+    public enum Decision {
+        EN_COURS, H0_ACCEPTEE, H1_ACCEPTEE
+    }
+
+    private static final double Z_95 = 1.959964;
+    private static final double SCORE_MIN = 1e-6;
+
+    private final double elo0;
+    private final double elo1;
+    private final double borneInferieure;
+    private final double borneSuperieure;
+
+    /**
+     * Constructeur du test
+     * @param elo0 Différence d'Elo de l'hypothèse nulle
+     * @param elo1 Différence d'Elo de l'hypothèse alternative
+     * @param alpha Risque d'accepter H1 à tort
+     * @param beta Risque d'accepter H0 à tort
+     */
+    public Sprt(double elo0, double elo1, double alpha, double beta) {
+        if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+            throw new IllegalArgumentException("Paramètres SPRT invalides");
+        }
+        this.elo0 = elo0;
+        this.elo1 = elo1;
+        this.borneInferieure = Math.log(beta / (1 - alpha));
+        this.borneSuperieure = Math.log((1 - beta) / alpha);
+    }
+
+    /**
+     * Test par défaut : H0 Elo = 0 contre H1 Elo = 50, avec alpha = beta = 5 %
+     * @return Le test SPRT
+     */
+    public static Sprt parDefaut() {
+        return new Sprt(0, 50, 0.05, 0.05);
+    }
+
+    /**
+     * Calcule le LLR du match
+     * @param victoires Victoires de la première IA
+     * @param nuls Matchs nuls
+     * @param defaites Défaites de la première IA
+     * @return Le logarithme du rapport de vraisemblance de H1 contre H0
+     */
+    public double llr(int victoires, int nuls, int defaites) {
+        if (victoires + nuls + defaites == 0) return 0;
+        double[] moments = moments(victoires, nuls, defaites);
+        double n = victoires + nuls + defaites;
+        double s0 = scoreAttendu(elo0);
+        double s1 = scoreAttendu(elo1);
+        return n * (s1 - s0) * (2 * moments[0] - s0 - s1) / (2 * moments[1]);
+    }
+
+    /**
+     * Décide du test pour le match
+     * @param victoires Victoires de la première IA
+     * @param nuls Matchs nuls
+     * @param defaites Défaites de la première IA
+     * @return La décision
+     */
+    public Decision decision(int victoires, int nuls, int defaites) {
+        double llr = llr(victoires, nuls, defaites);
+        if (llr >= borneSuperieure) return Decision.H1_ACCEPTEE;
+        if (llr <= borneInferieure) return Decision.H0_ACCEPTEE;
+        return Decision.EN_COURS;
+    }
+
+    /**
+     * Estime la différence d'Elo de la première IA et son intervalle de confiance à 95 %
+     * @param victoires Victoires de la première IA
+     * @param nuls Matchs nuls
+     * @param defaites Défaites de la première IA
+     * @return {Elo, borne inférieure, borne supérieure}
+     */
+    public static double[] estimerElo(int victoires, int nuls, int defaites) {
+        int n = victoires + nuls + defaites;
+        if (n == 0) return new double[]{0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double score = (victoires + 0.5 * nuls) / n;
+        double ecart = Z_95 * Math.sqrt(moments(victoires, nuls, defaites)[1] / n);
+        return new double[]{elo(score), elo(score - ecart), elo(score + ecart)};
+    }
+
+    /**
+     * Résumé lisible de l'estimation et du test
+     * @param victoires Victoires de la première IA
+     * @param nuls Matchs nuls
+     * @param defaites Défaites de la première IA
+     * @return Le résumé
+     */
+    public String resume(int victoires, int nuls, int defaites) {
+        double[] e = estimerElo(victoires, nuls, defaites);
+        return String.format(Locale.ROOT, "Elo %+.0f [%+.0f, %+.0f], LLR %.2f (%.2f, %.2f) : %s",
+                e[0], e[1], e[2], llr(victoires, nuls, defaites), borneInferieure, borneSuperieure,
+                decision(victoires, nuls, defaites));
+    }
+
+    /**
+     * Moyenne et variance par partie du score, avec un demi-résultat fictif dans chaque catégorie
+     * quand l'une d'elles est vide, pour éviter une variance nulle en début de match
+     */
+    private static double[] moments(int victoires, int nuls, int defaites) {
+        double v = victoires, d = nuls, l = defaites;
+        if (victoires == 0 || nuls == 0 || defaites == 0) {
+            v += 0.5; d += 0.5; l += 0.5;
+        }
+        double n = v + d + l;
+        double moyenne = (v + 0.5 * d) / n;
+        double variance = (v * Math.pow(1 - moyenne, 2) + d * Math.pow(0.5 - moyenne, 2) + l * Math.pow(moyenne, 2)) / n;
+        return new double[]{moyenne, variance};
+    }
+
+    /**
+     * Score attendu pour une différence d'Elo (modèle logistique)
+     */
+    private static double scoreAttendu(double elo) {
+        return 1 / (1 + Math.pow(10, -elo / 400));
+    }
+
+    /**
+     * Différence d'Elo correspondant à un score moyen
+     */
+    private static double elo(double score) {
+        score = Math.max(SCORE_MIN, Math.min(1 - SCORE_MIN, score));
+        return -400 * Math.log10(1 / score - 1);
+    }
+}
@@ -0,0 +1,297 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Statistiques d'une recherche de coup, publiées par le moteur à la fin de la recherche (voir Joueur.getStatistiques).
+ *
+ * Pendant la recherche, les compteurs sont de simples champs du moteur, modifiés par le seul thread
+ * qui cherche et donc sans synchronisation ; ils sont recopiés ici à la fin et l'objet n'est plus
+ * modifié une fois publié. Les valeurs propres à un moteur restent nulles pour les autres :
+ * - Toutes les IA : temps, nœuds (simulations pour MCTS) et nœuds par seconde ; mémoire allouée et
+ *   collections du ramasse-miettes pendant la recherche (voir MesureMemoire)
+ * - Alpha-Beta : profondeur terminée, profondeur sélective, facteur de branchement effectif,
+ *   part des coupures obtenues dès le premier coup, taux de succès du cache de recherche et du cache d'évaluation
+ * - MCTS : taille de l'arbre, longueur moyenne des simulations, visites des coups de la racine
+ */
+public class StatistiquesRecherche {
+    // Nombre de coups de la racine affichés
+    private static final int COUPS_RACINE_AFFICHES = 5;
+
+    private final String moteur;
+    private final long tempsMS;
+    private final long noeuds;
+
+    // Mémoire et ramasse-miettes
+    private long octetsAlloues = -1;
+    private long collectionsGc;
+    private long pauseGcMS;
+
+    // Alpha-Beta
+    private int profondeur;
+    private int profondeurSelective;
+    private double facteurBranchement = Double.NaN;
+    private long coupures;
+    private long coupuresPremierCoup;
+    private long sondesCache;
+    private long succesCache;
+    private long sondesEvaluation;
+    private long succesEvaluation;
+
+    // MCTS
+    private long tailleArbre;
+    private long simulationsJouees;
+    private long coupsSimules;
+    private int[][] visitesRacine = new int[0][];
+
+    /**
+     * Constructeur des statistiques communes à toutes les IA
+     * @param moteur Le nom du moteur
+     * @param tempsMS La durée de la recherche en millisecondes
+     * @param noeuds Le nombre de nœuds (ou de simulations) explorés
+     */
+    public StatistiquesRecherche(String moteur, long tempsMS, long noeuds) {
+        this.moteur = moteur;
+        this.tempsMS = tempsMS;
+        this.noeuds = noeuds;
+    }
+
+    // --------------------- Getters & Setters ---------------------
+
+    public String getMoteur() {
+        return moteur;
+    }
+
+    public long getTempsMS() {
+        return tempsMS;
+    }
+
+    public long getNoeuds() {
+        return noeuds;
+    }
+
+    /**
+     * Nœuds (ou simulations) par seconde
+     */
+    public double getNoeudsParSeconde() {
+        return noeuds * 1000.0 / Math.max(1, tempsMS);
+    }
+
+    /**
+     * Octets alloués par la recherche
+     * @return Le nombre d'octets, ou -1 s'il n'a pas été mesuré
+     */
+    public long getOctetsAlloues() {
+        return octetsAlloues;
+    }
+
+    public long getCollectionsGc() {
+        return collectionsGc;
+    }
+
+    public long getPauseGcMS() {
+        return pauseGcMS;
+    }
+
+    /**
+     * Renseigne la mémoire allouée et le ramasse-miettes pendant la recherche
+     * @param octetsAlloues Les octets alloués, ou -1 s'ils n'ont pas été mesurés
+     * @param collections Le nombre de collections du ramasse-miettes
+     * @param pauseMS La durée cumulée des collections en millisecondes
+     */
+    public void setMemoire(long octetsAlloues, long collections, long pauseMS) {
+        this.octetsAlloues = octetsAlloues;
+        this.collectionsGc = collections;
+        this.pauseGcMS = pauseMS;
+    }
+
+    public int getProfondeur() {
+        return profondeur;
+    }
+
+    public void setProfondeur(int profondeur) {
+        this.profondeur = profondeur;
+    }
+
+    public int getProfondeurSelective() {
+        return profondeurSelective;
+    }
+
+    public void setProfondeurSelective(int profondeurSelective) {
+        this.profondeurSelective = profondeurSelective;
+    }
+
+    /**
+     * Rapport des nœuds des deux dernières itérations terminées, ou NaN s'il y en a moins de deux
+     */
+    public double getFacteurBranchement() {
+        return facteurBranchement;
+    }
+
+    public void setFacteurBranchement(double facteurBranchement) {
+        this.facteurBranchement = facteurBranchement;
+    }
+
+    public long getCoupures() {
+        return coupures;
+    }
+
+    public long getCoupuresPremierCoup() {
+        return coupuresPremierCoup;
+    }
+
+    /**
+     * Compte les coupures beta de la recherche
+     * @param coupures Le nombre de coupures
+     * @param coupuresPremierCoup Le nombre de coupures obtenues par le premier coup essayé
+     */
+    public void setCoupures(long coupures, long coupuresPremierCoup) {
+        this.coupures = coupures;
+        this.coupuresPremierCoup = coupuresPremierCoup;
+    }
+
+    /**
+     * Part des coupures obtenues dès le premier coup, mesure de la qualité du tri des coups
+     */
+    public double getTauxCoupuresPremierCoup() {
+        return taux(coupuresPremierCoup, coupures);
+    }
+
+    public long getSondesCache() {
+        return sondesCache;
+    }
+
+    public long getSuccesCache() {
+        return succesCache;
+    }
+
+    /**
+     * Compte les consultations du cache de recherche persistant
+     * @param sondes Le nombre de consultations
+     * @param succes Le nombre de positions trouvées
+     */
+    public void setCache(long sondes, long succes) {
+        this.sondesCache = sondes;
+        this.succesCache = succes;
+    }
+
+    public double getTauxSuccesCache() {
+        return taux(succesCache, sondesCache);
+    }
+
+    public long getSondesEvaluation() {
+        return sondesEvaluation;
+    }
+
+    public long getSuccesEvaluation() {
+        return succesEvaluation;
+    }
+
+    /**
+     * Compte les consultations du cache d'évaluation
+     * @param sondes Le nombre de consultations
+     * @param succes Le nombre d'évaluations trouvées
+     */
+    public void setEvaluation(long sondes, long succes) {
+        this.sondesEvaluation = sondes;
+        this.succesEvaluation = succes;
+    }
+
+    public double getTauxSuccesEvaluation() {
+        return taux(succesEvaluation, sondesEvaluation);
+    }
+
+    public long getTailleArbre() {
+        return tailleArbre;
+    }
+
+    public void setTailleArbre(long tailleArbre) {
+        this.tailleArbre = tailleArbre;
+    }
+
+    public long getSimulationsJouees() {
+        return simulationsJouees;
+    }
+
+    public long getCoupsSimules() {
+        return coupsSimules;
+    }
+
+    /**
+     * Compte les simulations jouées jusqu'à leur terme (les feuilles terminales ne sont pas simulées)
+     * @param simulations Le nombre de simulations
+     * @param coups Le nombre total de coups joués par ces simulations
+     */
+    public void setSimulations(long simulations, long coups) {
+        this.simulationsJouees = simulations;
+        this.coupsSimules = coups;
+    }
+
+    public double getLongueurMoyenneSimulations() {
+        return simulationsJouees > 0 ? (double) coupsSimules / simulationsJouees : 0;
+    }
+
+    /**
+     * Visites des coups de la racine
+     * @return Tableau de {ligne, colonne, visites}, par visites décroissantes
+     */
+    public int[][] getVisitesRacine() {
+        return visitesRacine;
+    }
+
+    public void setVisitesRacine(int[][] visitesRacine) {
+        this.visitesRacine = visitesRacine;
+    }
+
+    private static double taux(long succes, long total) {
+        return total > 0 ? (double) succes / total : Double.NaN;
+    }
+
+    // --------------------- Affichage ---------------------
+
+    /**
+     * Statistiques utiles à afficher, une par élément : seules celles que le moteur a renseignées figurent
+     * @return Les lignes, par exemple "profondeur 4/6"
+     */
+    public List<String> lignes() {
+        List<String> lignes = new ArrayList<>();
+        lignes.add(String.format(Locale.ROOT, "%d ms, %d nœuds, %.0f nœuds/s", tempsMS, noeuds, getNoeudsParSeconde()));
+        if (octetsAlloues >= 0) {
+            lignes.add(String.format(Locale.ROOT, "%.1f Mo alloués", octetsAlloues / 1e6)
+                    + (collectionsGc > 0 ? ", " + collectionsGc + " GC (" + pauseGcMS + " ms)" : ""));
+        }
+        if (profondeur > 0 || profondeurSelective > 0) {
+            lignes.add("profondeur " + profondeur + "/" + profondeurSelective
+                    + (Double.isNaN(facteurBranchement) ? "" : String.format(Locale.ROOT, ", branchement %.1f", facteurBranchement)));
+        }
+        if (coupures > 0) {
+            lignes.add(String.format(Locale.ROOT, "coupures au 1er coup %.0f%%", 100 * getTauxCoupuresPremierCoup()));
+        }
+        if (sondesCache > 0) {
+            lignes.add(String.format(Locale.ROOT, "cache de recherche %.0f%%", 100 * getTauxSuccesCache()));
+        }
+        if (sondesEvaluation > 0) {
+            lignes.add(String.format(Locale.ROOT, "cache d'évaluation %.0f%%", 100 * getTauxSuccesEvaluation()));
+        }
+        if (tailleArbre > 0) {
+            lignes.add("arbre de " + tailleArbre + " nœuds");
+        }
+        if (simulationsJouees > 0) {
+            lignes.add(String.format(Locale.ROOT, "simulations de %.1f coups", getLongueurMoyenneSimulations()));
+        }
+        if (visitesRacine.length > 0) {
+            StringBuilder sb = new StringBuilder("visites");
+            for (int i = 0; i < Math.min(COUPS_RACINE_AFFICHES, visitesRacine.length); i++) {
+                int[] v = visitesRacine[i];
+                sb.append(' ').append(PartieEnregistree.notation(v[0], v[1])).append('=').append(v[2]);
+            }
+            lignes.add(sb.toString());
+        }
+        return lignes;
+    }
+
+    @Override
+    public String toString() {
+        return moteur + " : " + String.join(", ", lignes());
+    }
+}
@@ -0,0 +1,452 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Suite de problèmes tactiques et mesure du temps de résolution des moteurs, pour repérer les régressions.
+ *
+ * Fonctionnement :
+ * - Une suite de positions au format texte, une par ligne (voir lireSuite) : parade d'un gain par
+ *   quatres (pare), gain court par un trois suivi de quatres (gagne4), gain par quatres continus (vcf)
+ *   ou par menaces continues (vct), avec leurs coups solutions ; le coup classé en tête par le tri
+ *   des coups n'en est jamais une, chaque position demande une recherche
+ * - Chaque niveau d'IA cherche chaque position avec des budgets de nœuds doublés à chaque essai,
+ *   à partir d'un seul nœud, jusqu'au budget maximal ; le budget de résolution est le plus petit
+ *   à partir duquel le coup solution est trouvé et le reste aux deux budgets suivants, pour qu'un
+ *   coup juste trouvé par hasard, puis perdu quand la recherche s'approfondit, ne compte pas.
+ *   Les nœuds et le temps de la recherche à ce budget sont les nœuds et le temps de résolution
+ * - Les moteurs sont neufs à chaque essai et leurs tirages fixés par la graine : les nœuds de
+ *   résolution ne dépendent ni de la machine ni du nombre de threads, seul le temps en dépend
+ * - Les positions sont cherchées en parallèle ; les résultats peuvent être enregistrés comme
+ *   référence, puis comparés à une référence : un problème qui n'est plus résolu, ou résolu avec
+ *   nettement plus de nœuds, est une régression et la commande se termine en erreur
+ * - IA Simple ne cherche pas et ne compte pas de nœuds : elle n'a qu'un essai, et seuls sa résolution
+ *   et son temps sont comparés à la référence
+ *
+ * Sans fichier, la suite fournie avec le moteur (src/tactique.txt, copiée dans le .jar) est utilisée.
+ *
+ * Exemple :
+ * java -cp bin SuiteTactique --niveaux 3,4 --threads 4 --ecrire-reference reference.txt
+ * java -cp bin SuiteTactique --niveaux 3,4 --threads 4 --reference reference.txt
+ */
+public class SuiteTactique {
+    private static final int TAILLE_PLATEAU = 15;
+    private static final String SUITE_PAR_DEFAUT = "tactique.txt";
+    private static final long NOEUDS_DEPART = 1;
+    // Nombre de budgets suivants où le coup solution doit rester trouvé
+    private static final int CONFIRMATIONS = 2;
+    // Profondeur d'Alpha-Beta quand seul le budget de nœuds doit limiter la recherche
+    private static final int PROFONDEUR_ALPHA_BETA = 8;
+
+    /**
+     * Position de la suite, avec ses coups solutions
+     */
+    static class Probleme {
+        final String nom;
+        final String categorie;
+        final EtatDuJeu etat;
+        final List<int[]> solutions;
+
+        Probleme(String nom, String categorie, EtatDuJeu etat, List<int[]> solutions) {
+            this.nom = nom;
+            this.categorie = categorie;
+            this.etat = etat;
+            this.solutions = solutions;
+        }
+
+        boolean estSolution(int[] coup) {
+            for (int[] s : solutions) {
+                if (s[0] == coup[0] && s[1] == coup[1]) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Résultat d'un niveau sur un problème
+     */
+    static class Resultat {
+        final int niveau;
+        final String nom;
+        final boolean resolu;
+        final long noeuds;
+        final long tempsMS;
+
+        Resultat(int niveau, String nom, boolean resolu, long noeuds, long tempsMS) {
+            this.niveau = niveau;
+            this.nom = nom;
+            this.resolu = resolu;
+            this.noeuds = noeuds;
+            this.tempsMS = tempsMS;
+        }
+
+        String cle() {
+            return niveau + " " + nom;
+        }
+    }
+
+    private final List<Probleme> suite;
+    private final int[] niveaux;
+    private final int threads;
+    private final Map<Integer, int[]> reglages; // niveau -> {temps, profondeur, noeuds maximum}
+    private long graine = 1;
+
+    /**
+     * Constructeur de la suite
+     * @param suite Les problèmes
+     * @param niveaux Les niveaux d'IA évalués
+     * @param threads Le nombre de recherches simultanées
+     * @param reglages Les réglages par niveau {temps, profondeur, noeuds maximum}, 0 gardant la valeur par défaut
+     */
+    public SuiteTactique(List<Probleme> suite, int[] niveaux, int threads, Map<Integer, int[]> reglages) {
+        this.suite = suite;
+        this.niveaux = niveaux.clone();
+        this.threads = threads;
+        this.reglages = new HashMap<>(reglages);
+    }
+
+    public void setGraine(long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * Point d'entrée en ligne de commande
+     * @param args --suite fichier --niveaux 3,4 --threads N --noeuds niveau=n --profondeur niveau=p --graine g
+     *             --filtre texte --reference fichier --ecrire-reference fichier --tolerance 0.25 --tolerance-temps x
+     */
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        Path fichierSuite = null;
+        int[] niveaux = {3, 4};
+        int threads = Runtime.getRuntime().availableProcessors();
+        Map<Integer, int[]> reglages = new HashMap<>();
+        long graine = 1;
+        String filtre = "";
+        Path reference = null;
+        Path nouvelleReference = null;
+        double tolerance = 0.25;
+        double toleranceTemps = 0;
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--suite": fichierSuite = Paths.get(valeur); break;
+                case "--niveaux": niveaux = Tournoi.lireNiveaux(valeur); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--noeuds": Tournoi.lireReglage(reglages, valeur, 2); break;
+                case "--profondeur": Tournoi.lireReglage(reglages, valeur, 1); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--filtre": filtre = valeur; break;
+                case "--reference": reference = Paths.get(valeur); break;
+                case "--ecrire-reference": nouvelleReference = Paths.get(valeur); break;
+                case "--tolerance": tolerance = Double.parseDouble(valeur); break;
+                case "--tolerance-temps": toleranceTemps = Double.parseDouble(valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        List<Probleme> suite = new ArrayList<>();
+        for (Probleme p : fichierSuite != null ? lireSuite(fichierSuite) : lireSuiteParDefaut()) {
+            if (p.nom.contains(filtre) || p.categorie.equals(filtre)) {
+                suite.add(p);
+            }
+        }
+        if (suite.isEmpty()) {
+            throw new IllegalArgumentException("Aucun problème à chercher");
+        }
+
+        SuiteTactique tactique = new SuiteTactique(suite, niveaux, Math.max(1, threads), reglages);
+        tactique.setGraine(graine);
+        List<Resultat> resultats = tactique.lancer();
+
+        if (nouvelleReference != null) {
+            ecrireReference(nouvelleReference, resultats);
+            System.out.println("Référence écrite dans " + nouvelleReference);
+        }
+        if (reference != null) {
+            int regressions = comparer(resultats, lireReference(reference), tolerance, toleranceTemps);
+            if (regressions > 0) {
+                System.out.println("ÉCHEC : " + regressions + " régression(s) par rapport à " + reference);
+                System.exit(1);
+            }
+            System.out.println("Aucune régression par rapport à " + reference);
+        }
+    }
+
+    /**
+     * Cherche tous les problèmes avec tous les niveaux et affiche les résultats
+     * @return Les résultats, dans l'ordre de la suite puis des niveaux
+     */
+    public List<Resultat> lancer() throws InterruptedException, ExecutionException {
+        System.out.printf("Suite tactique : %d problèmes, niveaux %s, %d threads%n",
+                suite.size(), Arrays.toString(niveaux), threads);
+        ExecutorService executeur = Executors.newFixedThreadPool(threads);
+        List<Future<Resultat>> taches = new ArrayList<>();
+        try {
+            for (Probleme probleme : suite) {
+                for (int niveau : niveaux) {
+                    taches.add(executeur.submit(() -> chercher(probleme, niveau)));
+                }
+            }
+            List<Resultat> resultats = new ArrayList<>();
+            for (int i = 0; i < taches.size(); i++) {
+                Resultat r = taches.get(i).get();
+                Probleme p = suite.get(i / niveaux.length);
+                String noeuds = aBudgetNoeuds(r.niveau) ? String.format(Locale.ROOT, "%9d nœuds", r.noeuds) : "   sans nœuds";
+                System.out.println(String.format(Locale.ROOT, "%-12s %-7s %-14s %s",
+                        p.nom, p.categorie, LancerJeu.getNomIA(r.niveau),
+                        r.resolu ? String.format(Locale.ROOT, "résolu  %s %7d ms", noeuds, r.tempsMS) : "NON RÉSOLU"));
+                resultats.add(r);
+            }
+            afficherBilan(resultats);
+            return resultats;
+        } finally {
+            executeur.shutdownNow();
+        }
+    }
+
+    /**
+     * Cherche un problème avec un niveau, en doublant le budget de nœuds jusqu'à une solution stable
+     * @param probleme Le problème
+     * @param niveau Le niveau d'IA
+     * @return Le résultat, avec les nœuds et le temps du premier budget de la solution stable
+     */
+    private Resultat chercher(Probleme probleme, int niveau) {
+        int[] r = reglages.getOrDefault(niveau, new int[3]);
+        long noeudsMax = r[2] > 0 ? r[2] : noeudsMaxParDefaut(niveau);
+        int profondeur = r[1] > 0 ? r[1] : niveau == 3 ? PROFONDEUR_ALPHA_BETA : LancerJeu.limitesParDefaut(niveau).getProfondeur();
+        char trait = probleme.etat.getJoueurActuel();
+        Resultat resolution = null; // premier budget de la suite d'essais résolus en cours
+        int confirmations = 0;
+
+        for (long budget = Math.min(NOEUDS_DEPART, noeudsMax); ; budget = Math.min(2 * budget, noeudsMax)) {
+            Joueur ia = LancerJeu.creerIA(niveau, trait);
+            ia.setVerbeux(false);
+            ia.setGraine(graine);
+            if (ia instanceof MinMaxAlphaBeta) {
+                ((MinMaxAlphaBeta) ia).setLivre(null);
+                ((MinMaxAlphaBeta) ia).setCache(null);
+            }
+            ia.nouvellePartie(TAILLE_PLATEAU);
+            long debut = System.nanoTime();
+            // recherche sur le thread de la tâche
+            int[] coup = ia.choisirCoup(probleme.etat, new LimitesRecherche(0, profondeur, budget), Runnable::run).join();
+            long tempsMS = (System.nanoTime() - debut) / 1_000_000;
+            long noeuds = ia.getStatistiques() != null ? ia.getStatistiques().getNoeuds() : ia.getNoeudsRecherche();
+            if (!probleme.estSolution(coup)) {
+                resolution = null;
+                confirmations = 0;
+            } else if (resolution == null) {
+                resolution = new Resultat(niveau, probleme.nom, true, noeuds, tempsMS);
+            } else {
+                confirmations++;
+            }
+            // une recherche terminée avant son budget ne trouvera pas mieux avec un budget plus grand
+            boolean dernier = budget >= noeudsMax || noeuds < budget / 2 || !aBudgetNoeuds(niveau);
+            if (resolution != null && (confirmations >= CONFIRMATIONS || dernier)) {
+                return resolution;
+            }
+            if (dernier) {
+                return new Resultat(niveau, probleme.nom, false, noeuds, tempsMS);
+            }
+        }
+    }
+
+    // IA Simple (niveau 1) choisit son coup sans recherche : elle ignore le budget et publie 0 nœud
+    static boolean aBudgetNoeuds(int niveau) {
+        return niveau != 1;
+    }
+
+    // budget maximal d'un niveau : une simulation MCTS coûte bien plus qu'un nœud d'Alpha-Beta
+    private static long noeudsMaxParDefaut(int niveau) {
+        return niveau == 4 ? 8_000 : 64_000;
+    }
+
+    private void afficherBilan(List<Resultat> resultats) {
+        for (int niveau : niveaux) {
+            Map<String, int[]> parCategorie = new LinkedHashMap<>(); // catégorie -> {résolus, total}
+            long noeuds = 0, tempsMS = 0;
+            int resolus = 0;
+            for (int i = 0; i < resultats.size(); i++) {
+                Resultat r = resultats.get(i);
+                if (r.niveau != niveau) continue;
+                int[] compte = parCategorie.computeIfAbsent(suite.get(i / niveaux.length).categorie, k -> new int[2]);
+                compte[1]++;
+                if (r.resolu) {
+                    compte[0]++;
+                    resolus++;
+                    noeuds += r.noeuds;
+                    tempsMS += r.tempsMS;
+                }
+            }
+            StringBuilder sb = new StringBuilder(aBudgetNoeuds(niveau)
+                    ? String.format(Locale.ROOT, "%s : %d/%d résolus, %d nœuds et %d ms au total",
+                            LancerJeu.getNomIA(niveau), resolus, suite.size(), noeuds, tempsMS)
+                    : String.format(Locale.ROOT, "%s : %d/%d résolus, %d ms au total (sans budget de nœuds)",
+                            LancerJeu.getNomIA(niveau), resolus, suite.size(), tempsMS));
+            for (Map.Entry<String, int[]> e : parCategorie.entrySet()) {
+                sb.append(", ").append(e.getKey()).append(' ').append(e.getValue()[0]).append('/').append(e.getValue()[1]);
+            }
+            System.out.println(sb);
+        }
+    }
+
+    // --------------------- Référence ---------------------
+
+    /**
+     * Compare les résultats à une référence et affiche les écarts ; les niveaux sans budget de nœuds
+     * ne sont jugés que sur leur résolution et sur le temps total
+     * @param resultats Les résultats
+     * @param reference Les résultats de référence, par clé "niveau nom"
+     * @param tolerance Hausse relative des nœuds de résolution tolérée
+     * @param toleranceTemps Hausse relative du temps total de résolution tolérée, ou 0 pour ne pas juger le temps
+     * @return Le nombre de régressions
+     */
+    static int comparer(List<Resultat> resultats, Map<String, Resultat> reference, double tolerance, double toleranceTemps) {
+        int regressions = 0;
+        long temps = 0, tempsReference = 0;
+        Set<Integer> sansNoeuds = new TreeSet<>();
+        for (Resultat r : resultats) {
+            Resultat ref = reference.get(r.cle());
+            if (ref == null) continue;
+            String libelle = LancerJeu.getNomIA(r.niveau) + " " + r.nom;
+            if (ref.resolu && !r.resolu) {
+                System.out.println("RÉGRESSION " + libelle + " : n'est plus résolu");
+                regressions++;
+            } else if (!ref.resolu && r.resolu) {
+                System.out.println("amélioration " + libelle + " : résolu en " + r.noeuds + " nœuds");
+            } else if (ref.resolu) {
+                temps += r.tempsMS;
+                tempsReference += ref.tempsMS;
+                if (!aBudgetNoeuds(r.niveau)) {
+                    sansNoeuds.add(r.niveau);
+                } else if (r.noeuds > ref.noeuds * (1 + tolerance)) {
+                    System.out.println("RÉGRESSION " + libelle + " : " + r.noeuds + " nœuds au lieu de " + ref.noeuds);
+                    regressions++;
+                } else if (r.noeuds * (1 + tolerance) < ref.noeuds) {
+                    System.out.println("amélioration " + libelle + " : " + r.noeuds + " nœuds au lieu de " + ref.noeuds);
+                }
+            }
+        }
+        for (int niveau : sansNoeuds) {
+            System.out.println(LancerJeu.getNomIA(niveau) + " : sans budget de nœuds, nœuds non comparés (résolution et temps seulement)");
+        }
+        if (tempsReference > 0) {
+            double rapport = (double) temps / tempsReference;
+            System.out.println(String.format(Locale.ROOT, "Temps de résolution : %d ms contre %d ms (x%.2f)", temps, tempsReference, rapport));
+            if (toleranceTemps > 0 && rapport > 1 + toleranceTemps) {
+                System.out.println("RÉGRESSION : temps de résolution en hausse de plus de " + Math.round(100 * toleranceTemps) + " %");
+                regressions++;
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Écrit les résultats au format de référence : une ligne "niveau nom résolu nœuds ms" par résultat
+     */
+    static void ecrireReference(Path fichier, List<Resultat> resultats) throws IOException {
+        try (BufferedWriter ecrivain = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            ecrivain.write("# niveau nom résolu nœuds ms\n");
+            for (Resultat r : resultats) {
+                ecrivain.write(r.niveau + " " + r.nom + " " + (r.resolu ? 1 : 0) + " " + r.noeuds + " " + r.tempsMS + "\n");
+            }
+        }
+    }
+
+    static Map<String, Resultat> lireReference(Path fichier) throws IOException {
+        Map<String, Resultat> reference = new HashMap<>();
+        for (String ligne : Files.readAllLines(fichier, StandardCharsets.UTF_8)) {
+            ligne = ligne.trim();
+            if (ligne.isEmpty() || ligne.startsWith("#")) continue;
+            String[] champs = ligne.split("\\s+");
+            if (champs.length != 5) {
+                throw new IllegalArgumentException("Ligne de référence invalide : " + ligne);
+            }
+            Resultat r = new Resultat(Integer.parseInt(champs[0]), champs[1], champs[2].equals("1"),
+                    Long.parseLong(champs[3]), Long.parseLong(champs[4]));
+            reference.put(r.cle(), r);
+        }
+        return reference;
+    }
+
+    // --------------------- Lecture de la suite ---------------------
+
+    static List<Probleme> lireSuiteParDefaut() throws IOException {
+        InputStream flux = SuiteTactique.class.getResourceAsStream("/" + SUITE_PAR_DEFAUT);
+        if (flux == null) {
+            // classes compilées sans les ressources : lancé depuis la racine du projet
+            return lireSuite(Paths.get("src", SUITE_PAR_DEFAUT));
+        }
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8))) {
+            return lireSuite(lecteur);
+        }
+    }
+
+    static List<Probleme> lireSuite(Path fichier) throws IOException {
+        try (BufferedReader lecteur = Files.newBufferedReader(fichier, StandardCharsets.UTF_8)) {
+            return lireSuite(lecteur);
+        }
+    }
+
+    /**
+     * Lit une suite de problèmes, une position par ligne :
+     * nom catégorie trait pierres-X pierres-O solutions
+     * Les listes de cases sont en notation "h8" séparées par des virgules ("-" pour une liste vide) ;
+     * les lignes vides et celles qui commencent par # sont ignorées
+     * @param lecteur Le texte de la suite
+     * @return Les problèmes
+     */
+    static List<Probleme> lireSuite(BufferedReader lecteur) throws IOException {
+        List<Probleme> suite = new ArrayList<>();
+        String ligne;
+        while ((ligne = lecteur.readLine()) != null) {
+            ligne = ligne.trim();
+            if (ligne.isEmpty() || ligne.startsWith("#")) continue;
+            String[] champs = ligne.split("\\s+");
+            if (champs.length != 6 || !(champs[2].equals("X") || champs[2].equals("O"))) {
+                throw new IllegalArgumentException("Problème invalide : " + ligne);
+            }
+            EtatDuJeu etat = new EtatDuJeu(TAILLE_PLATEAU);
+            char[][] plateau = etat.getPlateau();
+            for (int[] c : lireCases(champs[3])) plateau[c[0]][c[1]] = 'X';
+            for (int[] c : lireCases(champs[4])) plateau[c[0]][c[1]] = 'O';
+            etat.setJoueurActuel(champs[2].charAt(0));
+            List<int[]> solutions = lireCases(champs[5]);
+            if (solutions.isEmpty()) {
+                throw new IllegalArgumentException("Problème sans solution : " + champs[0]);
+            }
+            suite.add(new Probleme(champs[0], champs[1], etat, solutions));
+        }
+        return suite;
+    }
+
+    private static List<int[]> lireCases(String liste) {
+        List<int[]> cases = new ArrayList<>();
+        if (!liste.equals("-")) {
+            for (String jeton : liste.split(",")) {
+                cases.add(PartieEnregistree.lireNotation(jeton, TAILLE_PLATEAU));
+            }
+        }
+        return cases;
+    }
+}
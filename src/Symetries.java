@@ -0,0 +1,69 @@
+/**
+ * Les 8 symétries du plateau carré (rotations et réflexions).
+ *
+ * Les symétries sont numérotées de 0 à 7 :
+ * - 0 : identité
+ * - 1, 2, 3 : rotations d'un quart, d'un demi et de trois quarts de tour
+ * - 4, 5 : réflexions horizontale et verticale
+ * - 6, 7 : réflexions selon la diagonale et l'anti-diagonale
+ */
+public class Symetries {
+    public static final int NB = 8;
+
+    // symétrie inverse de chaque symétrie
+    private static final int[] INVERSES = {0, 3, 2, 1, 4, 5, 6, 7};
+
+    /**
+     * Applique une symétrie à une case
+     * @param s La symétrie (0 à 7)
+     * @param ligne La ligne de la case
+     * @param colonne La colonne de la case
+     * @param taille La taille du plateau
+     * @return La case transformée [ligne, colonne]
+     */
+    public static int[] transformer(int s, int ligne, int colonne, int taille) {
+        int l = ligne, c = colonne, rl = taille - 1 - ligne, rc = taille - 1 - colonne;
+        switch (s) {
+            case 0: return new int[]{l, c};
+            case 1: return new int[]{c, rl};
+            case 2: return new int[]{rl, rc};
+            case 3: return new int[]{rc, l};
+            case 4: return new int[]{l, rc};
+            case 5: return new int[]{rl, c};
+            case 6: return new int[]{c, l};
+            case 7: return new int[]{rc, rl};
+            default: throw new IllegalArgumentException("Symétrie inconnue : " + s);
+        }
+    }
+
+    /**
+     * Applique une symétrie à une case désignée par son index, sans allocation
+     * @param s La symétrie (0 à 7)
+     * @param c L'index de la case (ligne * taille + colonne)
+     * @param taille La taille du plateau
+     * @return L'index de la case transformée
+     */
+    public static int transformerCase(int s, int c, int taille) {
+        int l = c / taille, col = c % taille, rl = taille - 1 - l, rc = taille - 1 - col;
+        switch (s) {
+            case 0: return c;
+            case 1: return col * taille + rl;
+            case 2: return rl * taille + rc;
+            case 3: return rc * taille + l;
+            case 4: return l * taille + rc;
+            case 5: return rl * taille + col;
+            case 6: return col * taille + l;
+            case 7: return rc * taille + rl;
+            default: throw new IllegalArgumentException("Symétrie inconnue : " + s);
+        }
+    }
+
+    /**
+     * Symétrie inverse
+     * @param s La symétrie (0 à 7)
+     * @return La symétrie qui annule s
+     */
+    public static int inverse(int s) {
+        return INVERSES[s];
+    }
+}
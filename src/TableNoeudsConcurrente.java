@@ -0,0 +1,109 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Table de hachage concurrente à adressage ouvert, indexée par un hachage de position sur 64 bits.
+ *
+ * Cette table est utilisée pour partager les nœuds des positions transposées :
+ * - Sondage linéaire sur un tableau de taille fixe (puissance de 2)
+ * - Insertion sans verrou par compare-and-set sur la clé
+ * - Pas de suppression individuelle, seulement une remise à zéro complète
+ *
+ * La clé 0 est réservée pour marquer une case vide ; elle est remplacée par une autre valeur.
+ * Lorsque la table est pleine, les nouvelles valeurs ne sont plus partagées.
+ *
+ * @param <V> Type des valeurs stockées
+ */
+public class TableNoeudsConcurrente<V> {
+    private static final long CLE_VIDE = 0L;
+    private static final long CLE_REMPLACEMENT = 0x9E3779B97F4A7C15L;
+    private final AtomicLongArray cles;
+    private final AtomicReferenceArray<V> valeurs;
+    private final int mask;
+
+    /**
+     * Constructeur de la table
+     * @param capacite Nombre minimum de cases, arrondi à la puissance de 2 supérieure
+     */
+    public TableNoeudsConcurrente(int capacite) {
+        int taille = Integer.highestOneBit(Math.max(2, capacite - 1)) << 1;
+        this.cles = new AtomicLongArray(taille);
+        this.valeurs = new AtomicReferenceArray<>(taille);
+        this.mask = taille - 1;
+    }
+
+    /**
+     * Cherche la valeur associée à un hachage
+     * @param hachage Le hachage de la position
+     * @return La valeur associée, ou null si absente
+     */
+    public V chercher(long hachage) {
+        long cle = normaliser(hachage);
+        int index = indexDe(cle);
+        for (int essai = 0; essai <= mask; essai++) {
+            long k = cles.get(index);
+            if (k == cle) {
+                return valeurs.get(index);
+            }
+            if (k == CLE_VIDE) {
+                return null;
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Obtient la valeur associée à un hachage, en insérant la valeur fournie si elle est absente
+     * @param hachage Le hachage de la position
+     * @param valeur La valeur à insérer si le hachage est absent
+     * @return La valeur déjà présente, sinon la valeur fournie (même si la table est pleine)
+     */
+    public V chercherOuInserer(long hachage, V valeur) {
+        long cle = normaliser(hachage);
+        int index = indexDe(cle);
+        for (int essai = 0; essai <= mask; essai++) {
+            long k = cles.get(index);
+            if (k == CLE_VIDE && cles.compareAndSet(index, CLE_VIDE, cle)) {
+                valeurs.set(index, valeur);
+                return valeur;
+            }
+            if (cles.get(index) == cle) {
+                // attendre la publication de la valeur par le thread qui a réservé la case
+                V existante;
+                while ((existante = valeurs.get(index)) == null) {
+                    Thread.onSpinWait();
+                }
+                return existante;
+            }
+            index = (index + 1) & mask;
+        }
+        return valeur;
+    }
+
+    /**
+     * Vide la table
+     */
+    public void vider() {
+        for (int i = 0; i <= mask; i++) {
+            valeurs.set(i, null);
+            cles.set(i, CLE_VIDE);
+        }
+    }
+
+    /**
+     * Obtient le nombre de cases de la table
+     * @return La capacité de la table
+     */
+    public int capacite() {
+        return mask + 1;
+    }
+
+    private static long normaliser(long hachage) {
+        return hachage == CLE_VIDE ? CLE_REMPLACEMENT : hachage;
+    }
+
+    private int indexDe(long cle) {
+        return (int) (cle ^ (cle >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,541 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tournoi en ligne de commande entre les niveaux d'IA, sans interface graphique.
+ *
+ * Fonctionnalités :
+ * - Toutes rondes entre les niveaux choisis (chaque couple joue le même nombre de parties)
+ * - Couleurs alternées d'une partie à l'autre pour chaque couple
+ * - Parties jouées en parallèle sur un nombre de threads configurable
+ * - Limites de temps ou de profondeur par niveau
+ * - Résultats et tableau victoires/nuls/défaites diffusés au fil de l'eau, avec le débit en parties par heure
+ * - Différence d'Elo estimée avec son intervalle de confiance pour chaque couple
+ * - Statistiques de recherche cumulées par niveau (nœuds par seconde, profondeur, coupures, caches, simulations)
+ * - Test SPRT optionnel : un couple cesse de jouer dès que le test conclut, le nombre de parties devient un maximum
+ * - Enregistrement optionnel des parties dans un fichier binaire (voir EcrivainParties)
+ * - Évaluation des feuilles de MCTS par une fonction de valeur et par lots (voir EvaluationFeuilles)
+ * - Poids d'évaluation propres à chaque niveau, chargés depuis un fichier (voir PoidsEvaluation)
+ *
+ * Exemple :
+ * java -cp bin Tournoi --niveaux 1,3,4 --parties 50 --threads 8 --temps 4=500 --profondeur 3=2
+ * java -cp bin Tournoi --niveaux 3,4 --parties 1000 --sprt 0,50,0.05,0.05 --enregistrer parties.gmk
+ * java -cp bin Tournoi --niveaux 3,4 --parties 100 --valeur lineaire,0.5 --lot 16
+ */
+public class Tournoi {
+    private static final int TAILLE_PLATEAU = 15;
+
+    private final int[] niveaux;
+    private final int partiesParCouple;
+    private final int threads;
+    private final Map<Integer, LimitesRecherche> limites;
+
+    // resultats[a][b][0..2] : victoires, nuls, défaites du niveau d'index a contre celui d'index b
+    private final int[][][] resultats;
+
+    // Statistiques de recherche cumulées de chaque niveau
+    private final CumulRecherches[] recherches;
+
+    // Test SPRT optionnel et décision par couple (indexée par [min][max])
+    private Sprt sprt;
+    private final Sprt.Decision[][] decisions;
+
+    // Fichier des parties jouées, ou null
+    private Path fichierParties;
+
+    // Graine des moteurs, ou null pour des tirages non reproductibles
+    private Long graine;
+
+    // Évaluation des feuilles des moteurs MCTS
+    private EvaluationFeuilles evaluationFeuilles = new EvaluationFeuilles();
+
+    // Poids d'évaluation par niveau ; les niveaux absents utilisent les poids courants
+    private Map<Integer, PoidsEvaluation> poids = new HashMap<>();
+
+    /**
+     * Constructeur du tournoi
+     * @param niveaux Les niveaux d'IA participants
+     * @param partiesParCouple Le nombre de parties par couple de niveaux
+     * @param threads Le nombre de parties jouées simultanément
+     * @param limites Les limites de recherche par niveau (les niveaux absents utilisent leurs limites par défaut)
+     */
+    public Tournoi(int[] niveaux, int partiesParCouple, int threads, Map<Integer, LimitesRecherche> limites) {
+        this.niveaux = niveaux.clone();
+        this.partiesParCouple = partiesParCouple;
+        this.threads = threads;
+        this.limites = new HashMap<>(limites);
+        this.resultats = new int[niveaux.length][niveaux.length][3];
+        this.recherches = new CumulRecherches[niveaux.length];
+        for (int i = 0; i < niveaux.length; i++) {
+            recherches[i] = new CumulRecherches();
+        }
+        this.decisions = new Sprt.Decision[niveaux.length][niveaux.length];
+    }
+
+    /**
+     * Active le test SPRT : chaque couple s'arrête dès que le test conclut
+     * @param sprt Le test à appliquer, ou null pour jouer toutes les parties
+     */
+    public void setSprt(Sprt sprt) {
+        this.sprt = sprt;
+    }
+
+    /**
+     * Fixe la graine des moteurs : chaque partie en dérive les siennes, si bien qu'avec des budgets de nœuds
+     * le tournoi se rejoue à l'identique quels que soient la machine et le nombre de threads
+     * @param graine La graine, ou null pour des tirages non reproductibles
+     */
+    public void setGraine(Long graine) {
+        this.graine = graine;
+    }
+
+    /**
+     * Définit l'évaluation des feuilles appliquée à chaque moteur MCTS
+     * @param evaluationFeuilles Le réglage (fonction de valeur, poids et taille des lots)
+     */
+    public void setEvaluationFeuilles(EvaluationFeuilles evaluationFeuilles) {
+        this.evaluationFeuilles = evaluationFeuilles;
+    }
+
+    /**
+     * Définit les poids d'évaluation des moteurs de chaque niveau
+     * @param poids Les poids par niveau ; les niveaux absents utilisent les poids courants
+     */
+    public void setPoids(Map<Integer, PoidsEvaluation> poids) {
+        this.poids = new HashMap<>(poids);
+    }
+
+    /**
+     * Enregistre toutes les parties jouées à la fin d'un fichier binaire
+     * @param fichierParties Le fichier, ou null pour ne pas enregistrer
+     */
+    public void setFichierParties(Path fichierParties) {
+        this.fichierParties = fichierParties;
+    }
+
+    /**
+     * Point d'entrée en ligne de commande
+     * @param args --niveaux 1,2,3,4 --parties 50 --threads N --temps niveau=ms --profondeur niveau=p
+     *             --noeuds niveau=n --graine g --sprt elo0,elo1,alpha,beta --enregistrer fichier
+     *             --valeur lineaire|fichier[,poids] --lot n --poids niveau=fichier
+     */
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int[] niveaux = {1, 2, 3, 4};
+        int parties = 50;
+        int threads = Runtime.getRuntime().availableProcessors();
+        Map<Integer, int[]> reglages = new HashMap<>(); // niveau -> {temps, profondeur, noeuds}
+        Long graine = null;
+        Sprt sprt = null;
+        Path fichierParties = null;
+        EvaluationFeuilles evaluationFeuilles = new EvaluationFeuilles();
+        Map<Integer, PoidsEvaluation> poids = new HashMap<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            String valeur = i + 1 < args.length ? args[++i] : "";
+            switch (option) {
+                case "--niveaux": niveaux = lireNiveaux(valeur); break;
+                case "--parties": parties = Integer.parseInt(valeur); break;
+                case "--threads": threads = Integer.parseInt(valeur); break;
+                case "--temps": lireReglage(reglages, valeur, 0); break;
+                case "--profondeur": lireReglage(reglages, valeur, 1); break;
+                case "--noeuds": lireReglage(reglages, valeur, 2); break;
+                case "--graine": graine = Long.parseLong(valeur); break;
+                case "--sprt": sprt = lireSprt(valeur); break;
+                case "--enregistrer": fichierParties = Paths.get(valeur); break;
+                case "--valeur": evaluationFeuilles.lireValeur(valeur); break;
+                case "--lot": evaluationFeuilles.lireLot(valeur); break;
+                case "--poids": lirePoids(poids, valeur); break;
+                default: throw new IllegalArgumentException("Option inconnue : " + option);
+            }
+        }
+
+        Tournoi tournoi = new Tournoi(niveaux, parties, threads, construireLimites(niveaux, reglages));
+        tournoi.setSprt(sprt);
+        tournoi.setGraine(graine);
+        tournoi.setFichierParties(fichierParties);
+        tournoi.setEvaluationFeuilles(evaluationFeuilles);
+        tournoi.setPoids(poids);
+        tournoi.lancer();
+    }
+
+    private static Sprt lireSprt(String valeur) {
+        String[] parts = valeur.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("SPRT attendu sous la forme elo0,elo1,alpha,beta : " + valeur);
+        }
+        return new Sprt(Double.parseDouble(parts[0].trim()), Double.parseDouble(parts[1].trim()),
+                Double.parseDouble(parts[2].trim()), Double.parseDouble(parts[3].trim()));
+    }
+
+    /**
+     * Construit les limites de recherche de chaque niveau à partir des réglages de la ligne de commande
+     * @param niveaux Les niveaux concernés
+     * @param reglages Les réglages par niveau {temps, profondeur, noeuds}, 0 gardant la valeur par défaut du niveau ;
+     *                 un budget de nœuds sans temps remplace le temps par défaut du niveau
+     * @return Les limites par niveau
+     */
+    static Map<Integer, LimitesRecherche> construireLimites(int[] niveaux, Map<Integer, int[]> reglages) {
+        Map<Integer, LimitesRecherche> limites = new HashMap<>();
+        for (int niveau : niveaux) {
+            LimitesRecherche defaut = LancerJeu.limitesParDefaut(niveau);
+            int[] r = reglages.getOrDefault(niveau, new int[3]);
+            limites.put(niveau, new LimitesRecherche(r[0] > 0 ? r[0] : r[2] > 0 ? 0 : defaut.getTempsMaxMS(),
+                    r[1] > 0 ? r[1] : defaut.getProfondeur(), r[2]));
+        }
+        return limites;
+    }
+
+    static int[] lireNiveaux(String valeur) {
+        String[] parts = valeur.split(",");
+        int[] niveaux = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            niveaux[i] = Integer.parseInt(parts[i].trim());
+        }
+        return niveaux;
+    }
+
+    static void lireReglage(Map<Integer, int[]> reglages, String valeur, int index) {
+        String[] parts = valeur.split("=");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Réglage attendu sous la forme niveau=valeur : " + valeur);
+        }
+        reglages.computeIfAbsent(Integer.parseInt(parts[0].trim()), k -> new int[3])[index] = Integer.parseInt(parts[1].trim());
+    }
+
+    static void lirePoids(Map<Integer, PoidsEvaluation> poids, String valeur) throws IOException {
+        String[] parts = valeur.split("=", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Poids attendus sous la forme niveau=fichier : " + valeur);
+        }
+        poids.put(Integer.parseInt(parts[0].trim()), PoidsEvaluation.charger(Paths.get(parts[1].trim())));
+    }
+
+    /**
+     * Partie à jouer : index des deux niveaux dans le tournoi, le premier jouant 'X'
+     */
+    private static class Appariement {
+        final int indexX;
+        final int indexO;
+        final int numero; // rang de la partie dans le tournoi
+
+        Appariement(int indexX, int indexO, int numero) {
+            this.indexX = indexX;
+            this.indexO = indexO;
+            this.numero = numero;
+        }
+    }
+
+    /**
+     * Partie terminée, avec son appariement
+     */
+    private static class PartieJouee {
+        final Appariement appariement;
+        final ResultatPartie resultat; // null si la partie n'a pas été jouée (couple déjà décidé)
+
+        PartieJouee(Appariement appariement, ResultatPartie resultat) {
+            this.appariement = appariement;
+            this.resultat = resultat;
+        }
+    }
+
+    /**
+     * Statistiques de recherche cumulées sur toutes les recherches d'un niveau
+     */
+    private static class CumulRecherches {
+        long recherches, tempsMS, noeuds;
+        long recherchesMemoire, octetsAlloues, collectionsGc, pauseGcMS;
+        long recherchesProfondeur, profondeur, profondeurSelective;
+        long coupures, coupuresPremierCoup, sondesCache, succesCache, sondesEvaluation, succesEvaluation;
+        long recherchesArbre, tailleArbre, simulations, coupsSimules;
+
+        void ajouter(StatistiquesRecherche s) {
+            recherches++;
+            tempsMS += s.getTempsMS();
+            noeuds += s.getNoeuds();
+            if (s.getOctetsAlloues() >= 0) {
+                recherchesMemoire++;
+                octetsAlloues += s.getOctetsAlloues();
+            }
+            collectionsGc += s.getCollectionsGc();
+            pauseGcMS += s.getPauseGcMS();
+            if (s.getProfondeur() > 0) {
+                recherchesProfondeur++;
+                profondeur += s.getProfondeur();
+                profondeurSelective += s.getProfondeurSelective();
+            }
+            coupures += s.getCoupures();
+            coupuresPremierCoup += s.getCoupuresPremierCoup();
+            sondesCache += s.getSondesCache();
+            succesCache += s.getSuccesCache();
+            sondesEvaluation += s.getSondesEvaluation();
+            succesEvaluation += s.getSuccesEvaluation();
+            if (s.getTailleArbre() > 0) {
+                recherchesArbre++;
+                tailleArbre += s.getTailleArbre();
+            }
+            simulations += s.getSimulationsJouees();
+            coupsSimules += s.getCoupsSimules();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(String.format(Locale.ROOT, "%d recherches, %.0f nœuds/s",
+                    recherches, noeuds * 1000.0 / Math.max(1, tempsMS)));
+            if (recherchesMemoire > 0) {
+                sb.append(String.format(Locale.ROOT, ", %.1f Mo alloués par coup", octetsAlloues / 1e6 / recherchesMemoire));
+            }
+            if (collectionsGc > 0) {
+                sb.append(", ").append(collectionsGc).append(" GC (").append(pauseGcMS).append(" ms)");
+            }
+            if (recherchesProfondeur > 0) {
+                sb.append(String.format(Locale.ROOT, ", profondeur %.1f/%.1f",
+                        (double) profondeur / recherchesProfondeur, (double) profondeurSelective / recherchesProfondeur));
+            }
+            if (coupures > 0) {
+                sb.append(String.format(Locale.ROOT, ", coupures au 1er coup %.0f%%", 100.0 * coupuresPremierCoup / coupures));
+            }
+            if (sondesCache > 0) {
+                sb.append(String.format(Locale.ROOT, ", cache de recherche %.0f%%", 100.0 * succesCache / sondesCache));
+            }
+            if (sondesEvaluation > 0) {
+                sb.append(String.format(Locale.ROOT, ", cache d'évaluation %.0f%%", 100.0 * succesEvaluation / sondesEvaluation));
+            }
+            if (recherchesArbre > 0) {
+                sb.append(String.format(Locale.ROOT, ", arbre de %.0f nœuds", (double) tailleArbre / recherchesArbre));
+            }
+            if (simulations > 0) {
+                sb.append(String.format(Locale.ROOT, ", simulations de %.1f coups", (double) coupsSimules / simulations));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Joue toutes les parties du tournoi et affiche les résultats au fil de l'eau
+     */
+    public void lancer() throws InterruptedException, IOException {
+        // intercaler les couples pour que le tableau se remplisse uniformément
+        List<Appariement> appariements = new ArrayList<>();
+        for (int k = 0; k < partiesParCouple; k++) {
+            for (int a = 0; a < niveaux.length; a++) {
+                for (int b = a + 1; b < niveaux.length; b++) {
+                    int numero = appariements.size();
+                    appariements.add(k % 2 == 0 ? new Appariement(a, b, numero) : new Appariement(b, a, numero));
+                }
+            }
+        }
+
+        int total = appariements.size();
+        System.out.printf("Tournoi : %d niveaux, %d parties par couple, %d parties, %d threads%n",
+                niveaux.length, partiesParCouple, total, threads);
+        if (sprt != null) {
+            System.out.println("SPRT actif : chaque couple s'arrête dès que le test conclut");
+        }
+        for (int niveau : niveaux) {
+            if (niveau == 4) {
+                System.out.println("Feuilles MCTS : " + evaluationFeuilles.decrire());
+                break;
+            }
+        }
+
+        // ouvrir le fichier avant de lancer les parties : un fichier invalide arrête le tournoi tout de suite
+        EcrivainParties ecrivain = fichierParties != null ? new EcrivainParties(fichierParties) : null;
+        ExecutorService executeur = Executors.newFixedThreadPool(threads);
+        CompletionService<PartieJouee> service = new ExecutorCompletionService<>(executeur);
+        for (Appariement appariement : appariements) {
+            service.submit(() -> new PartieJouee(appariement, jouer(appariement)));
+        }
+
+        long debut = System.currentTimeMillis();
+        int intervalleTableau = Math.max(1, total / 10);
+        int jouees = 0;
+        try {
+            for (int n = 1; n <= total; n++) {
+                PartieJouee partie = null;
+                try {
+                    partie = service.take().get();
+                } catch (ExecutionException e) {
+                    System.out.println("Partie en erreur : " + e.getCause());
+                }
+                if (partie != null && partie.resultat != null) {
+                    jouees++;
+                    enregistrer(partie);
+                    afficherPartie(n, total, partie);
+                    if (ecrivain != null) {
+                        ecrireBinaire(ecrivain, partie);
+                    }
+                    if (jouees % intervalleTableau == 0) {
+                        afficherTableau(jouees, System.currentTimeMillis() - debut);
+                    }
+                }
+                if (n == total) {
+                    afficherTableau(jouees, System.currentTimeMillis() - debut);
+                }
+            }
+        } finally {
+            executeur.shutdownNow();
+            if (ecrivain != null) {
+                ecrivain.close();
+            }
+        }
+    }
+
+    /**
+     * Joue une partie avec des moteurs neufs, conservés pendant toute la partie
+     * @param appariement Les niveaux des deux joueurs
+     * @return Le résultat de la partie
+     */
+    private ResultatPartie jouer(Appariement appariement) {
+        if (estDecide(appariement.indexX, appariement.indexO)) {
+            return null;
+        }
+        int niveauX = niveaux[appariement.indexX];
+        int niveauO = niveaux[appariement.indexO];
+        Joueur joueurX = LancerJeu.creerIA(niveauX, 'X');
+        Joueur joueurO = LancerJeu.creerIA(niveauO, 'O');
+        joueurX.setVerbeux(false);
+        joueurO.setVerbeux(false);
+        evaluationFeuilles.appliquer(joueurX);
+        evaluationFeuilles.appliquer(joueurO);
+        if (poids.containsKey(niveauX)) joueurX.setPoids(poids.get(niveauX));
+        if (poids.containsKey(niveauO)) joueurO.setPoids(poids.get(niveauO));
+        if (graine != null) {
+            joueurX.setGraine(graine + 2L * appariement.numero);
+            joueurO.setGraine(graine + 2L * appariement.numero + 1);
+        }
+        EvenementsRecherche.PartieTournoi evenement = new EvenementsRecherche.PartieTournoi();
+        evenement.begin();
+        ResultatPartie resultat = Arbitre.jouerPartie(joueurX, joueurO, limites.get(niveauX), limites.get(niveauO), TAILLE_PLATEAU);
+        if (evenement.shouldCommit()) {
+            evenement.numero = appariement.numero;
+            evenement.joueurX = LancerJeu.getNomIA(niveauX);
+            evenement.joueurO = LancerJeu.getNomIA(niveauO);
+            evenement.resultat = resultat.getForfait() != null ? "forfait"
+                    : resultat.getGagnant() == 'X' ? "1-0" : resultat.getGagnant() == 'O' ? "0-1" : "½-½";
+            evenement.coups = resultat.getNombreCoups();
+            for (ResultatPartie.InfosCoup infos : resultat.getInfosCoups()) {
+                evenement.noeuds += infos.getNoeuds();
+            }
+            evenement.commit();
+        }
+        return resultat;
+    }
+
+    private synchronized void enregistrer(PartieJouee partie) {
+        int x = partie.appariement.indexX;
+        int o = partie.appariement.indexO;
+        List<ResultatPartie.InfosCoup> infos = partie.resultat.getInfosCoups();
+        for (int k = 0; k < infos.size(); k++) {
+            StatistiquesRecherche s = infos.get(k).getStatistiques();
+            if (s != null) {
+                recherches[k % 2 == 0 ? x : o].ajouter(s);
+            }
+        }
+        char gagnant = partie.resultat.getGagnant();
+        if (gagnant == 'T') {
+            resultats[x][o][1]++;
+            resultats[o][x][1]++;
+        } else {
+            int vainqueur = gagnant == 'X' ? x : o;
+            int perdant = gagnant == 'X' ? o : x;
+            resultats[vainqueur][perdant][0]++;
+            resultats[perdant][vainqueur][2]++;
+        }
+
+        int a = Math.min(x, o);
+        int b = Math.max(x, o);
+        if (sprt != null && decisions[a][b] == null) {
+            int[] r = resultats[a][b];
+            Sprt.Decision decision = sprt.decision(r[0], r[1], r[2]);
+            if (decision != Sprt.Decision.EN_COURS) {
+                decisions[a][b] = decision;
+                System.out.printf("SPRT conclu pour %s - %s après %d parties : %s%n",
+                        LancerJeu.getNomIA(niveaux[a]), LancerJeu.getNomIA(niveaux[b]),
+                        r[0] + r[1] + r[2], decision);
+            }
+        }
+    }
+
+    private void ecrireBinaire(EcrivainParties ecrivain, PartieJouee partie) throws IOException {
+        int niveauX = niveaux[partie.appariement.indexX];
+        int niveauO = niveaux[partie.appariement.indexO];
+        String reglages = "X: " + limites.get(niveauX) + " / O: " + limites.get(niveauO);
+        ecrivain.ecrire(PartieEnregistree.depuisResultat(partie.resultat, TAILLE_PLATEAU,
+                LancerJeu.getNomIA(niveauX), LancerJeu.getNomIA(niveauO), reglages));
+    }
+
+    private synchronized boolean estDecide(int x, int o) {
+        return decisions[Math.min(x, o)][Math.max(x, o)] != null;
+    }
+
+    private void afficherPartie(int n, int total, PartieJouee partie) {
+        ResultatPartie r = partie.resultat;
+        String score = r.getGagnant() == 'X' ? "1-0" : r.getGagnant() == 'O' ? "0-1" : "½-½";
+        System.out.printf(Locale.ROOT, "[%d/%d] %s (X) - %s (O) : %s en %d coups, %.1f s%s%n",
+                n, total,
+                LancerJeu.getNomIA(niveaux[partie.appariement.indexX]),
+                LancerJeu.getNomIA(niveaux[partie.appariement.indexO]),
+                score, r.getNombreCoups(), r.getDureeMS() / 1000.0,
+                r.getForfait() != null ? " (forfait : " + r.getForfait() + ")" : "");
+    }
+
+    private void afficherTableau(int parties, long dureeMS) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%-16s", "V-N-D"));
+        for (int niveau : niveaux) {
+            sb.append(String.format("%-16s", LancerJeu.getNomIA(niveau)));
+        }
+        sb.append(String.format("%-10s%n", "Score"));
+
+        for (int a = 0; a < niveaux.length; a++) {
+            sb.append(String.format("%-16s", LancerJeu.getNomIA(niveaux[a])));
+            double score = 0;
+            int joues = 0;
+            for (int b = 0; b < niveaux.length; b++) {
+                int[] r = resultats[a][b];
+                sb.append(String.format("%-16s", a == b ? "-" : r[0] + "-" + r[1] + "-" + r[2]));
+                score += r[0] + 0.5 * r[1];
+                joues += r[0] + r[1] + r[2];
+            }
+            sb.append(String.format(Locale.ROOT, "%.1f/%d%n", score, joues));
+        }
+
+        for (int a = 0; a < niveaux.length; a++) {
+            for (int b = a + 1; b < niveaux.length; b++) {
+                int[] r = resultats[a][b];
+                if (r[0] + r[1] + r[2] == 0) continue;
+                sb.append(String.format("%s - %s : ", LancerJeu.getNomIA(niveaux[a]), LancerJeu.getNomIA(niveaux[b])));
+                if (sprt != null) {
+                    sb.append(sprt.resume(r[0], r[1], r[2]));
+                } else {
+                    double[] elo = Sprt.estimerElo(r[0], r[1], r[2]);
+                    sb.append(String.format(Locale.ROOT, "Elo %+.0f [%+.0f, %+.0f]", elo[0], elo[1], elo[2]));
+                }
+                sb.append(String.format("%n"));
+            }
+        }
+
+        for (int a = 0; a < niveaux.length; a++) {
+            if (recherches[a].recherches > 0) {
+                sb.append(String.format("%s : %s%n", LancerJeu.getNomIA(niveaux[a]), recherches[a]));
+            }
+        }
+
+        double heures = Math.max(1, dureeMS) / 3_600_000.0;
+        sb.append(String.format(Locale.ROOT, "%d parties en %.1f s, %.0f parties/heure%n",
+                parties, dureeMS / 1000.0, parties / heures));
+        System.out.println(sb);
+    }
+}